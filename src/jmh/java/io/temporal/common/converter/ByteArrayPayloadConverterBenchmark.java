@@ -0,0 +1,96 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+import io.temporal.common.v1.Payload;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding of binary values through {@link ByteArrayPayloadConverter}
+ * comparing copying {@code byte[]} handling with the zero copy types. Run with:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=ByteArrayPayloadConverterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteArrayPayloadConverterBenchmark {
+
+  @Param({"1024", "1048576", "16777216"})
+  public int size;
+
+  private final ByteArrayPayloadConverter converter = new ByteArrayPayloadConverter();
+  private final ByteArrayPayloadConverter unsafeConverter = new ByteArrayPayloadConverter(true);
+  private byte[] bytes;
+  private ByteString byteString;
+  private ByteBuffer readOnlyBuffer;
+
+  @Setup
+  public void setUp() {
+    bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) i;
+    }
+    byteString = ByteString.copyFrom(bytes);
+    readOnlyBuffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+  }
+
+  @Benchmark
+  public byte[] byteArray() {
+    Payload payload = converter.toData(bytes).get();
+    return converter.fromData(payload, byte[].class, byte[].class);
+  }
+
+  @Benchmark
+  public byte[] byteArrayUnsafeWrap() {
+    Payload payload = unsafeConverter.toData(bytes).get();
+    return unsafeConverter.fromData(payload, byte[].class, byte[].class);
+  }
+
+  @Benchmark
+  public ByteString byteString() {
+    Payload payload = converter.toData(byteString).get();
+    return converter.fromData(payload, ByteString.class, ByteString.class);
+  }
+
+  @Benchmark
+  public ByteBuffer readOnlyByteBuffer() {
+    Payload payload = converter.toData(readOnlyBuffer).get();
+    return converter.fromData(payload, ByteBuffer.class, ByteBuffer.class);
+  }
+}
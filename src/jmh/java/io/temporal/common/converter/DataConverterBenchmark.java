@@ -0,0 +1,120 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.Payloads;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.failure.FailureConverter;
+import io.temporal.failure.v1.Failure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trips of typical activity arguments through the data converters and of an exception through
+ * {@link FailureConverter}. Run with:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=DataConverterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataConverterBenchmark {
+
+  public static class Customer {
+    public String id;
+    public String name;
+    public List<String> addresses;
+
+    public Customer() {}
+
+    Customer(int index, int addressCount) {
+      id = "customer-" + index;
+      name = "Customer " + index;
+      addresses = new ArrayList<>(addressCount);
+      for (int i = 0; i < addressCount; i++) {
+        addresses.add(i + " Main Street, Springfield");
+      }
+    }
+  }
+
+  /** Number of addresses in the customer argument, controls the payload size. */
+  @Param({"1", "100"})
+  public int addresses;
+
+  private final DataConverter defaultConverter = DataConverter.getDefaultInstance();
+  private final PayloadConverter gson = new GsonJsonPayloadConverter();
+  private final PayloadConverter jackson = new JacksonJsonPayloadConverter();
+  private Customer customer;
+  private Exception exception;
+
+  @Setup
+  public void setUp() {
+    customer = new Customer(1, addresses);
+    exception =
+        new ApplicationFailure(
+            "failure", "BenchmarkFailure", customer, new IllegalStateException("cause"));
+  }
+
+  @Benchmark
+  public Object[] defaultDataConverter() {
+    Optional<Payloads> payloads = defaultConverter.toPayloads(customer, "argument", 42L);
+    return defaultConverter.arrayFromPayloads(
+        payloads,
+        new Class<?>[] {Customer.class, String.class, long.class},
+        new Class<?>[] {Customer.class, String.class, long.class});
+  }
+
+  @Benchmark
+  public Customer gsonPayloadConverter() {
+    Payload payload = gson.toData(customer).get();
+    return gson.fromData(payload, Customer.class, Customer.class);
+  }
+
+  @Benchmark
+  public Customer jacksonPayloadConverter() {
+    Payload payload = jackson.toData(customer).get();
+    return jackson.fromData(payload, Customer.class, Customer.class);
+  }
+
+  @Benchmark
+  public Exception failureConverter() {
+    Failure failure = FailureConverter.exceptionToFailure(exception);
+    return FailureConverter.failureToException(failure, defaultConverter);
+  }
+}
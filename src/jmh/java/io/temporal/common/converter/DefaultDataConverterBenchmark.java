@@ -0,0 +1,104 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.Payloads;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures per call overhead of {@link DefaultDataConverter#toPayloads(Object...)} for a multi
+ * argument call with five registered converters, two of which decline every argument, with and
+ * without remembering the converter per class. Run with:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=DefaultDataConverterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultDataConverterBenchmark {
+
+  /** Custom converter ahead of the built-in ones that handles none of the benchmark values. */
+  private static class DecliningPayloadConverter implements PayloadConverter {
+    private final String encoding;
+
+    DecliningPayloadConverter(String encoding) {
+      this.encoding = encoding;
+    }
+
+    @Override
+    public String getEncodingType() {
+      return encoding;
+    }
+
+    @Override
+    public Optional<Payload> toData(Object value) throws DataConverterException {
+      return Optional.empty();
+    }
+
+    @Override
+    public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+        throws DataConverterException {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Param({"false", "true"})
+  public boolean rememberConvertersPerClass;
+
+  private DataConverter converter;
+
+  @Setup
+  public void setUp() {
+    converter =
+        new DefaultDataConverter(
+            rememberConvertersPerClass,
+            new DecliningPayloadConverter("custom1"),
+            new DecliningPayloadConverter("custom2"),
+            new NullPayloadConverter(),
+            new ByteArrayPayloadConverter(),
+            new JacksonJsonPayloadConverter());
+  }
+
+  private final byte[] bytes = new byte[16];
+
+  @Benchmark
+  public Optional<Payloads> toPayloads() {
+    return converter.toPayloads("argument", 42, null, bytes, true);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.common.v1.Payload;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding and decoding of small, medium and large POJOs through {@link
+ * JacksonJsonPayloadConverter}. Run with:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=JacksonJsonPayloadConverterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonJsonPayloadConverterBenchmark {
+
+  public static class Item {
+    public String name;
+    public long quantity;
+    public double price;
+    public List<String> tags;
+
+    public Item() {}
+
+    Item(int index) {
+      name = "item-" + index;
+      quantity = index;
+      price = index * 1.5;
+      tags = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        tags.add("tag-" + index + "-" + i);
+      }
+    }
+  }
+
+  public static class Order {
+    public String id;
+    public String customer;
+    public List<Item> items;
+    public Map<String, String> attributes;
+
+    public Order() {}
+
+    Order(int itemCount) {
+      id = "order-" + itemCount;
+      customer = "customer";
+      items = new ArrayList<>(itemCount);
+      attributes = new HashMap<>();
+      for (int i = 0; i < itemCount; i++) {
+        items.add(new Item(i));
+        attributes.put("key-" + i, "value-" + i);
+      }
+    }
+  }
+
+  /** Number of items in the order: small, medium and large payloads. */
+  @Param({"1", "100", "10000"})
+  public int items;
+
+  private final JacksonJsonPayloadConverter converter = new JacksonJsonPayloadConverter();
+  private Order order;
+  private Payload payload;
+
+  @Setup
+  public void setUp() {
+    order = new Order(items);
+    payload = converter.toData(order).get();
+  }
+
+  @Benchmark
+  public Payload toData() {
+    return converter.toData(order).get();
+  }
+
+  @Benchmark
+  public Order fromData() {
+    return converter.fromData(payload, Order.class, Order.class);
+  }
+}
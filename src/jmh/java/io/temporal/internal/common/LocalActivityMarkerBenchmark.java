@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.v1.ActivityType;
+import io.temporal.history.v1.MarkerRecordedEventAttributes;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares encoding and decoding of local activity markers in the compact binary format with the
+ * data converter format:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=LocalActivityMarkerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalActivityMarkerBenchmark {
+
+  @Param({"true", "false"})
+  public boolean binary;
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+  private LocalActivityMarkerData marker;
+  private MarkerRecordedEventAttributes attributes;
+
+  @Setup
+  public void setUp() {
+    marker =
+        new LocalActivityMarkerData.Builder()
+            .setActivityId("8e1ad3c4-6f55-4d2b-9c1e-7a4b1f0e2d33")
+            .setActivityType(ActivityType.newBuilder().setName("ChargeCustomer").build())
+            .setReplayTimeMillis(System.currentTimeMillis())
+            .setAttempt(1)
+            .setBackoff(Duration.ofSeconds(1))
+            .setResult(converter.toPayloads("charged").get())
+            .setBinaryHeader(binary)
+            .build();
+    attributes = marker.toEvent(converter).getMarkerRecordedEventAttributes();
+  }
+
+  @Benchmark
+  public MarkerRecordedEventAttributes encode() {
+    return marker.toEvent(converter).getMarkerRecordedEventAttributes();
+  }
+
+  @Benchmark
+  public LocalActivityMarkerData decode() {
+    return LocalActivityMarkerData.fromEventAttributes(attributes, converter);
+  }
+}
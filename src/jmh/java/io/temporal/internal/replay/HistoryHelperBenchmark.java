@@ -0,0 +1,118 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.replay;
+
+import io.temporal.history.v1.History;
+import io.temporal.history.v1.HistoryEvent;
+import io.temporal.internal.common.WorkflowExecutionHistory;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.internal.replay.HistoryHelper.DecisionEvents;
+import io.temporal.internal.worker.DecisionTaskWithHistoryIterator;
+import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
+import io.temporal.workflowservice.v1.PollForDecisionTaskResponseOrBuilder;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures time and allocation of grouping a replayed history into decisions. Recorded histories
+ * from the test resources are repeated to simulate long histories. Allocation per operation is
+ * reported by the gc profiler enabled in build.gradle:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=HistoryHelperBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryHelperBenchmark {
+
+  @Param({"testAsyncActivityRetryHistory.json", "testChildWorkflowRetryHistory.json"})
+  public String historyResource;
+
+  @Param({"1", "100"})
+  public int repeat;
+
+  private PollForDecisionTaskResponse decisionTask;
+
+  @Setup
+  public void setUp() throws IOException {
+    WorkflowExecutionHistory recorded =
+        WorkflowExecutionUtils.readHistoryFromResource(historyResource);
+    History.Builder history = History.newBuilder();
+    for (int i = 0; i < repeat; i++) {
+      history.addAllEvents(recorded.getEvents());
+    }
+    decisionTask = PollForDecisionTaskResponse.newBuilder().setHistory(history).build();
+  }
+
+  @Benchmark
+  public void groupDecisions(Blackhole blackhole) {
+    HistoryHelper helper = new HistoryHelper(new TaskIterator(decisionTask), 0);
+    Iterator<DecisionEvents> iterator = helper.getIterator();
+    while (iterator.hasNext()) {
+      DecisionEvents decision = iterator.next();
+      for (HistoryEvent event : decision.getEvents()) {
+        blackhole.consume(event);
+      }
+      for (HistoryEvent event : decision.getMarkers()) {
+        blackhole.consume(event);
+      }
+      for (HistoryEvent event : decision.getDecisionEvents()) {
+        blackhole.consume(event);
+      }
+    }
+  }
+
+  private static final class TaskIterator implements DecisionTaskWithHistoryIterator {
+
+    private final PollForDecisionTaskResponse task;
+
+    TaskIterator(PollForDecisionTaskResponse task) {
+      this.task = task;
+    }
+
+    @Override
+    public PollForDecisionTaskResponseOrBuilder getDecisionTask() {
+      return task;
+    }
+
+    @Override
+    public Iterator<HistoryEvent> getHistory() {
+      return task.getHistory().getEventsList().iterator();
+    }
+  }
+}
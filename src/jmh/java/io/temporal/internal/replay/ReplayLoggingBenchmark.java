@@ -0,0 +1,149 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.replay;
+
+import com.google.common.collect.ImmutableMap;
+import com.uber.m3.tally.Stopwatch;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.internal.common.WorkflowExecutionHistory;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.LazyLogger;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures replay of a workflow that logs and records metrics on every decision, comparing the
+ * eager {@link Workflow#getLogger(Class)} and {@link Workflow#getMetricsScope()} usage with their
+ * lazy variants. Run with:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=ReplayLoggingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayLoggingBenchmark {
+
+  private static final String TASK_QUEUE = "replay-logging-benchmark";
+
+  /** Read by the workflow code, as the benchmark parameters are not visible to it otherwise. */
+  private static volatile boolean lazy;
+
+  @WorkflowInterface
+  public interface LoggingWorkflow {
+    @WorkflowMethod
+    void run(int iterations);
+  }
+
+  public static class LoggingWorkflowImpl implements LoggingWorkflow {
+
+    private static final LazyLogger log = Workflow.getLazyLogger(LoggingWorkflowImpl.class);
+
+    @Override
+    public void run(int iterations) {
+      for (int i = 0; i < iterations; i++) {
+        int iteration = i;
+        if (lazy) {
+          log.info(() -> "iteration " + iteration + " of " + Workflow.getInfo().getWorkflowId());
+          Stopwatch sw =
+              Workflow.getMetricsScope(() -> ImmutableMap.of("iteration", "" + (iteration % 10)))
+                  .timer("iteration-latency")
+                  .start();
+          Workflow.sleep(Duration.ofSeconds(1));
+          sw.stop();
+        } else {
+          log.info("iteration " + iteration + " of " + Workflow.getInfo().getWorkflowId());
+          Stopwatch sw =
+              Workflow.getMetricsScope()
+                  .tagged(ImmutableMap.of("iteration", "" + (iteration % 10)))
+                  .timer("iteration-latency")
+                  .start();
+          Workflow.sleep(Duration.ofSeconds(1));
+          sw.stop();
+        }
+      }
+    }
+  }
+
+  @Param({"false", "true"})
+  public boolean lazyLogging;
+
+  @Param({"100", "1000"})
+  public int iterations;
+
+  private TestWorkflowEnvironment testEnvironment;
+  private Worker worker;
+  private WorkflowExecutionHistory history;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    lazy = lazyLogging;
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(LoggingWorkflowImpl.class);
+    testEnvironment.start();
+
+    WorkflowClient client = testEnvironment.getWorkflowClient();
+    LoggingWorkflow workflow =
+        client.newWorkflowStub(
+            LoggingWorkflow.class, WorkflowOptions.newBuilder().setTaskQueue(TASK_QUEUE).build());
+    workflow.run(iterations);
+    WorkflowExecution execution = WorkflowStub.fromTyped(workflow).getExecution();
+    history =
+        WorkflowExecutionHistory.fromEvents(
+            WorkflowExecutionUtils.getHistory(
+                testEnvironment.getWorkflowService(), testEnvironment.getNamespace(), execution));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  @Benchmark
+  public void replay() throws Exception {
+    worker.replayWorkflowExecution(history);
+  }
+}
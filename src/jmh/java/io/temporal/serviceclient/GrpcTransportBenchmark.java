@@ -0,0 +1,142 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.serviceclient;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.temporal.taskqueue.v1.TaskQueue;
+import io.temporal.workflowservice.v1.PollForActivityTaskRequest;
+import io.temporal.workflowservice.v1.PollForActivityTaskResponse;
+import io.temporal.workflowservice.v1.RespondActivityTaskCompletedRequest;
+import io.temporal.workflowservice.v1.RespondActivityTaskCompletedResponse;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency distribution of poll and respond calls made concurrently by many threads
+ * over a loopback Netty connection with different transport settings. The server answers
+ * immediately, so the numbers show client transport overhead only:
+ *
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=GrpcTransportBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class GrpcTransportBenchmark {
+
+  @Param({"default", "nio-4", "epoll-4", "epoll-4-callback-8", "epoll-4-direct"})
+  public String transport;
+
+  private Server server;
+  private WorkflowServiceStubs service;
+
+  private final PollForActivityTaskRequest pollRequest =
+      PollForActivityTaskRequest.newBuilder()
+          .setNamespace("benchmark")
+          .setTaskQueue(TaskQueue.newBuilder().setName("benchmark").build())
+          .build();
+
+  private final RespondActivityTaskCompletedRequest respondRequest =
+      RespondActivityTaskCompletedRequest.newBuilder().setIdentity("benchmark").build();
+
+  private static final class ImmediateService extends WorkflowServiceGrpc.WorkflowServiceImplBase {
+
+    @Override
+    public void pollForActivityTask(
+        PollForActivityTaskRequest request,
+        StreamObserver<PollForActivityTaskResponse> responseObserver) {
+      responseObserver.onNext(PollForActivityTaskResponse.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void respondActivityTaskCompleted(
+        RespondActivityTaskCompletedRequest request,
+        StreamObserver<RespondActivityTaskCompletedResponse> responseObserver) {
+      responseObserver.onNext(RespondActivityTaskCompletedResponse.getDefaultInstance());
+      responseObserver.onCompleted();
+    }
+  }
+
+  @Setup
+  public void setUp() throws IOException {
+    server = NettyServerBuilder.forPort(0).addService(new ImmediateService()).build().start();
+    WorkflowServiceStubsOptions.Builder options =
+        WorkflowServiceStubsOptions.newBuilder().setTarget("127.0.0.1:" + server.getPort());
+    switch (transport) {
+      case "default":
+        break;
+      case "nio-4":
+        options.setEventLoopThreads(4);
+        break;
+      case "epoll-4":
+        options.setEnableNativeTransport(true).setEventLoopThreads(4);
+        break;
+      case "epoll-4-callback-8":
+        options.setEnableNativeTransport(true).setEventLoopThreads(4).setCallbackExecutorThreads(8);
+        break;
+      case "epoll-4-direct":
+        options.setEnableNativeTransport(true).setEventLoopThreads(4).setDirectExecutor(true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transport: " + transport);
+    }
+    service = WorkflowServiceStubs.newInstance(options.build());
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    service.shutdownNow();
+    service.awaitTermination(5, TimeUnit.SECONDS);
+    server.shutdownNow();
+    server.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public PollForActivityTaskResponse poll() {
+    return service.blockingStub().pollForActivityTask(pollRequest);
+  }
+
+  @Benchmark
+  public RespondActivityTaskCompletedResponse respond() {
+    return service.blockingStub().respondActivityTaskCompleted(respondRequest);
+  }
+}
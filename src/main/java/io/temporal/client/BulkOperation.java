@@ -0,0 +1,130 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.client;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Single start, signal or signalWithStart operation submitted through {@link
+ * WorkflowClient#bulkExecute(java.util.stream.Stream, BulkOperationOptions)}. Operations are
+ * applied to untyped stubs; use {@link WorkflowStub#fromTyped(Object)} to convert a typed stub.
+ */
+public final class BulkOperation {
+
+  public enum Type {
+    START,
+    SIGNAL,
+    SIGNAL_WITH_START
+  }
+
+  /**
+   * Starts a workflow.
+   *
+   * @param stub stub created through {@link WorkflowClient#newUntypedWorkflowStub(String,
+   *     WorkflowOptions)}.
+   * @param args workflow arguments
+   */
+  public static BulkOperation start(WorkflowStub stub, Object... args) {
+    return new BulkOperation(Type.START, stub, null, null, args);
+  }
+
+  /**
+   * Signals a running workflow.
+   *
+   * @param stub stub bound to an existing workflow execution
+   * @param signalName name of the signal
+   * @param args signal arguments
+   */
+  public static BulkOperation signal(WorkflowStub stub, String signalName, Object... args) {
+    Objects.requireNonNull(signalName, "signalName");
+    return new BulkOperation(Type.SIGNAL, stub, signalName, args, null);
+  }
+
+  /**
+   * Signals a workflow starting it if it is not running.
+   *
+   * @param stub stub created through {@link WorkflowClient#newUntypedWorkflowStub(String,
+   *     WorkflowOptions)}.
+   * @param signalName name of the signal
+   * @param signalArgs signal arguments
+   * @param startArgs workflow arguments used if the workflow is started
+   */
+  public static BulkOperation signalWithStart(
+      WorkflowStub stub, String signalName, Object[] signalArgs, Object[] startArgs) {
+    Objects.requireNonNull(signalName, "signalName");
+    return new BulkOperation(Type.SIGNAL_WITH_START, stub, signalName, signalArgs, startArgs);
+  }
+
+  private final Type type;
+  private final WorkflowStub stub;
+  private final String signalName;
+  private final Object[] signalArgs;
+  private final Object[] startArgs;
+
+  private BulkOperation(
+      Type type, WorkflowStub stub, String signalName, Object[] signalArgs, Object[] startArgs) {
+    this.type = type;
+    this.stub = Objects.requireNonNull(stub, "stub");
+    this.signalName = signalName;
+    this.signalArgs = signalArgs;
+    this.startArgs = startArgs;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public WorkflowStub getStub() {
+    return stub;
+  }
+
+  /** Signal name. Null for {@link Type#START}. */
+  public String getSignalName() {
+    return signalName;
+  }
+
+  /** Signal arguments. Null for {@link Type#START}. */
+  public Object[] getSignalArgs() {
+    return signalArgs;
+  }
+
+  /** Workflow arguments. Null for {@link Type#SIGNAL}. */
+  public Object[] getStartArgs() {
+    return startArgs;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOperation{"
+        + "type="
+        + type
+        + ", workflowType="
+        + stub.getWorkflowType().orElse(null)
+        + ", signalName='"
+        + signalName
+        + '\''
+        + ", signalArgs="
+        + Arrays.toString(signalArgs)
+        + ", startArgs="
+        + Arrays.toString(startArgs)
+        + '}';
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.client;
+
+/** Options of {@link WorkflowClient#bulkExecute(java.util.stream.Stream, BulkOperationOptions)}. */
+public final class BulkOperationOptions {
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static Builder newBuilder(BulkOperationOptions options) {
+    return new Builder(options);
+  }
+
+  public static BulkOperationOptions getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final BulkOperationOptions DEFAULT_INSTANCE;
+
+  static {
+    DEFAULT_INSTANCE = BulkOperationOptions.newBuilder().build();
+  }
+
+  public static final class Builder {
+
+    private int maxConcurrency = 100;
+
+    private Builder() {}
+
+    private Builder(BulkOperationOptions options) {
+      if (options == null) {
+        return;
+      }
+      this.maxConcurrency = options.maxConcurrency;
+    }
+
+    /**
+     * Maximum number of operations sent to the service and not yet completed. No new operation is
+     * pulled from the source stream while this many are outstanding or while this many completed
+     * results are waiting to be consumed. Default is 100.
+     */
+    public Builder setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    public BulkOperationOptions build() {
+      if (maxConcurrency < 1) {
+        throw new IllegalStateException("maxConcurrency should be positive: " + maxConcurrency);
+      }
+      return new BulkOperationOptions(maxConcurrency);
+    }
+  }
+
+  private final int maxConcurrency;
+
+  private BulkOperationOptions(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOperationOptions{" + "maxConcurrency=" + maxConcurrency + '}';
+  }
+}
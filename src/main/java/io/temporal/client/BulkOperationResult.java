@@ -0,0 +1,73 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.client;
+
+import io.temporal.common.v1.WorkflowExecution;
+
+/**
+ * Outcome of a {@link BulkOperation}. Exactly one of {@link #getExecution()} and {@link
+ * #getFailure()} is not null.
+ */
+public final class BulkOperationResult {
+
+  private final BulkOperation operation;
+  private final WorkflowExecution execution;
+  private final Throwable failure;
+
+  public BulkOperationResult(
+      BulkOperation operation, WorkflowExecution execution, Throwable failure) {
+    this.operation = operation;
+    this.execution = execution;
+    this.failure = failure;
+  }
+
+  public BulkOperation getOperation() {
+    return operation;
+  }
+
+  /** Execution that was started or signaled. Null if the operation failed. */
+  public WorkflowExecution getExecution() {
+    return execution;
+  }
+
+  /**
+   * Exception the equivalent synchronous {@link WorkflowStub} call would have thrown, for example
+   * {@link WorkflowExecutionAlreadyStarted}. Null if the operation succeeded.
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOperationResult{"
+        + "operation="
+        + operation
+        + ", execution="
+        + execution
+        + ", failure="
+        + failure
+        + '}';
+  }
+}
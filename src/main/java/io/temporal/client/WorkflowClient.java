@@ -37,6 +37,7 @@ import io.temporal.workflow.Functions.Proc6;
 import io.temporal.workflow.WorkflowMethod;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Client to the Temporal service used to start and query workflows by external processes. Also it
@@ -225,6 +226,39 @@ public interface WorkflowClient {
    */
   WorkflowExecution signalWithStart(BatchRequest signalWithStartBatch);
 
+  /**
+   * Asynchronously invoke SignalWithStart operation. Never blocks the calling thread.
+   *
+   * @param signalWithStartBatch Must be created with {@link #newSignalWithStartRequest()}
+   * @return future that completes with workflowId and runId of the signaled or started workflow.
+   */
+  CompletableFuture<WorkflowExecution> signalWithStartAsync(BatchRequest signalWithStartBatch);
+
+  /**
+   * Executes a stream of start, signal and signalWithStart operations with bounded concurrency
+   * using the asynchronous stub methods. Operations are pulled from the source stream only as
+   * results are consumed, so at most {@link BulkOperationOptions#getMaxConcurrency()} operations
+   * are outstanding at any time. A failed operation doesn't stop the others; its exception, for
+   * example {@link WorkflowExecutionAlreadyStarted}, is reported through {@link
+   * BulkOperationResult#getFailure()}.
+   *
+   * <p>The returned stream is sequential and lazy: nothing is sent until it is consumed. Results
+   * are returned in completion order, not in submission order.
+   *
+   * @param operations operations to execute
+   * @param options concurrency options
+   * @return stream of one result per operation
+   */
+  Stream<BulkOperationResult> bulkExecute(
+      Stream<BulkOperation> operations, BulkOperationOptions options);
+
+  /**
+   * Executes a stream of operations with {@link BulkOperationOptions#getDefaultInstance()}.
+   *
+   * @see #bulkExecute(Stream, BulkOperationOptions)
+   */
+  Stream<BulkOperationResult> bulkExecute(Stream<BulkOperation> operations);
+
   WorkflowServiceStubs getWorkflowServiceStubs();
 
   /**
@@ -449,6 +483,245 @@ public interface WorkflowClient {
     return WorkflowClientInternal.start(workflow, arg1, arg2, arg3, arg4, arg5, arg6);
   }
 
+  /**
+   * Asynchronously starts zero argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static CompletableFuture<WorkflowExecution> startAsync(Functions.Proc workflow) {
+    return WorkflowClientInternal.startAsync(workflow);
+  }
+
+  /**
+   * Asynchronously starts one argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc1<A1> workflow, A1 arg1) {
+    return WorkflowClientInternal.startAsync(workflow, arg1);
+  }
+
+  /**
+   * Asynchronously starts two argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc2<A1, A2> workflow, A1 arg1, A2 arg2) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2);
+  }
+
+  /**
+   * Asynchronously starts three argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc3<A1, A2, A3> workflow, A1 arg1, A2 arg2, A3 arg3) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3);
+  }
+
+  /**
+   * Asynchronously starts four argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc4<A1, A2, A3, A4> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4);
+  }
+
+  /**
+   * Asynchronously starts five argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @param arg5 fifth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4, A5> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc5<A1, A2, A3, A4, A5> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4, A5 arg5) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4, arg5);
+  }
+
+  /**
+   * Asynchronously starts six argument workflow with void return type
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @param arg5 fifth workflow function parameter
+   * @param arg6 sixth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4, A5, A6> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc6<A1, A2, A3, A4, A5, A6> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5,
+      A6 arg6) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4, arg5, arg6);
+  }
+
+  /**
+   * Asynchronously starts zero argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <R> CompletableFuture<WorkflowExecution> startAsync(Functions.Func<R> workflow) {
+    return WorkflowClientInternal.startAsync(workflow);
+  }
+
+  /**
+   * Asynchronously starts one argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func1<A1, R> workflow, A1 arg1) {
+    return WorkflowClientInternal.startAsync(workflow, arg1);
+  }
+
+  /**
+   * Asynchronously starts two argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func2<A1, A2, R> workflow, A1 arg1, A2 arg2) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2);
+  }
+
+  /**
+   * Asynchronously starts three argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func3<A1, A2, A3, R> workflow, A1 arg1, A2 arg2, A3 arg3) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3);
+  }
+
+  /**
+   * Asynchronously starts four argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func4<A1, A2, A3, A4, R> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4);
+  }
+
+  /**
+   * Asynchronously starts five argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @param arg5 fifth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4, A5, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func5<A1, A2, A3, A4, A5, R> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4, arg5);
+  }
+
+  /**
+   * Asynchronously starts six argument workflow.
+   *
+   * @param workflow The only supported value is method reference to a proxy created through {@link
+   *     #newWorkflowStub(Class, WorkflowOptions)}.
+   * @param arg1 first workflow function parameter
+   * @param arg2 second workflow function parameter
+   * @param arg3 third workflow function parameter
+   * @param arg4 fourth workflow function parameter
+   * @param arg5 fifth workflow function parameter
+   * @param arg6 sixth workflow function parameter
+   * @return future that completes with WorkflowId and RunId of the started workflow. Never blocks
+   *     the calling thread.
+   */
+  static <A1, A2, A3, A4, A5, A6, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func6<A1, A2, A3, A4, A5, A6, R> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5,
+      A6 arg6) {
+    return WorkflowClientInternal.startAsync(workflow, arg1, arg2, arg3, arg4, arg5, arg6);
+  }
+
   /**
    * Executes zero argument workflow with void return type
    *
@@ -33,6 +33,7 @@ public final class WorkflowClientOptions {
 
   private static final WorkflowClientOptions DEFAULT_INSTANCE;
   private static final String DEFAULT_NAMESPACE = "default";
+  private static final int DEFAULT_MAX_CONCURRENT_RESULT_POLLS = 100;
 
   static {
     DEFAULT_INSTANCE = newBuilder().build();
@@ -58,6 +59,7 @@ public final class WorkflowClientOptions {
     private String identity;
     private List<ContextPropagator> contextPropagators;
     private QueryRejectCondition queryRejectCondition;
+    private int maxConcurrentResultPolls;
 
     private Builder() {}
 
@@ -71,6 +73,7 @@ public final class WorkflowClientOptions {
       identity = options.identity;
       contextPropagators = options.contextPropagators;
       queryRejectCondition = options.queryRejectCondition;
+      maxConcurrentResultPolls = options.maxConcurrentResultPolls;
     }
 
     public Builder setNamespace(String namespace) {
@@ -128,6 +131,21 @@ public final class WorkflowClientOptions {
       return this;
     }
 
+    /**
+     * Maximum number of history long polls the client keeps open to wait for results of {@link
+     * WorkflowStub#getResultAsync(Class)} calls. Waiters above this number are queued and take
+     * turns with the active ones, so a large number of outstanding async results doesn't translate
+     * into the same number of idle server streams. Default is 100.
+     */
+    public Builder setMaxConcurrentResultPolls(int maxConcurrentResultPolls) {
+      if (maxConcurrentResultPolls <= 0) {
+        throw new IllegalArgumentException(
+            "maxConcurrentResultPolls should be positive: " + maxConcurrentResultPolls);
+      }
+      this.maxConcurrentResultPolls = maxConcurrentResultPolls;
+      return this;
+    }
+
     public WorkflowClientOptions build() {
       return new WorkflowClientOptions(
           namespace,
@@ -135,7 +153,8 @@ public final class WorkflowClientOptions {
           interceptors,
           identity,
           contextPropagators,
-          queryRejectCondition);
+          queryRejectCondition,
+          maxConcurrentResultPolls);
     }
 
     public WorkflowClientOptions validateAndBuildWithDefaults() {
@@ -161,7 +180,10 @@ public final class WorkflowClientOptions {
           contextPropagators == null ? EMPTY_CONTEXT_PROPAGATORS : contextPropagators,
           queryRejectCondition == null
               ? QueryRejectCondition.QUERY_REJECT_CONDITION_UNSPECIFIED
-              : queryRejectCondition);
+              : queryRejectCondition,
+          maxConcurrentResultPolls == 0
+              ? DEFAULT_MAX_CONCURRENT_RESULT_POLLS
+              : maxConcurrentResultPolls);
     }
   }
 
@@ -182,19 +204,23 @@ public final class WorkflowClientOptions {
 
   private final QueryRejectCondition queryRejectCondition;
 
+  private final int maxConcurrentResultPolls;
+
   private WorkflowClientOptions(
       String namespace,
       DataConverter dataConverter,
       WorkflowClientInterceptor[] interceptors,
       String identity,
       List<ContextPropagator> contextPropagators,
-      QueryRejectCondition queryRejectCondition) {
+      QueryRejectCondition queryRejectCondition,
+      int maxConcurrentResultPolls) {
     this.namespace = namespace;
     this.dataConverter = dataConverter;
     this.interceptors = interceptors;
     this.identity = identity;
     this.contextPropagators = contextPropagators;
     this.queryRejectCondition = queryRejectCondition;
+    this.maxConcurrentResultPolls = maxConcurrentResultPolls;
   }
 
   public String getNamespace() {
@@ -221,6 +247,10 @@ public final class WorkflowClientOptions {
     return queryRejectCondition;
   }
 
+  public int getMaxConcurrentResultPolls() {
+    return maxConcurrentResultPolls;
+  }
+
   @Override
   public String toString() {
     return "WorkflowClientOptions{"
@@ -238,6 +268,8 @@ public final class WorkflowClientOptions {
         + contextPropagators
         + ", queryRejectCondition="
         + queryRejectCondition
+        + ", maxConcurrentResultPolls="
+        + maxConcurrentResultPolls
         + '}';
   }
 
@@ -251,7 +283,8 @@ public final class WorkflowClientOptions {
         && Arrays.equals(interceptors, that.interceptors)
         && com.google.common.base.Objects.equal(identity, that.identity)
         && com.google.common.base.Objects.equal(contextPropagators, that.contextPropagators)
-        && queryRejectCondition == that.queryRejectCondition;
+        && queryRejectCondition == that.queryRejectCondition
+        && maxConcurrentResultPolls == that.maxConcurrentResultPolls;
   }
 
   @Override
@@ -262,6 +295,7 @@ public final class WorkflowClientOptions {
         Arrays.hashCode(interceptors),
         identity,
         contextPropagators,
-        queryRejectCondition);
+        queryRejectCondition,
+        maxConcurrentResultPolls);
   }
 }
@@ -56,10 +56,38 @@ public interface WorkflowStub {
 
   void signal(String signalName, Object... args);
 
+  /**
+   * Asynchronously sends a signal. Never blocks the calling thread, retries are scheduled without
+   * holding a thread.
+   *
+   * @param signalName name of the signal handler. Usually it is a method name.
+   * @param args signal arguments
+   * @return future that completes when the signal is accepted by the service or fails with the same
+   *     exception {@link #signal(String, Object...)} would throw.
+   */
+  CompletableFuture<Void> signalAsync(String signalName, Object... args);
+
   WorkflowExecution start(Object... args);
 
+  /**
+   * Asynchronously starts the workflow. Never blocks the calling thread, retries are scheduled
+   * without holding a thread.
+   *
+   * @param args workflow arguments
+   * @return future that completes with the started execution or fails with the same exception
+   *     {@link #start(Object...)} would throw.
+   */
+  CompletableFuture<WorkflowExecution> startAsync(Object... args);
+
   WorkflowExecution signalWithStart(String signalName, Object[] signalArgs, Object[] startArgs);
 
+  /**
+   * Asynchronous version of {@link #signalWithStart(String, Object[], Object[])} that never blocks
+   * the calling thread.
+   */
+  CompletableFuture<WorkflowExecution> signalWithStartAsync(
+      String signalName, Object[] signalArgs, Object[] startArgs);
+
   Optional<String> getWorkflowType();
 
   WorkflowExecution getExecution();
@@ -139,6 +167,21 @@ public interface WorkflowStub {
 
   <R> R query(String queryType, Class<R> resultClass, Type resultType, Object... args);
 
+  /**
+   * Asynchronously queries workflow by invoking its query handler. Never blocks the calling thread.
+   *
+   * @param queryType name of the query handler. Usually it is a method name.
+   * @param resultClass class of the query result type
+   * @param args optional query arguments
+   * @param <R> type of the query result
+   * @return future that completes with the query result or fails with the same exception {@link
+   *     #query(String, Class, Object...)} would throw.
+   */
+  <R> CompletableFuture<R> queryAsync(String queryType, Class<R> resultClass, Object... args);
+
+  <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Type resultType, Object... args);
+
   /**
    * Request cancellation of a workflow execution.
    *
@@ -0,0 +1,168 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.temporal.common.v1.Payload;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Common part of the converters serializing values with a Jackson {@link ObjectMapper}. Mappers are
+ * configured consistently by {@link #configure(ObjectMapper)} whatever their data format, so a
+ * value round trips the same way through all of them.
+ */
+abstract class AbstractJacksonPayloadConverter implements PayloadConverter {
+
+  private final ObjectMapper mapper;
+  private final String encodingType;
+  private final ByteString encodingMetadata;
+
+  /** Upper bound of cached readers, generic types are created anew by some callers. */
+  private static final int MAX_READERS = 1000;
+
+  /**
+   * Readers and writers bound to already resolved types. Both are immutable and thread safe.
+   * ClassValue doesn't keep the classes and their class loaders reachable, and readers are keyed by
+   * types that can't be held weakly, so their cache is bounded instead.
+   */
+  private final Cache<ReaderKey, ObjectReader> readers =
+      CacheBuilder.newBuilder().maximumSize(MAX_READERS).build();
+
+  private final ClassValue<ObjectWriter> writers =
+      new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+          return mapper.writerFor(type);
+        }
+      };
+
+  AbstractJacksonPayloadConverter(
+      ObjectMapper mapper, String encodingType, ByteString encodingMetadata) {
+    this.mapper = configure(mapper);
+    this.encodingType = encodingType;
+    this.encodingMetadata = encodingMetadata;
+  }
+
+  static ObjectMapper configure(ObjectMapper mapper) {
+    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    mapper.registerModule(new JavaTimeModule());
+    mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    return mapper;
+  }
+
+  @Override
+  public String getEncodingType() {
+    return encodingType;
+  }
+
+  @Override
+  public Optional<Payload> toData(Object value) throws DataConverterException {
+    try {
+      byte[] serialized = getWriter(value).writeValueAsBytes(value);
+      return Optional.of(
+          Payload.newBuilder()
+              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, encodingMetadata)
+              // serialized is not referenced anywhere else, so it is safe to wrap without a copy.
+              .setData(UnsafeByteOperations.unsafeWrap(serialized))
+              .build());
+
+    } catch (JsonProcessingException e) {
+      throw new DataConverterException(e);
+    }
+  }
+
+  @Override
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+      throws DataConverterException {
+    ByteString data = content.getData();
+    if (data.isEmpty()) {
+      return null;
+    }
+    try {
+      return getReader(valueClass, valueType).readValue(data.newInput());
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    }
+  }
+
+  private ObjectWriter getWriter(Object value) {
+    if (value == null) {
+      return mapper.writer();
+    }
+    return writers.get(value.getClass());
+  }
+
+  private ObjectReader getReader(Class<?> valueClass, Type valueType) {
+    Type type = valueType == null ? valueClass : valueType;
+    // The class is part of the key as it is the context the type is resolved in.
+    ReaderKey key = new ReaderKey(valueClass, type);
+    ObjectReader result = readers.getIfPresent(key);
+    if (result == null) {
+      @SuppressWarnings("deprecation")
+      JavaType reference = mapper.getTypeFactory().constructType(type, valueClass);
+      result = mapper.readerFor(reference);
+      readers.put(key, result);
+    }
+    return result;
+  }
+
+  private static final class ReaderKey {
+    private final Class<?> valueClass;
+    private final Type valueType;
+
+    ReaderKey(Class<?> valueClass, Type valueType) {
+      this.valueClass = valueClass;
+      this.valueType = valueType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ReaderKey that = (ReaderKey) o;
+      return Objects.equals(valueClass, that.valueClass)
+          && Objects.equals(valueType, that.valueType);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(valueClass, valueType);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.Payloads;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Common part of the converters that rewrite each payload produced by another converter, for
+ * example to compress or offload its data. Subclasses only implement {@link #encode(Payload)} and
+ * {@link #decode(Payload)}, both applied to every payload of a call.
+ */
+abstract class AbstractPayloadRewritingDataConverter implements DataConverter {
+
+  private final DataConverter delegate;
+
+  AbstractPayloadRewritingDataConverter(DataConverter delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  /**
+   * Rewrites a payload produced by the wrapped converter.
+   *
+   * @return the same instance if the payload is kept as is.
+   */
+  abstract Payload encode(Payload payload);
+
+  /**
+   * Reverts {@link #encode(Payload)} before the payload is passed to the wrapped converter. Must
+   * accept payloads that were not encoded.
+   *
+   * @return the same instance if the payload is kept as is.
+   */
+  abstract Payload decode(Payload payload);
+
+  @Override
+  public <T> Optional<Payload> toPayload(T value) {
+    Optional<Payload> payload = delegate.toPayload(value);
+    return payload.isPresent() ? Optional.of(encode(payload.get())) : payload;
+  }
+
+  @Override
+  public <T> T fromPayload(Payload payload, Class<T> valueClass, Type valueType) {
+    return delegate.fromPayload(decode(payload), valueClass, valueType);
+  }
+
+  @Override
+  public Optional<Payloads> toPayloads(Object... values) throws DataConverterException {
+    return rewrite(delegate.toPayloads(values), true);
+  }
+
+  @Override
+  public <T> T fromPayloads(
+      Optional<Payloads> content, Class<T> parameterType, Type genericParameterType)
+      throws DataConverterException {
+    return delegate.fromPayloads(rewrite(content, false), parameterType, genericParameterType);
+  }
+
+  @Override
+  public Object[] arrayFromPayloads(
+      Optional<Payloads> content, Class<?>[] parameterTypes, Type[] genericParameterTypes)
+      throws DataConverterException {
+    return delegate.arrayFromPayloads(
+        rewrite(content, false), parameterTypes, genericParameterTypes);
+  }
+
+  /** Copies the payloads only if at least one of them is rewritten. */
+  private Optional<Payloads> rewrite(Optional<Payloads> content, boolean encode) {
+    if (!content.isPresent()) {
+      return content;
+    }
+    Payloads.Builder result = null;
+    Payloads original = content.get();
+    for (int i = 0; i < original.getPayloadsCount(); i++) {
+      Payload payload = original.getPayloads(i);
+      Payload rewritten = encode ? encode(payload) : decode(payload);
+      if (rewritten != payload) {
+        if (result == null) {
+          result = original.toBuilder();
+        }
+        result.setPayloads(i, rewritten);
+      }
+    }
+    return result == null ? content : Optional.of(result.build());
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import io.temporal.common.v1.Payload;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Common part of the converters that serialize protobuf messages. */
+abstract class AbstractProtobufPayloadConverter implements PayloadConverter {
+
+  private final Map<Class<?>, Message> defaultInstances = new ConcurrentHashMap<>();
+
+  /**
+   * Default instances by full message type name of every message type this converter has seen. Used
+   * to deserialize payloads requested as {@link Message} or another abstract type.
+   */
+  private final Map<String, Message> messageTypes = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<Payload> toData(Object value) throws DataConverterException {
+    if (!(value instanceof Message)) {
+      return Optional.empty();
+    }
+    Message message = (Message) value;
+    String messageType = message.getDescriptorForType().getFullName();
+    messageTypes.putIfAbsent(messageType, message.getDefaultInstanceForType());
+    return Optional.of(
+        Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, getEncodingMetadata())
+            .putMetadata(
+                EncodingKeys.METADATA_MESSAGE_TYPE_KEY, ByteString.copyFrom(messageType, UTF_8))
+            .setData(serialize(message))
+            .build());
+  }
+
+  /** Encoding value written to the payload metadata. */
+  protected abstract ByteString getEncodingMetadata();
+
+  protected abstract ByteString serialize(Message message) throws DataConverterException;
+
+  /**
+   * Returns the default instance of the message class, which gives access to its parser and
+   * builder. Validates that the message type recorded in the payload matches the requested class.
+   * When the requested class is {@link Message} or another abstract type the message type recorded
+   * in the payload is used instead. It has to be a type this converter has already serialized or
+   * deserialized to its concrete class.
+   */
+  protected Message getDefaultInstance(Payload content, Class<?> valueClass)
+      throws DataConverterException {
+    if (!Message.class.isAssignableFrom(valueClass)) {
+      throw new DataConverterException(
+          new IllegalArgumentException(
+              "Protobuf encoding can be deserialized only to a protobuf message. valueClass="
+                  + valueClass.getName()));
+    }
+    ByteString messageType = content.getMetadataMap().get(EncodingKeys.METADATA_MESSAGE_TYPE_KEY);
+    if (Modifier.isAbstract(valueClass.getModifiers())) {
+      return getDefaultInstance(messageType, valueClass);
+    }
+    Message result = defaultInstances.get(valueClass);
+    if (result == null) {
+      try {
+        result = (Message) valueClass.getMethod("getDefaultInstance").invoke(null);
+      } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+        throw new DataConverterException(e);
+      }
+      defaultInstances.putIfAbsent(valueClass, result);
+      messageTypes.putIfAbsent(result.getDescriptorForType().getFullName(), result);
+    }
+    if (messageType != null) {
+      String expected = result.getDescriptorForType().getFullName();
+      String actual = messageType.toString(UTF_8);
+      if (!expected.equals(actual)) {
+        throw new DataConverterException(
+            new IllegalArgumentException(
+                "Payload contains "
+                    + actual
+                    + " message which cannot be deserialized to "
+                    + expected));
+      }
+    }
+    return result;
+  }
+
+  private Message getDefaultInstance(ByteString messageType, Class<?> valueClass)
+      throws DataConverterException {
+    if (messageType == null) {
+      throw new DataConverterException(
+          new IllegalArgumentException(
+              "Payload has no message type to deserialize abstract " + valueClass.getName()));
+    }
+    String name = messageType.toString(UTF_8);
+    Message result = messageTypes.get(name);
+    if (result == null) {
+      throw new DataConverterException(
+          new IllegalArgumentException(
+              "Unknown message type " + name + ". Deserialize it to its concrete class instead."));
+    }
+    if (!valueClass.isInstance(result)) {
+      throw new DataConverterException(
+          new IllegalArgumentException(
+              "Payload contains " + name + " message which is not a " + valueClass.getName()));
+    }
+    return result;
+  }
+}
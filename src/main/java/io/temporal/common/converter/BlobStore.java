@@ -0,0 +1,42 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Storage for payload data offloaded by {@link ClaimCheckDataConverter}. Keys are derived from the
+ * content, so storing the same key twice always stores the same data. Implementations must be
+ * thread safe.
+ */
+public interface BlobStore {
+
+  /**
+   * Stores data under the key. Must be durable by the time the method returns as the key is
+   * recorded into the workflow history right after.
+   */
+  void put(String key, ByteString data) throws DataConverterException;
+
+  /**
+   * @return data stored under the key.
+   * @throws DataConverterException if the key is not found or the store failed.
+   */
+  ByteString get(String key) throws DataConverterException;
+}
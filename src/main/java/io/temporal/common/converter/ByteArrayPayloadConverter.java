@@ -20,11 +20,44 @@
 package io.temporal.common.converter;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.temporal.common.v1.Payload;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
+/**
+ * Passes binary values through unchanged. Supports {@code byte[]}, {@link ByteString}, {@link
+ * ByteBuffer} and {@link InputStream} values and parameters:
+ *
+ * <ul>
+ *   <li>{@link ByteString} values and parameters share the payload data without copying.
+ *   <li>Read-only {@link ByteBuffer} values are wrapped without copying, other buffers are copied.
+ *       Parameters receive a read-only view of the payload data.
+ *   <li>{@link InputStream} values are read fully. Parameters receive a stream over the payload
+ *       data.
+ *   <li>{@code byte[]} values are copied unless the converter is created with {@code unsafeWrap}.
+ *       Parameters always receive a copy, as a payload has no array to share.
+ * </ul>
+ */
 public final class ByteArrayPayloadConverter implements PayloadConverter {
+
+  private final boolean unsafeWrap;
+
+  public ByteArrayPayloadConverter() {
+    this(false);
+  }
+
+  /**
+   * @param unsafeWrap when true {@code byte[]} and writable {@link ByteBuffer} values are wrapped
+   *     without copying. Only safe if callers never modify them after passing them to the SDK.
+   */
+  public ByteArrayPayloadConverter(boolean unsafeWrap) {
+    this.unsafeWrap = unsafeWrap;
+  }
+
   @Override
   public String getEncodingType() {
     return EncodingKeys.METADATA_ENCODING_RAW_NAME;
@@ -32,14 +65,33 @@ public final class ByteArrayPayloadConverter implements PayloadConverter {
 
   @Override
   public Optional<Payload> toData(Object value) throws DataConverterException {
+    ByteString data;
     if (value instanceof byte[]) {
-      return Optional.of(
-          Payload.newBuilder()
-              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_RAW)
-              .setData(ByteString.copyFrom((byte[]) value))
-              .build());
+      byte[] bytes = (byte[]) value;
+      data = unsafeWrap ? UnsafeByteOperations.unsafeWrap(bytes) : ByteString.copyFrom(bytes);
+    } else if (value instanceof ByteString) {
+      data = (ByteString) value;
+    } else if (value instanceof ByteBuffer) {
+      // Do not move the position of the caller's buffer.
+      ByteBuffer buffer = ((ByteBuffer) value).slice();
+      data =
+          unsafeWrap || buffer.isReadOnly()
+              ? UnsafeByteOperations.unsafeWrap(buffer)
+              : ByteString.copyFrom(buffer);
+    } else if (value instanceof InputStream) {
+      try {
+        data = ByteString.readFrom((InputStream) value);
+      } catch (IOException e) {
+        throw new DataConverterException(e);
+      }
+    } else {
+      return Optional.empty();
     }
-    return Optional.empty();
+    return Optional.of(
+        Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_RAW)
+            .setData(data)
+            .build());
   }
 
   @Override
@@ -47,11 +99,18 @@ public final class ByteArrayPayloadConverter implements PayloadConverter {
   public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
       throws DataConverterException {
     ByteString data = content.getData();
-    if (valueClass != byte[].class) {
-      throw new IllegalArgumentException(
-          "Raw encoding can be deserialized only to a byte array. valueClass="
-              + valueClass.getName());
+    if (valueClass == byte[].class) {
+      return (T) data.toByteArray();
+    } else if (valueClass == ByteString.class) {
+      return (T) data;
+    } else if (valueClass == ByteBuffer.class) {
+      return (T) data.asReadOnlyByteBuffer();
+    } else if (valueClass == InputStream.class) {
+      return (T) data.newInput();
     }
-    return (T) data.toByteArray();
+    throw new IllegalArgumentException(
+        "Raw encoding can be deserialized only to a byte array, ByteString, ByteBuffer or"
+            + " InputStream. valueClass="
+            + valueClass.getName());
   }
 }
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.util.Duration;
+import io.temporal.common.v1.Payload;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.NoopScope;
+import java.util.Objects;
+
+/**
+ * DataConverter that offloads data of large payloads produced by another converter to a {@link
+ * BlobStore}. Only a reference to the blob, keyed by the SHA-256 of the data, is recorded in the
+ * workflow history. Blobs are fetched when the payload is decoded and kept in a local cache bounded
+ * by their total size, so replays do not fetch them again.
+ *
+ * <pre>
+ * DataConverter converter =
+ *     ClaimCheckDataConverter.newBuilder(
+ *             DataConverter.getDefaultInstance(), new FileSystemBlobStore(directory))
+ *         .setThreshold(256 * 1024)
+ *         .build();
+ * </pre>
+ *
+ * <p>All clients and workers of a namespace must use a store containing the same blobs.
+ */
+public final class ClaimCheckDataConverter extends AbstractPayloadRewritingDataConverter {
+
+  public static Builder newBuilder(DataConverter delegate, BlobStore blobStore) {
+    return new Builder(delegate, blobStore);
+  }
+
+  public static final class Builder {
+
+    private final DataConverter delegate;
+    private final BlobStore blobStore;
+    private int threshold = 256 * 1024;
+    private long cacheSizeBytes = 64 * 1024 * 1024;
+    private Scope metricsScope;
+
+    private Builder(DataConverter delegate, BlobStore blobStore) {
+      this.delegate = Objects.requireNonNull(delegate);
+      this.blobStore = Objects.requireNonNull(blobStore);
+    }
+
+    /** Payloads with data smaller than the threshold are kept inline. Default is 256KB. */
+    public Builder setThreshold(int threshold) {
+      if (threshold < 0) {
+        throw new IllegalArgumentException("negative threshold: " + threshold);
+      }
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Maximum total size of fetched blobs kept in the local cache, least recently used blobs are
+     * evicted first. Default is 64MB. Zero disables caching.
+     */
+    public Builder setCacheSizeBytes(long cacheSizeBytes) {
+      if (cacheSizeBytes < 0) {
+        throw new IllegalArgumentException("negative cacheSizeBytes: " + cacheSizeBytes);
+      }
+      this.cacheSizeBytes = cacheSizeBytes;
+      return this;
+    }
+
+    /** Scope to report offload and fetch metrics to. Default is a no-op scope. */
+    public Builder setMetricsScope(Scope metricsScope) {
+      this.metricsScope = Objects.requireNonNull(metricsScope);
+      return this;
+    }
+
+    public ClaimCheckDataConverter build() {
+      return new ClaimCheckDataConverter(
+          delegate,
+          blobStore,
+          threshold,
+          cacheSizeBytes,
+          metricsScope == null ? NoopScope.getInstance() : metricsScope);
+    }
+  }
+
+  private final BlobStore blobStore;
+  private final int threshold;
+  private final Cache<String, ByteString> cache;
+  private final Counter offloadCount;
+  private final Counter offloadBytes;
+  private final Timer fetchLatency;
+  private final Counter cacheHit;
+  private final Counter cacheMiss;
+
+  private ClaimCheckDataConverter(
+      DataConverter delegate,
+      BlobStore blobStore,
+      int threshold,
+      long cacheSizeBytes,
+      Scope metricsScope) {
+    super(delegate);
+    this.blobStore = blobStore;
+    this.threshold = threshold;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(cacheSizeBytes)
+            .<String, ByteString>weigher((key, data) -> data.size())
+            .build();
+    this.offloadCount = metricsScope.counter(MetricsType.PAYLOAD_OFFLOAD_COUNTER);
+    this.offloadBytes = metricsScope.counter(MetricsType.PAYLOAD_OFFLOAD_BYTES);
+    this.fetchLatency = metricsScope.timer(MetricsType.PAYLOAD_FETCH_LATENCY);
+    this.cacheHit = metricsScope.counter(MetricsType.PAYLOAD_FETCH_CACHE_HIT);
+    this.cacheMiss = metricsScope.counter(MetricsType.PAYLOAD_FETCH_CACHE_MISS);
+  }
+
+  @Override
+  Payload encode(Payload payload) {
+    ByteString data = payload.getData();
+    if (data.size() < threshold) {
+      return payload;
+    }
+    String key = keyOf(data);
+    blobStore.put(key, data);
+    cache.put(key, data);
+    offloadCount.inc(1);
+    offloadBytes.inc(data.size());
+    return payload
+        .toBuilder()
+        .putMetadata(EncodingKeys.METADATA_CLAIM_CHECK_KEY, ByteString.copyFrom(key, UTF_8))
+        .putMetadata(
+            EncodingKeys.METADATA_CLAIM_CHECK_SIZE_KEY,
+            ByteString.copyFrom(String.valueOf(data.size()), UTF_8))
+        .clearData()
+        .build();
+  }
+
+  @Override
+  Payload decode(Payload payload) {
+    ByteString reference = payload.getMetadataMap().get(EncodingKeys.METADATA_CLAIM_CHECK_KEY);
+    if (reference == null) {
+      return payload;
+    }
+    String key = reference.toString(UTF_8);
+    ByteString data = cache.getIfPresent(key);
+    if (data == null) {
+      cacheMiss.inc(1);
+      long start = System.nanoTime();
+      data = blobStore.get(key);
+      fetchLatency.record(Duration.ofNanos(System.nanoTime() - start));
+      String actualKey = keyOf(data);
+      if (!actualKey.equals(key)) {
+        throw new DataConverterException(
+            new IllegalStateException(
+                "Blob " + key + " doesn't match its content hash " + actualKey));
+      }
+      cache.put(key, data);
+    } else {
+      cacheHit.inc(1);
+    }
+    ByteString size = payload.getMetadataMap().get(EncodingKeys.METADATA_CLAIM_CHECK_SIZE_KEY);
+    if (size != null && !size.toString(UTF_8).equals(String.valueOf(data.size()))) {
+      throw new DataConverterException(
+          new IllegalStateException(
+              "Blob "
+                  + key
+                  + " has "
+                  + data.size()
+                  + " bytes while the reference records "
+                  + size.toString(UTF_8)));
+    }
+    return payload
+        .toBuilder()
+        .removeMetadata(EncodingKeys.METADATA_CLAIM_CHECK_KEY)
+        .removeMetadata(EncodingKeys.METADATA_CLAIM_CHECK_SIZE_KEY)
+        .setData(data)
+        .build();
+  }
+
+  private static String keyOf(ByteString data) {
+    return Hashing.sha256().hashBytes(data.asReadOnlyByteBuffer()).toString();
+  }
+}
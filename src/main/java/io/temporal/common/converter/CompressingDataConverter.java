@@ -0,0 +1,181 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.Buckets;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Histogram;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.tally.ValueBuckets;
+import com.uber.m3.util.Duration;
+import io.temporal.common.v1.Payload;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.internal.metrics.NoopScope;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * DataConverter that compresses data of payloads produced by another converter when it exceeds a
+ * size threshold. The algorithm is recorded under the compression metadata key and payloads are
+ * decompressed transparently before being passed to the wrapped converter, so it can read payloads
+ * written with or without compression.
+ *
+ * <pre>
+ * DataConverter converter =
+ *     CompressingDataConverter.newBuilder(DataConverter.getDefaultInstance())
+ *         .setThreshold(4096)
+ *         .build();
+ * </pre>
+ *
+ * <p>Reports compression latency, input and output byte counts and a histogram of compression
+ * ratios to the configured metrics scope.
+ */
+public final class CompressingDataConverter extends AbstractPayloadRewritingDataConverter {
+
+  /** Compressed to original size, in steps of 0.1. Incompressible payloads land above 1. */
+  private static final Buckets RATIO_BUCKETS = ValueBuckets.linear(0.1, 0.1, 10);
+
+  public static Builder newBuilder(DataConverter delegate) {
+    return new Builder(delegate);
+  }
+
+  public static final class Builder {
+
+    private final DataConverter delegate;
+    private int threshold = 4096;
+    private PayloadCompressor compressor;
+    private Scope metricsScope;
+
+    private Builder(DataConverter delegate) {
+      this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    /** Payloads with data smaller than the threshold are not compressed. Default is 4096 bytes. */
+    public Builder setThreshold(int threshold) {
+      if (threshold < 0) {
+        throw new IllegalArgumentException("negative threshold: " + threshold);
+      }
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Algorithm to compress payloads with. Default is {@link DeflatePayloadCompressor} with the
+     * default level. Payloads compressed with any deflate variant are always readable regardless of
+     * this setting.
+     */
+    public Builder setCompressor(PayloadCompressor compressor) {
+      this.compressor = Objects.requireNonNull(compressor);
+      return this;
+    }
+
+    /** Scope to report compression metrics to. Default is a no-op scope. */
+    public Builder setMetricsScope(Scope metricsScope) {
+      this.metricsScope = Objects.requireNonNull(metricsScope);
+      return this;
+    }
+
+    public CompressingDataConverter build() {
+      return new CompressingDataConverter(
+          delegate,
+          threshold,
+          compressor == null ? new DeflatePayloadCompressor() : compressor,
+          metricsScope == null ? NoopScope.getInstance() : metricsScope);
+    }
+  }
+
+  private final int threshold;
+  private final PayloadCompressor compressor;
+  private final ByteString compressorName;
+  private final Map<String, PayloadCompressor> decompressors = new HashMap<>();
+  private final Timer compressionLatency;
+  private final Timer decompressionLatency;
+  private final Counter inputBytes;
+  private final Counter outputBytes;
+  private final Histogram ratio;
+
+  private CompressingDataConverter(
+      DataConverter delegate, int threshold, PayloadCompressor compressor, Scope metricsScope) {
+    super(delegate);
+    this.threshold = threshold;
+    this.compressor = compressor;
+    this.compressorName = ByteString.copyFrom(compressor.getName(), UTF_8);
+    PayloadCompressor deflate = new DeflatePayloadCompressor();
+    decompressors.put(deflate.getName(), deflate);
+    PayloadCompressor fastDeflate = DeflatePayloadCompressor.fast();
+    decompressors.put(fastDeflate.getName(), fastDeflate);
+    decompressors.put(compressor.getName(), compressor);
+    this.compressionLatency = metricsScope.timer(MetricsType.PAYLOAD_COMPRESSION_LATENCY);
+    this.decompressionLatency = metricsScope.timer(MetricsType.PAYLOAD_DECOMPRESSION_LATENCY);
+    this.inputBytes = metricsScope.counter(MetricsType.PAYLOAD_COMPRESSION_INPUT_BYTES);
+    this.outputBytes = metricsScope.counter(MetricsType.PAYLOAD_COMPRESSION_OUTPUT_BYTES);
+    this.ratio = metricsScope.histogram(MetricsType.PAYLOAD_COMPRESSION_RATIO, RATIO_BUCKETS);
+  }
+
+  @Override
+  Payload encode(Payload payload) {
+    ByteString data = payload.getData();
+    if (data.size() < threshold
+        || payload.containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY)) {
+      return payload;
+    }
+    long start = System.nanoTime();
+    ByteString compressed = compressor.compress(data);
+    compressionLatency.record(Duration.ofNanos(System.nanoTime() - start));
+    inputBytes.inc(data.size());
+    outputBytes.inc(compressed.size());
+    ratio.recordValue((double) compressed.size() / data.size());
+    if (compressed.size() >= data.size()) {
+      return payload;
+    }
+    return payload
+        .toBuilder()
+        .putMetadata(EncodingKeys.METADATA_COMPRESSION_KEY, compressorName)
+        .setData(compressed)
+        .build();
+  }
+
+  @Override
+  Payload decode(Payload payload) {
+    ByteString algorithm = payload.getMetadataMap().get(EncodingKeys.METADATA_COMPRESSION_KEY);
+    if (algorithm == null) {
+      return payload;
+    }
+    String name = algorithm.toString(UTF_8);
+    PayloadCompressor decompressor = decompressors.get(name);
+    if (decompressor == null) {
+      throw new DataConverterException(
+          new IllegalArgumentException("Unknown compression: " + name));
+    }
+    long start = System.nanoTime();
+    ByteString data = decompressor.decompress(payload.getData());
+    decompressionLatency.record(Duration.ofNanos(System.nanoTime() - start));
+    return payload
+        .toBuilder()
+        .removeMetadata(EncodingKeys.METADATA_COMPRESSION_KEY)
+        .setData(data)
+        .build();
+  }
+}
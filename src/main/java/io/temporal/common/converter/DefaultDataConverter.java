@@ -42,15 +42,43 @@ public class DefaultDataConverter implements DataConverter {
 
   private static final AtomicReference<DataConverter> defaultDataConverterInstance =
       new AtomicReference<>(
-          // Order is important as the first converter that can convert the payload is used
+          // Order is important as the first converter that can convert the payload is used.
+          // All of them decide by class alone, so the converters can be remembered per class.
           new DefaultDataConverter(
+              true,
               new NullPayloadConverter(),
               new ByteArrayPayloadConverter(),
+              new ProtobufPayloadConverter(),
               new JacksonJsonPayloadConverter()));
   private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
   private final Map<String, PayloadConverter> converterMap = new ConcurrentHashMap<>();
   private final List<PayloadConverter> converters = new ArrayList<>();
 
+  /**
+   * Converter that first succeeded for a runtime class, null if converters are not remembered.
+   * ClassValue doesn't keep the classes and their class loaders reachable.
+   */
+  private final ClassValue<AtomicReference<PayloadConverter>> convertersByClass;
+
+  /** Converter that succeeded for null, null values have no class to key the cache with. */
+  private volatile PayloadConverter nullConverter;
+
+  /**
+   * Converters used directly for null and byte[] values, null if a converter ahead of them in the
+   * chain might accept such values.
+   */
+  private final NullPayloadConverter nullShortCircuit;
+
+  private final ByteArrayPayloadConverter byteArrayShortCircuit;
+
+  private static final class RememberedConverters
+      extends ClassValue<AtomicReference<PayloadConverter>> {
+    @Override
+    protected AtomicReference<PayloadConverter> computeValue(Class<?> type) {
+      return new AtomicReference<>();
+    }
+  }
+
   static DataConverter getDefaultInstance() {
     return defaultDataConverterInstance.get();
   }
@@ -73,15 +101,84 @@ public class DefaultDataConverter implements DataConverter {
    * converts the value.
    */
   public DefaultDataConverter(PayloadConverter... converters) {
+    this(false, converters);
+  }
+
+  /**
+   * Creates instance from ordered array of converters. If {@code rememberConvertersPerClass} is
+   * true the converter that succeeds for a value is remembered for its runtime class and tried
+   * first for subsequent values of the same class, skipping the converters ahead of it. Use only
+   * when every converter accepts or declines values based on their class alone, otherwise a value
+   * may be converted by a different converter than the one the iteration order would pick.
+   */
+  public DefaultDataConverter(boolean rememberConvertersPerClass, PayloadConverter... converters) {
+    this.convertersByClass = rememberConvertersPerClass ? new RememberedConverters() : null;
     for (PayloadConverter converter : converters) {
       this.converters.add(converter);
       this.converterMap.put(converter.getEncodingType(), converter);
     }
+    // Built-in converters ahead of the null and byte[] converters decline those values, any
+    // other converter might accept them.
+    NullPayloadConverter nullPayloadConverter = null;
+    ByteArrayPayloadConverter byteArrayPayloadConverter = null;
+    for (PayloadConverter converter : converters) {
+      if (converter instanceof NullPayloadConverter) {
+        if (nullPayloadConverter == null) {
+          nullPayloadConverter = (NullPayloadConverter) converter;
+        }
+      } else if (converter instanceof ByteArrayPayloadConverter) {
+        if (byteArrayPayloadConverter == null) {
+          byteArrayPayloadConverter = (ByteArrayPayloadConverter) converter;
+        }
+      } else if (!(converter instanceof AbstractProtobufPayloadConverter)) {
+        break;
+      }
+    }
+    this.nullShortCircuit = nullPayloadConverter;
+    this.byteArrayShortCircuit = byteArrayPayloadConverter;
   }
 
   @Override
   public <T> Optional<Payload> toPayload(T value) {
+    if (value == null && nullShortCircuit != null) {
+      return nullShortCircuit.toData(null);
+    }
+    if (value instanceof byte[] && byteArrayShortCircuit != null) {
+      return byteArrayShortCircuit.toData(value);
+    }
+    if (convertersByClass == null) {
+      return toPayload(value, null);
+    }
+    AtomicReference<PayloadConverter> remembered =
+        value == null ? null : convertersByClass.get(value.getClass());
+    PayloadConverter cached = value == null ? nullConverter : remembered.get();
+    if (cached != null) {
+      Optional<Payload> result = cached.toData(value);
+      if (result.isPresent()) {
+        return result;
+      }
+      // Declined value of a remembered class falls back to the whole chain.
+      return toPayload(value, cached);
+    }
     for (PayloadConverter converter : converters) {
+      Optional<Payload> result = converter.toData(value);
+      if (result.isPresent()) {
+        if (value == null) {
+          nullConverter = converter;
+        } else {
+          remembered.compareAndSet(null, converter);
+        }
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Failure serializing " + value);
+  }
+
+  private <T> Optional<Payload> toPayload(T value, PayloadConverter skip) {
+    for (PayloadConverter converter : converters) {
+      if (converter == skip) {
+        continue;
+      }
       Optional<Payload> result = converter.toData(value);
       if (result.isPresent()) {
         return result;
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses payloads with deflate from {@code java.util.zip}. Payloads compressed with {@link
+ * Deflater#BEST_SPEED} are recorded as {@code deflate-fast} and all other levels as {@code
+ * deflate}, so the variant used is visible in the payload metadata.
+ */
+public final class DeflatePayloadCompressor implements PayloadCompressor {
+
+  private final int level;
+  private final String name;
+
+  /** Compressor using the default deflate level, a balance between speed and ratio. */
+  public DeflatePayloadCompressor() {
+    this(Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * @param level deflate compression level from {@link Deflater#BEST_SPEED} to {@link
+   *     Deflater#BEST_COMPRESSION}. All levels produce data decompressible by any other level.
+   */
+  public DeflatePayloadCompressor(int level) {
+    if ((level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)
+        && level != Deflater.DEFAULT_COMPRESSION) {
+      throw new IllegalArgumentException("Invalid deflate level: " + level);
+    }
+    this.level = level;
+    this.name =
+        level == Deflater.BEST_SPEED
+            ? EncodingKeys.METADATA_COMPRESSION_DEFLATE_FAST_NAME
+            : EncodingKeys.METADATA_COMPRESSION_DEFLATE_NAME;
+  }
+
+  /** Compressor favoring speed over compression ratio. */
+  public static DeflatePayloadCompressor fast() {
+    return new DeflatePayloadCompressor(Deflater.BEST_SPEED);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public ByteString compress(ByteString data) throws DataConverterException {
+    ByteString.Output out = ByteString.newOutput(Math.max(data.size() / 2, 64));
+    Deflater deflater = new Deflater(level);
+    try {
+      try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+        data.writeTo(stream);
+      }
+      return out.toByteString();
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override
+  public ByteString decompress(ByteString data) throws DataConverterException {
+    Inflater inflater = new Inflater();
+    try (InflaterInputStream stream = new InflaterInputStream(data.newInput(), inflater)) {
+      return ByteString.readFrom(stream);
+    } catch (IOException e) {
+      throw new DataConverterException(e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
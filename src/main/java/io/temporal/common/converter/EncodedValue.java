@@ -24,10 +24,30 @@ import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Value that is either already decoded or kept in its serialized form and decoded on the first call
+ * to {@link #get(Class, Type)}. The decoded result is memoized in this instance for the last
+ * requested type, so repeated calls on the same instance return the same object. The memo doesn't
+ * outlive the instance: arguments of each method invocation get their own instances.
+ */
 public final class EncodedValue implements Value {
   private Optional<Payloads> payloads;
   private DataConverter converter;
   private final Optional<Object> value;
+  private volatile Decoded decoded;
+
+  /** Result of the last decoding together with the type it was decoded to. */
+  private static final class Decoded {
+    final Class<?> parameterType;
+    final Type genericParameterType;
+    final Object value;
+
+    Decoded(Class<?> parameterType, Type genericParameterType, Object value) {
+      this.parameterType = parameterType;
+      this.genericParameterType = genericParameterType;
+      this.value = value;
+    }
+  }
 
   public EncodedValue(Optional<Payloads> payloads, DataConverter converter) {
     this.payloads = Objects.requireNonNull(payloads);
@@ -56,21 +76,27 @@ public final class EncodedValue implements Value {
 
   @Override
   public <T> T get(Class<T> parameterType) throws DataConverterException {
-    if (value != null) {
-      @SuppressWarnings("unchecked")
-      T result = (T) value.orElse(null);
-      return result;
-    } else {
-      if (converter == null) {
-        throw new IllegalStateException("converter not set");
-      }
-      return converter.fromPayloads(payloads, parameterType, parameterType);
-    }
+    return get(parameterType, parameterType);
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <T> T get(Class<T> parameterType, Type genericParameterType)
       throws DataConverterException {
-    return converter.fromPayloads(payloads, parameterType, genericParameterType);
+    if (value != null) {
+      return (T) value.orElse(null);
+    }
+    Decoded last = decoded;
+    if (last != null
+        && last.parameterType == parameterType
+        && Objects.equals(last.genericParameterType, genericParameterType)) {
+      return (T) last.value;
+    }
+    if (converter == null) {
+      throw new IllegalStateException("converter not set");
+    }
+    T result = converter.fromPayloads(payloads, parameterType, genericParameterType);
+    decoded = new Decoded(parameterType, genericParameterType, result);
+    return result;
   }
 }
@@ -34,4 +34,26 @@ class EncodingKeys {
   static final String METADATA_ENCODING_JSON_NAME = "json";
   static final ByteString METADATA_ENCODING_JSON =
       ByteString.copyFrom(METADATA_ENCODING_JSON_NAME, StandardCharsets.UTF_8);
+  static final String METADATA_ENCODING_CBOR_NAME = "binary/cbor";
+  static final ByteString METADATA_ENCODING_CBOR =
+      ByteString.copyFrom(METADATA_ENCODING_CBOR_NAME, StandardCharsets.UTF_8);
+  static final String METADATA_ENCODING_SMILE_NAME = "binary/smile";
+  static final ByteString METADATA_ENCODING_SMILE =
+      ByteString.copyFrom(METADATA_ENCODING_SMILE_NAME, StandardCharsets.UTF_8);
+
+  static final String METADATA_ENCODING_PROTOBUF_NAME = "binary/protobuf";
+  static final ByteString METADATA_ENCODING_PROTOBUF =
+      ByteString.copyFrom(METADATA_ENCODING_PROTOBUF_NAME, StandardCharsets.UTF_8);
+  static final String METADATA_ENCODING_PROTOBUF_JSON_NAME = "json/protobuf";
+  static final ByteString METADATA_ENCODING_PROTOBUF_JSON =
+      ByteString.copyFrom(METADATA_ENCODING_PROTOBUF_JSON_NAME, StandardCharsets.UTF_8);
+
+  static final String METADATA_MESSAGE_TYPE_KEY = "messageType";
+
+  static final String METADATA_COMPRESSION_KEY = "compression";
+  static final String METADATA_COMPRESSION_DEFLATE_NAME = "deflate";
+  static final String METADATA_COMPRESSION_DEFLATE_FAST_NAME = "deflate-fast";
+
+  static final String METADATA_CLAIM_CHECK_KEY = "claimCheck";
+  static final String METADATA_CLAIM_CHECK_SIZE_KEY = "claimCheckSize";
 }
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link BlobStore} that keeps each blob as a file in a local directory. Intended for local
+ * development and tests, as the directory has to be shared by every worker and client of a
+ * namespace.
+ */
+public final class FileSystemBlobStore implements BlobStore {
+
+  private final Path directory;
+
+  public FileSystemBlobStore(Path directory) {
+    this.directory = directory.toAbsolutePath().normalize();
+  }
+
+  @Override
+  public void put(String key, ByteString data) throws DataConverterException {
+    Path target = resolve(key);
+    if (Files.exists(target)) {
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      // Write to a temporary file first so that readers never observe a partial blob.
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+          data.writeTo(Channels.newOutputStream(channel));
+          // The blob has to be durable before it becomes visible under its key.
+          channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException e) {
+        // Stored concurrently by another writer, the content is the same.
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      throw new DataConverterException("Failure storing blob " + key, e);
+    }
+  }
+
+  @Override
+  public ByteString get(String key) throws DataConverterException {
+    try {
+      return UnsafeByteOperations.unsafeWrap(Files.readAllBytes(resolve(key)));
+    } catch (NoSuchFileException e) {
+      throw new DataConverterException("Blob not found: " + key, e);
+    } catch (IOException e) {
+      throw new DataConverterException("Failure reading blob " + key, e);
+    }
+  }
+
+  private Path resolve(String key) {
+    Path result = directory.resolve(key).normalize();
+    if (!directory.equals(result.getParent())) {
+      throw new IllegalArgumentException("Invalid blob key: " + key);
+    }
+    return result;
+  }
+}
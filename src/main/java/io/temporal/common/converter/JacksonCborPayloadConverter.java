@@ -0,0 +1,52 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Serializes values to <a href="https://cbor.io">CBOR</a> binary format using Jackson. Values are
+ * mapped exactly like by {@link JacksonJsonPayloadConverter}, but encode faster and into smaller
+ * payloads. To prefer it over JSON while still reading payloads written as JSON, register it ahead
+ * of the JSON converter:
+ *
+ * <pre>
+ * new DefaultDataConverter(
+ *     new NullPayloadConverter(),
+ *     new ByteArrayPayloadConverter(),
+ *     new ProtobufPayloadConverter(),
+ *     new JacksonCborPayloadConverter(),
+ *     new JacksonJsonPayloadConverter());
+ * </pre>
+ *
+ * <p>The SDK doesn't depend on the Jackson CBOR data format at runtime. Applications using this
+ * converter have to add {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} to their
+ * dependencies.
+ */
+public final class JacksonCborPayloadConverter extends AbstractJacksonPayloadConverter {
+
+  public JacksonCborPayloadConverter() {
+    super(
+        new ObjectMapper(new CBORFactory()),
+        EncodingKeys.METADATA_ENCODING_CBOR_NAME,
+        EncodingKeys.METADATA_ENCODING_CBOR);
+  }
+}
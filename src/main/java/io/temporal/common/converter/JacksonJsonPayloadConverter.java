@@ -19,63 +19,15 @@
 
 package io.temporal.common.converter;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.google.protobuf.ByteString;
-import io.temporal.common.v1.Payload;
-import java.io.IOException;
-import java.lang.reflect.Type;
-import java.util.Optional;
 
-public class JacksonJsonPayloadConverter implements PayloadConverter {
-
-  private final ObjectMapper mapper;
+/** Serializes values to JSON text using Jackson. */
+public class JacksonJsonPayloadConverter extends AbstractJacksonPayloadConverter {
 
   public JacksonJsonPayloadConverter() {
-    mapper = new ObjectMapper();
-    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-    mapper.registerModule(new JavaTimeModule());
-    mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
-  }
-
-  @Override
-  public String getEncodingType() {
-    return EncodingKeys.METADATA_ENCODING_JSON_NAME;
-  }
-
-  @Override
-  public Optional<Payload> toData(Object value) throws DataConverterException {
-    try {
-      byte[] serialized = mapper.writeValueAsBytes(value);
-      return Optional.of(
-          Payload.newBuilder()
-              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_JSON)
-              .setData(ByteString.copyFrom(serialized))
-              .build());
-
-    } catch (JsonProcessingException e) {
-      throw new DataConverterException(e);
-    }
-  }
-
-  @Override
-  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
-      throws DataConverterException {
-    ByteString data = content.getData();
-    if (data.isEmpty()) {
-      return null;
-    }
-    try {
-      @SuppressWarnings("deprecation")
-      JavaType reference = mapper.getTypeFactory().constructType(valueType, valueClass);
-      return mapper.readValue(content.getData().toByteArray(), reference);
-    } catch (IOException e) {
-      throw new DataConverterException(e);
-    }
+    super(
+        new ObjectMapper(),
+        EncodingKeys.METADATA_ENCODING_JSON_NAME,
+        EncodingKeys.METADATA_ENCODING_JSON);
   }
 }
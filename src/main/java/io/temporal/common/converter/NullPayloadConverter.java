@@ -25,6 +25,13 @@ import java.util.Optional;
 
 /** Encodes and decodes null values. */
 public final class NullPayloadConverter implements PayloadConverter {
+
+  private static final Optional<Payload> NULL_PAYLOAD =
+      Optional.of(
+          Payload.newBuilder()
+              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_NULL)
+              .build());
+
   @Override
   public String getEncodingType() {
     return EncodingKeys.METADATA_ENCODING_NULL_NAME;
@@ -33,10 +40,7 @@ public final class NullPayloadConverter implements PayloadConverter {
   @Override
   public Optional<Payload> toData(Object value) throws DataConverterException {
     if (value == null) {
-      return Optional.of(
-          Payload.newBuilder()
-              .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_NULL)
-              .build());
+      return NULL_PAYLOAD;
     }
     return Optional.empty();
   }
@@ -0,0 +1,37 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Compression algorithm used by {@link CompressingDataConverter}. Its name is recorded in the
+ * payload metadata, so a compressor must keep decompressing data under the same name for as long as
+ * histories containing it exist.
+ */
+public interface PayloadCompressor {
+
+  /** Name of the algorithm recorded in the compression metadata of the payload. */
+  String getName();
+
+  ByteString compress(ByteString data) throws DataConverterException;
+
+  ByteString decompress(ByteString data) throws DataConverterException;
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.temporal.common.v1.Payload;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes protobuf messages using the proto3 JSON mapping. Produces larger payloads than {@link
+ * ProtobufPayloadConverter} but keeps histories human readable. It is not part of the default
+ * converter chain; to use it pass it to {@link DefaultDataConverter#DefaultDataConverter(
+ * PayloadConverter...)} ahead of the JSON converter.
+ */
+public final class ProtobufJsonPayloadConverter extends AbstractProtobufPayloadConverter {
+
+  private final JsonFormat.Printer printer = JsonFormat.printer();
+  private final JsonFormat.Parser parser = JsonFormat.parser().ignoringUnknownFields();
+
+  @Override
+  public String getEncodingType() {
+    return EncodingKeys.METADATA_ENCODING_PROTOBUF_JSON_NAME;
+  }
+
+  @Override
+  protected ByteString getEncodingMetadata() {
+    return EncodingKeys.METADATA_ENCODING_PROTOBUF_JSON;
+  }
+
+  @Override
+  protected ByteString serialize(Message message) throws DataConverterException {
+    try {
+      return ByteString.copyFrom(printer.print(message), UTF_8);
+    } catch (InvalidProtocolBufferException e) {
+      throw new DataConverterException(e);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+      throws DataConverterException {
+    Message.Builder builder = getDefaultInstance(content, valueClass).newBuilderForType();
+    try {
+      parser.merge(content.getData().toString(UTF_8), builder);
+    } catch (InvalidProtocolBufferException e) {
+      throw new DataConverterException(e);
+    }
+    return (T) builder.build();
+  }
+}
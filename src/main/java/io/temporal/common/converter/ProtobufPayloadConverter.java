@@ -0,0 +1,61 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import io.temporal.common.v1.Payload;
+import java.lang.reflect.Type;
+
+/**
+ * Serializes protobuf messages using the binary wire format. The full name of the message type is
+ * recorded in the payload metadata. Values that are not protobuf messages are left to the next
+ * converter.
+ */
+public final class ProtobufPayloadConverter extends AbstractProtobufPayloadConverter {
+
+  @Override
+  public String getEncodingType() {
+    return EncodingKeys.METADATA_ENCODING_PROTOBUF_NAME;
+  }
+
+  @Override
+  protected ByteString getEncodingMetadata() {
+    return EncodingKeys.METADATA_ENCODING_PROTOBUF;
+  }
+
+  @Override
+  protected ByteString serialize(Message message) {
+    return message.toByteString();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+      throws DataConverterException {
+    Message defaultInstance = getDefaultInstance(content, valueClass);
+    try {
+      return (T) defaultInstance.getParserForType().parseFrom(content.getData());
+    } catch (InvalidProtocolBufferException e) {
+      throw new DataConverterException(e);
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.temporal.internal.metrics.MetricsTag;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Spreads calls over several channels, each backed by its own HTTP/2 connection. Every call goes to
+ * the channel with the fewest outstanding calls. Long polls can be given their own channels so they
+ * never compete for streams with latency sensitive calls.
+ */
+final class ChannelPool extends ManagedChannel {
+
+  private static final class PooledChannel {
+    private final ManagedChannel channel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Gauge inFlightGauge;
+
+    private PooledChannel(ManagedChannel channel, Gauge inFlightGauge) {
+      this.channel = channel;
+      this.inFlightGauge = inFlightGauge;
+    }
+
+    private void callStarted() {
+      inFlightGauge.update(inFlight.incrementAndGet());
+    }
+
+    private void callClosed() {
+      inFlightGauge.update(inFlight.decrementAndGet());
+    }
+  }
+
+  /** Tells apart the gauges of pools reporting to the same scope. */
+  private static final AtomicInteger poolIds = new AtomicInteger();
+
+  private final List<PooledChannel> channels;
+  private final List<PooledChannel> longPollChannels;
+  private final List<PooledChannel> all;
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * @param poolSize number of channels used for all calls that are not long polls
+   * @param longPollPoolSize number of channels dedicated to long polls. When 0 long polls share the
+   *     general channels.
+   */
+  ChannelPool(
+      Supplier<ManagedChannel> channelFactory, int poolSize, int longPollPoolSize, Scope scope) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize should be positive: " + poolSize);
+    }
+    if (longPollPoolSize < 0) {
+      throw new IllegalArgumentException(
+          "longPollPoolSize should not be negative: " + longPollPoolSize);
+    }
+    Scope poolScope =
+        scope.tagged(
+            ImmutableMap.of(MetricsTag.CHANNEL_POOL, String.valueOf(poolIds.incrementAndGet())));
+    this.channels = newChannels(channelFactory, poolSize, "default", poolScope);
+    this.longPollChannels =
+        longPollPoolSize == 0
+            ? channels
+            : newChannels(channelFactory, longPollPoolSize, "long-poll", poolScope);
+    ImmutableList.Builder<PooledChannel> all = ImmutableList.builder();
+    all.addAll(channels);
+    if (longPollChannels != channels) {
+      all.addAll(longPollChannels);
+    }
+    this.all = all.build();
+  }
+
+  private static List<PooledChannel> newChannels(
+      Supplier<ManagedChannel> channelFactory, int size, String channelClass, Scope scope) {
+    ImmutableList.Builder<PooledChannel> result = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      Gauge gauge =
+          scope
+              .tagged(ImmutableMap.of(MetricsTag.CHANNEL, channelClass + "-" + i))
+              .gauge(MetricsType.GRPC_CHANNEL_IN_FLIGHT_CALLS);
+      result.add(new PooledChannel(channelFactory.get(), gauge));
+    }
+    return result.build();
+  }
+
+  /** Picks the channel with the fewest outstanding calls, rotating the start to break ties. */
+  private PooledChannel select(List<PooledChannel> candidates) {
+    int size = candidates.size();
+    if (size == 1) {
+      return candidates.get(0);
+    }
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    PooledChannel result = candidates.get(start);
+    int min = result.inFlight.get();
+    for (int i = 1; i < size && min > 0; i++) {
+      PooledChannel candidate = candidates.get((start + i) % size);
+      int inFlight = candidate.inFlight.get();
+      if (inFlight < min) {
+        min = inFlight;
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    PooledChannel channel =
+        select(GrpcMethodGroups.isLongPoll(method) ? longPollChannels : channels);
+    return new PooledClientCall<>(channel, channel.channel.newCall(method, callOptions));
+  }
+
+  @Override
+  public String authority() {
+    return channels.get(0).channel.authority();
+  }
+
+  @Override
+  public ManagedChannel shutdown() {
+    for (PooledChannel channel : all) {
+      channel.channel.shutdown();
+    }
+    return this;
+  }
+
+  @Override
+  public ManagedChannel shutdownNow() {
+    for (PooledChannel channel : all) {
+      channel.channel.shutdownNow();
+    }
+    return this;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    for (PooledChannel channel : all) {
+      if (!channel.channel.isShutdown()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    for (PooledChannel channel : all) {
+      if (!channel.channel.isTerminated()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (PooledChannel channel : all) {
+      long left = deadline - System.nanoTime();
+      if (!channel.channel.awaitTermination(Math.max(left, 0), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "ChannelPool{channels="
+        + channels.size()
+        + ", longPollChannels="
+        + (longPollChannels == channels ? 0 : longPollChannels.size())
+        + ", authority="
+        + authority()
+        + "}";
+  }
+
+  /** Tracks the call as outstanding on its channel from start until close. */
+  private static final class PooledClientCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final PooledChannel channel;
+
+    private PooledClientCall(PooledChannel channel, ClientCall<ReqT, RespT> delegate) {
+      super(delegate);
+      this.channel = channel;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      channel.callStarted();
+      Listener<RespT> listener =
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              channel.callClosed();
+              super.onClose(status, trailers);
+            }
+          };
+      try {
+        super.start(listener, headers);
+      } catch (RuntimeException e) {
+        channel.callClosed();
+        throw e;
+      }
+    }
+  }
+}
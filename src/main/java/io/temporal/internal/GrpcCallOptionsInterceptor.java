@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.MethodDescriptor;
+import io.temporal.serviceclient.MethodGroup;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import java.util.Set;
+
+/**
+ * Applies request compression of the configured {@link MethodGroup}s and the message size limits
+ * from {@link WorkflowServiceStubsOptions} to every call.
+ */
+class GrpcCallOptionsInterceptor implements ClientInterceptor {
+
+  private static final String GZIP = "gzip";
+
+  /** @return true if any call option differs from the gRPC defaults. */
+  static boolean isNeeded(WorkflowServiceStubsOptions options) {
+    return !options.getCompressionGroups().isEmpty()
+        || options.getMaxInboundMessageSize() > 0
+        || options.getMaxOutboundMessageSize() > 0;
+  }
+
+  private final Set<MethodGroup> compressionGroups;
+  private final int maxInboundMessageSize;
+  private final int maxOutboundMessageSize;
+
+  GrpcCallOptionsInterceptor(WorkflowServiceStubsOptions options) {
+    this.compressionGroups = options.getCompressionGroups();
+    this.maxInboundMessageSize = options.getMaxInboundMessageSize();
+    this.maxOutboundMessageSize = options.getMaxOutboundMessageSize();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    MethodGroup group = GrpcMethodGroups.get(method);
+    if (group != null && compressionGroups.contains(group)) {
+      callOptions = callOptions.withCompression(GZIP);
+    }
+    if (maxInboundMessageSize > 0) {
+      callOptions = callOptions.withMaxInboundMessageSize(maxInboundMessageSize);
+    }
+    if (maxOutboundMessageSize > 0) {
+      callOptions = callOptions.withMaxOutboundMessageSize(maxOutboundMessageSize);
+    }
+    return next.newCall(method, callOptions);
+  }
+}
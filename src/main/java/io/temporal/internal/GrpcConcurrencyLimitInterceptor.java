@@ -0,0 +1,195 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import com.google.common.collect.ImmutableMap;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Context;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.temporal.internal.common.StatusUtils;
+import io.temporal.internal.metrics.MetricsTag;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.serviceclient.ConcurrencyLimitOptions;
+import io.temporal.serviceclient.MethodGroup;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits the number of concurrent calls per {@link MethodGroup} using additive increase and
+ * multiplicative decrease of the limit. RESOURCE_EXHAUSTED responses cut the limit, successful
+ * calls probe it back up. Calls above the limit are failed locally with a RESOURCE_EXHAUSTED status
+ * marked by {@link StatusUtils#newLocalRejection(String)}, which pollers and retryers back off on
+ * without treating it as a service failure.
+ */
+class GrpcConcurrencyLimitInterceptor implements ClientInterceptor {
+
+  private final Map<MethodGroup, AimdLimiter> limiters = new HashMap<>();
+
+  GrpcConcurrencyLimitInterceptor(
+      Map<MethodGroup, ConcurrencyLimitOptions> limits, Scope metricsScope) {
+    for (Map.Entry<MethodGroup, ConcurrencyLimitOptions> limit : limits.entrySet()) {
+      Scope scope =
+          metricsScope.tagged(ImmutableMap.of(MetricsTag.METHOD_GROUP, limit.getKey().name()));
+      limiters.put(limit.getKey(), new AimdLimiter(limit.getValue(), scope));
+    }
+  }
+
+  AimdLimiter getLimiter(MethodGroup group) {
+    return limiters.get(group);
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    MethodGroup group = GrpcMethodGroups.get(method);
+    AimdLimiter limiter = group == null ? null : limiters.get(group);
+    if (limiter == null) {
+      return next.newCall(method, callOptions);
+    }
+    return new LimitedClientCall<>(next, method, callOptions, limiter, group);
+  }
+
+  static final class AimdLimiter {
+    private final ConcurrencyLimitOptions options;
+    private final Gauge limitGauge;
+    private final Gauge inFlightGauge;
+    private final Counter rejectedCounter;
+    private double limit;
+    private int inFlight;
+
+    AimdLimiter(ConcurrencyLimitOptions options, Scope scope) {
+      this.options = options;
+      this.limit = options.getInitialLimit();
+      this.limitGauge = scope.gauge(MetricsType.GRPC_CONCURRENCY_LIMIT);
+      this.inFlightGauge = scope.gauge(MetricsType.GRPC_CONCURRENCY_LIMIT_IN_FLIGHT);
+      this.rejectedCounter = scope.counter(MetricsType.GRPC_CONCURRENCY_LIMIT_REJECTED);
+      limitGauge.update(limit);
+    }
+
+    synchronized boolean tryAcquire() {
+      if (inFlight >= (int) limit) {
+        rejectedCounter.inc(1);
+        return false;
+      }
+      inFlight++;
+      inFlightGauge.update(inFlight);
+      return true;
+    }
+
+    synchronized void release(Status status) {
+      int used = inFlight;
+      inFlight--;
+      inFlightGauge.update(inFlight);
+      Status.Code code = status.getCode();
+      if (code == Status.Code.RESOURCE_EXHAUSTED && !StatusUtils.isLocalRejection(status)) {
+        limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+        limitGauge.update(limit);
+      } else if (code == Status.Code.OK && used * 2 >= limit && limit < options.getMaxLimit()) {
+        limit = Math.min(options.getMaxLimit(), limit + 1);
+        limitGauge.update(limit);
+      }
+    }
+
+    synchronized int getLimit() {
+      return (int) limit;
+    }
+  }
+
+  private static final class LimitedClientCall<ReqT, RespT>
+      extends ForwardingClientCall<ReqT, RespT> {
+    private final Channel next;
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final CallOptions callOptions;
+    private final AimdLimiter limiter;
+    private final MethodGroup group;
+    private ClientCall<ReqT, RespT> delegate;
+
+    private LimitedClientCall(
+        Channel next,
+        MethodDescriptor<ReqT, RespT> method,
+        CallOptions callOptions,
+        AimdLimiter limiter,
+        MethodGroup group) {
+      this.next = next;
+      this.method = method;
+      this.callOptions = callOptions;
+      this.limiter = limiter;
+      this.group = group;
+      this.delegate = next.newCall(method, callOptions);
+    }
+
+    @Override
+    protected ClientCall<ReqT, RespT> delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      if (!limiter.tryAcquire()) {
+        delegate = newRejectedCall();
+        super.start(responseListener, headers);
+        return;
+      }
+      Listener<RespT> listener =
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              limiter.release(status);
+              super.onClose(status, trailers);
+            }
+          };
+      try {
+        super.start(listener, headers);
+      } catch (RuntimeException e) {
+        limiter.release(Status.UNKNOWN);
+        throw e;
+      }
+    }
+
+    /**
+     * Creates the call in an already cancelled context. gRPC then closes it with the rejection
+     * status on the call executor, as with any other failure, without creating a stream.
+     */
+    private ClientCall<ReqT, RespT> newRejectedCall() {
+      Status status =
+          StatusUtils.newLocalRejection(
+              "concurrency limit of " + limiter.getLimit() + " reached for " + group + " calls");
+      Context.CancellableContext rejected = Context.current().withCancellation();
+      rejected.cancel(status.asRuntimeException());
+      Context previous = rejected.attach();
+      try {
+        return next.newCall(method, callOptions);
+      } finally {
+        rejected.detach(previous);
+      }
+    }
+  }
+}
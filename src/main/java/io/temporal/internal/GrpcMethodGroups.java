@@ -0,0 +1,68 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import io.grpc.MethodDescriptor;
+import io.temporal.serviceclient.MethodGroup;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Maps service methods to the {@link MethodGroup} they belong to. */
+final class GrpcMethodGroups {
+
+  private static final Map<MethodDescriptor<?, ?>, MethodGroup> METHOD_GROUPS;
+
+  static {
+    Map<MethodDescriptor<?, ?>, MethodGroup> groups = new HashMap<>();
+    groups.put(WorkflowServiceGrpc.getPollForDecisionTaskMethod(), MethodGroup.POLL);
+    groups.put(WorkflowServiceGrpc.getPollForActivityTaskMethod(), MethodGroup.POLL);
+    groups.put(WorkflowServiceGrpc.getRespondDecisionTaskCompletedMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondDecisionTaskFailedMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod(), MethodGroup.RESPOND);
+    groups.put(
+        WorkflowServiceGrpc.getRespondActivityTaskCompletedByIdMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondActivityTaskFailedMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondActivityTaskFailedByIdMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondActivityTaskCanceledMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondActivityTaskCanceledByIdMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRecordActivityTaskHeartbeatMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRecordActivityTaskHeartbeatByIdMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getRespondQueryTaskCompletedMethod(), MethodGroup.RESPOND);
+    groups.put(WorkflowServiceGrpc.getStartWorkflowExecutionMethod(), MethodGroup.START_SIGNAL);
+    groups.put(WorkflowServiceGrpc.getSignalWorkflowExecutionMethod(), MethodGroup.START_SIGNAL);
+    groups.put(
+        WorkflowServiceGrpc.getSignalWithStartWorkflowExecutionMethod(), MethodGroup.START_SIGNAL);
+    groups.put(WorkflowServiceGrpc.getQueryWorkflowMethod(), MethodGroup.QUERY);
+    METHOD_GROUPS = groups;
+  }
+
+  /** @return group of the method or null if it doesn't belong to any. */
+  static MethodGroup get(MethodDescriptor<?, ?> method) {
+    return METHOD_GROUPS.get(method);
+  }
+
+  /** @return true for the task polls, which the service holds open until a task arrives. */
+  static boolean isLongPoll(MethodDescriptor<?, ?> method) {
+    return METHOD_GROUPS.get(method) == MethodGroup.POLL;
+  }
+
+  private GrpcMethodGroups() {}
+}
@@ -21,28 +21,53 @@ package io.temporal.internal;
 
 import static io.grpc.Status.Code.ALREADY_EXISTS;
 
+import com.google.common.collect.ImmutableMap;
+import com.uber.m3.tally.Buckets;
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.DurationBuckets;
+import com.uber.m3.tally.Histogram;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.tally.ValueBuckets;
+import com.uber.m3.util.Duration;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.ClientCall;
 import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
 import io.grpc.ForwardingClientCall;
 import io.grpc.ForwardingClientCallListener;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.ServiceDescriptor;
 import io.grpc.Status;
+import io.temporal.internal.common.StatusUtils;
+import io.temporal.internal.metrics.MetricsTag;
 import io.temporal.internal.metrics.MetricsType;
+import io.temporal.workflowservice.v1.PollForActivityTaskResponse;
+import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
 import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Reports metrics on GRPC service calls */
+/**
+ * Reports metrics on GRPC service calls. Besides the request, error and latency metrics of every
+ * method it records latency histograms per status code, time to the first response byte and message
+ * sizes. The latency of long polls is also split by whether the poll returned a task, as their
+ * latency timer is dominated by the time the server waits for a task.
+ */
 class GrpcMetricsInterceptor implements ClientInterceptor {
 
-  private final Map<MethodDescriptor<?, ?>, Scope> methodScopes = new HashMap<>();
+  /** From 1 millisecond to 131 seconds, which covers the long poll timeout. */
+  private static final Buckets LATENCY_BUCKETS =
+      DurationBuckets.exponential(Duration.ofMillis(1), 2, 18);
+
+  /** From 64 bytes to 256MB. */
+  private static final Buckets SIZE_BUCKETS = ValueBuckets.exponential(64, 4, 12);
+
+  private final Map<MethodDescriptor<?, ?>, MethodMetrics> methodMetrics = new HashMap<>();
 
   GrpcMetricsInterceptor(Scope scope) {
     ServiceDescriptor descriptor = WorkflowServiceGrpc.getServiceDescriptor();
@@ -52,33 +77,123 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
       int beginIndex = serviceName.length() + 1;
       String name = method.getFullMethodName().substring(beginIndex);
       String scopeName = MetricsType.TEMPORAL_METRICS_PREFIX + name;
-      methodScopes.put(method, scope.subScope(scopeName));
+      methodMetrics.put(
+          method,
+          new MethodMetrics(scope.subScope(scopeName), GrpcMethodGroups.isLongPoll(method)));
     }
   }
 
   @Override
   public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
       MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
-    Scope scope = methodScopes.get(method);
-    return new MetricsClientCall<>(next, method, callOptions, scope);
+    MethodMetrics metrics = methodMetrics.get(method);
+    if (metrics == null) {
+      return next.newCall(method, callOptions);
+    }
+    callOptions = callOptions.withStreamTracerFactory(metrics.tracerFactory);
+    return new MetricsClientCall<>(next, method, callOptions, metrics);
+  }
+
+  /** @return true if the response of a long poll carries a task. */
+  private static boolean isTask(Object response) {
+    if (response instanceof PollForDecisionTaskResponse) {
+      return !((PollForDecisionTaskResponse) response).getTaskToken().isEmpty();
+    }
+    if (response instanceof PollForActivityTaskResponse) {
+      return !((PollForActivityTaskResponse) response).getTaskToken().isEmpty();
+    }
+    return false;
+  }
+
+  private static final class MethodMetrics {
+    final Scope scope;
+    final boolean longPoll;
+    final ClientStreamTracer.Factory tracerFactory;
+    private final Map<Status.Code, Scope> statusScopes = new ConcurrentHashMap<>();
+
+    MethodMetrics(Scope scope, boolean longPoll) {
+      this.scope = scope;
+      this.longPoll = longPoll;
+      this.tracerFactory = new MessageSizeTracerFactory(scope);
+    }
+
+    Scope getStatusScope(Status.Code code) {
+      return statusScopes.computeIfAbsent(
+          code, (c) -> scope.tagged(ImmutableMap.of(MetricsTag.STATUS_CODE, c.name())));
+    }
+  }
+
+  /**
+   * Counts request and response bytes as they cross the wire and before compression. The difference
+   * shows what compression saves for each method. Wire sizes of individual messages are also
+   * recorded as histograms.
+   */
+  static class MessageSizeTracerFactory extends ClientStreamTracer.Factory {
+    private final Counter requestWireBytes;
+    private final Counter requestUncompressedBytes;
+    private final Counter responseWireBytes;
+    private final Counter responseUncompressedBytes;
+    private final Histogram requestSize;
+    private final Histogram responseSize;
+
+    MessageSizeTracerFactory(Scope scope) {
+      requestWireBytes = scope.counter(MetricsType.TEMPORAL_REQUEST_WIRE_BYTES);
+      requestUncompressedBytes = scope.counter(MetricsType.TEMPORAL_REQUEST_UNCOMPRESSED_BYTES);
+      responseWireBytes = scope.counter(MetricsType.TEMPORAL_RESPONSE_WIRE_BYTES);
+      responseUncompressedBytes = scope.counter(MetricsType.TEMPORAL_RESPONSE_UNCOMPRESSED_BYTES);
+      requestSize = scope.histogram(MetricsType.TEMPORAL_REQUEST_SIZE, SIZE_BUCKETS);
+      responseSize = scope.histogram(MetricsType.TEMPORAL_RESPONSE_SIZE, SIZE_BUCKETS);
+    }
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(
+        ClientStreamTracer.StreamInfo info, Metadata headers) {
+      return new ClientStreamTracer() {
+        @Override
+        public void outboundWireSize(long bytes) {
+          requestWireBytes.inc(bytes);
+          requestSize.recordValue(bytes);
+        }
+
+        @Override
+        public void outboundUncompressedSize(long bytes) {
+          requestUncompressedBytes.inc(bytes);
+        }
+
+        @Override
+        public void inboundWireSize(long bytes) {
+          responseWireBytes.inc(bytes);
+          responseSize.recordValue(bytes);
+        }
+
+        @Override
+        public void inboundUncompressedSize(long bytes) {
+          responseUncompressedBytes.inc(bytes);
+        }
+      };
+    }
   }
 
   private static class MetricsClientCall<ReqT, RespT>
       extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final MethodMetrics metrics;
     private final Scope scope;
+    private final long startNanos;
     private final Stopwatch sw;
+    private final boolean expectedDeadlineExceeded;
 
     public MetricsClientCall(
-        Channel next, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Scope scope) {
+        Channel next,
+        MethodDescriptor<ReqT, RespT> method,
+        CallOptions callOptions,
+        MethodMetrics metrics) {
       super(next.newCall(method, callOptions));
-      this.scope = scope;
+      this.metrics = metrics;
+      this.scope = metrics.scope;
       scope.counter(MetricsType.TEMPORAL_REQUEST).inc(1);
+      startNanos = System.nanoTime();
       sw = scope.timer(MetricsType.TEMPORAL_LATENCY).start();
-    }
-
-    @Override
-    public void sendMessage(ReqT message) {
-      super.sendMessage(message);
+      expectedDeadlineExceeded = callOptions.getOption(StatusUtils.EXPECTED_DEADLINE_EXCEEDED);
     }
 
     @Override
@@ -86,9 +201,32 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
       Listener<RespT> listener =
           new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
               responseListener) {
+            // Listener callbacks are serialized, so no synchronization is needed.
+            private boolean firstByteReported;
+            private boolean task;
+
+            @Override
+            public void onHeaders(Metadata headers) {
+              reportFirstByte();
+              super.onHeaders(headers);
+            }
+
+            @Override
+            public void onMessage(RespT message) {
+              reportFirstByte();
+              if (metrics.longPoll) {
+                task = isTask(message);
+              }
+              super.onMessage(message);
+            }
+
             @Override
             public void onClose(Status status, Metadata trailers) {
-              if (!status.isOk()) {
+              Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+              // The caller ends such calls by their deadline on purpose, so they are not failures.
+              boolean expected =
+                  expectedDeadlineExceeded && status.getCode() == Status.Code.DEADLINE_EXCEEDED;
+              if (!status.isOk() && !expected) {
                 Status.Code code = status.getCode();
                 if (code == Status.Code.INVALID_ARGUMENT || code == ALREADY_EXISTS) {
                   scope.counter(MetricsType.TEMPORAL_INVALID_REQUEST).inc(1);
@@ -96,9 +234,34 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
                   scope.counter(MetricsType.TEMPORAL_ERROR).inc(1);
                 }
               }
+              if (!expected) {
+                metrics
+                    .getStatusScope(status.getCode())
+                    .histogram(MetricsType.TEMPORAL_REQUEST_LATENCY, LATENCY_BUCKETS)
+                    .recordDuration(elapsed);
+              }
+              if (metrics.longPoll && status.isOk()) {
+                scope
+                    .histogram(
+                        task
+                            ? MetricsType.TEMPORAL_LONG_POLL_TASK_LATENCY
+                            : MetricsType.TEMPORAL_LONG_POLL_EMPTY_LATENCY,
+                        LATENCY_BUCKETS)
+                    .recordDuration(elapsed);
+              }
               super.onClose(status, trailers);
               sw.stop();
             }
+
+            private void reportFirstByte() {
+              if (firstByteReported) {
+                return;
+              }
+              firstByteReported = true;
+              scope
+                  .histogram(MetricsType.TEMPORAL_TIME_TO_FIRST_BYTE, LATENCY_BUCKETS)
+                  .recordDuration(Duration.ofNanos(System.nanoTime() - startNanos));
+            }
           };
 
       super.start(listener, headers);
@@ -0,0 +1,147 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event loop and callback executor shared by all channels created by one {@link
+ * WorkflowServiceStubsImpl}. Released once the channel that uses them terminates.
+ */
+final class NettyTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(NettyTransport.class);
+
+  /** @return true if the native epoll transport can be loaded on this platform. */
+  static boolean isNativeTransportAvailable() {
+    try {
+      return Epoll.isAvailable();
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  private final EventLoopGroup eventLoopGroup;
+  private final Class<? extends Channel> channelType;
+  private final ExecutorService callbackExecutor;
+  private final boolean directExecutor;
+  private final AtomicBoolean shutdownScheduled = new AtomicBoolean();
+
+  NettyTransport(WorkflowServiceStubsOptions options) {
+    int threads = options.getEventLoopThreads();
+    boolean useEpoll = options.getEnableNativeTransport() && isNativeTransportAvailable();
+    if (options.getEnableNativeTransport() && !useEpoll) {
+      log.warn("Native transport is not available, using NIO");
+    }
+    if (useEpoll) {
+      eventLoopGroup = new EpollEventLoopGroup(threads, newThreadFactory("temporal-grpc-epoll-%d"));
+      channelType = EpollSocketChannel.class;
+    } else if (threads > 0) {
+      eventLoopGroup = new NioEventLoopGroup(threads, newThreadFactory("temporal-grpc-nio-%d"));
+      channelType = NioSocketChannel.class;
+    } else {
+      eventLoopGroup = null;
+      channelType = null;
+    }
+    if (options.getCallbackExecutorThreads() > 0) {
+      callbackExecutor =
+          Executors.newFixedThreadPool(
+              options.getCallbackExecutorThreads(), newThreadFactory("temporal-grpc-callback-%d"));
+    } else {
+      callbackExecutor = null;
+    }
+    directExecutor = options.getDirectExecutor();
+  }
+
+  private static ThreadFactory newThreadFactory(String nameFormat) {
+    return new ThreadFactoryBuilder().setDaemon(true).setNameFormat(nameFormat).build();
+  }
+
+  void configure(NettyChannelBuilder builder) {
+    if (eventLoopGroup != null) {
+      builder.eventLoopGroup(eventLoopGroup).channelType(channelType);
+    }
+    if (directExecutor) {
+      builder.directExecutor();
+    } else if (callbackExecutor != null) {
+      builder.executor(callbackExecutor);
+    }
+  }
+
+  /**
+   * Releases the event loop and the callback executor after the channel terminates. Calls still in
+   * flight after a graceful channel shutdown need both to complete.
+   */
+  void shutdownWhenTerminated(ManagedChannel channel) {
+    if ((eventLoopGroup == null && callbackExecutor == null)
+        || !shutdownScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    Thread reaper =
+        new Thread(
+            () -> {
+              try {
+                channel.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              shutdown();
+            },
+            "temporal-grpc-transport-shutdown");
+    reaper.setDaemon(true);
+    reaper.start();
+  }
+
+  boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    if (eventLoopGroup != null
+        && !eventLoopGroup.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+      return false;
+    }
+    return callbackExecutor == null
+        || callbackExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  private void shutdown() {
+    if (eventLoopGroup != null) {
+      eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+    }
+    if (callbackExecutor != null) {
+      callbackExecutor.shutdown();
+    }
+  }
+}
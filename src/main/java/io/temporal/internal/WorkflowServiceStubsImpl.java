@@ -65,6 +65,8 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
   private final WorkflowServiceGrpc.WorkflowServiceBlockingStub blockingStub;
   private final WorkflowServiceGrpc.WorkflowServiceFutureStub futureStub;
   private final Server inProcessServer;
+  // Event loop and executor of the channels created by us, null for a channel passed from outside
+  private final NettyTransport transport;
 
   /**
    * Creates a factory that connects to the Temporal according to the specified options. When
@@ -102,20 +104,21 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
       this.channel = options.getChannel();
       // Do not shutdown a channel passed to the constructor from outside
       channelNeedsShutdown = serviceImpl != null;
+      transport = null;
+    } else if (options.getChannelPoolSize() > 1 || options.getLongPollChannelPoolSize() > 0) {
+      WorkflowServiceStubsOptions channelOptions = options;
+      NettyTransport channelTransport = new NettyTransport(options);
+      transport = channelTransport;
+      this.channel =
+          new ChannelPool(
+              () -> newChannel(channelOptions, channelTransport),
+              options.getChannelPoolSize(),
+              options.getLongPollChannelPoolSize(),
+              options.getMetricsScope());
+      channelNeedsShutdown = true;
     } else {
-      NettyChannelBuilder builder =
-          NettyChannelBuilder.forTarget(options.getTarget())
-              .defaultLoadBalancingPolicy("round_robin");
-
-      if (options.getSslContext() == null && !options.getEnableHttps()) {
-        builder.usePlaintext();
-      } else if (options.getSslContext() != null) {
-        builder.sslContext(options.getSslContext());
-      } else {
-        builder.useTransportSecurity();
-      }
-
-      this.channel = builder.build();
+      transport = new NettyTransport(options);
+      this.channel = newChannel(options, transport);
       channelNeedsShutdown = true;
     }
     GrpcMetricsInterceptor metricsInterceptor =
@@ -126,9 +129,21 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     headers.put(LIBRARY_VERSION_HEADER_KEY, Version.LIBRARY_VERSION);
     headers.put(FEATURE_VERSION_HEADER_KEY, Version.FEATURE_VERSION);
     headers.put(CLIENT_IMPL_HEADER_KEY, CLIENT_IMPL_HEADER_VALUE);
+    Channel limitedChannel = channel;
+    if (!options.getConcurrencyLimits().isEmpty()) {
+      limitedChannel =
+          ClientInterceptors.intercept(
+              channel,
+              new GrpcConcurrencyLimitInterceptor(
+                  options.getConcurrencyLimits(), options.getMetricsScope()));
+    }
+    if (GrpcCallOptionsInterceptor.isNeeded(options)) {
+      limitedChannel =
+          ClientInterceptors.intercept(limitedChannel, new GrpcCallOptionsInterceptor(options));
+    }
     Channel interceptedChannel =
         ClientInterceptors.intercept(
-            channel,
+            limitedChannel,
             metricsInterceptor,
             deadlineInterceptor,
             MetadataUtils.newAttachHeadersInterceptor(headers));
@@ -150,6 +165,23 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     log.info(String.format("Created GRPC client for channel: %s", channel));
   }
 
+  private static ManagedChannel newChannel(
+      WorkflowServiceStubsOptions options, NettyTransport transport) {
+    NettyChannelBuilder builder =
+        NettyChannelBuilder.forTarget(options.getTarget())
+            .defaultLoadBalancingPolicy("round_robin");
+    transport.configure(builder);
+
+    if (options.getSslContext() == null && !options.getEnableHttps()) {
+      builder.usePlaintext();
+    } else if (options.getSslContext() != null) {
+      builder.sslContext(options.getSslContext());
+    } else {
+      builder.useTransportSecurity();
+    }
+    return builder.build();
+  }
+
   /** @return Blocking (synchronous) stub that allows direct calls to service. */
   public WorkflowServiceGrpc.WorkflowServiceBlockingStub blockingStub() {
     return blockingStub;
@@ -167,6 +199,9 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     if (channelNeedsShutdown) {
       channel.shutdown();
     }
+    if (transport != null) {
+      transport.shutdownWhenTerminated(channel);
+    }
     if (inProcessServer != null) {
       inProcessServer.shutdown();
     }
@@ -179,6 +214,9 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
     if (channelNeedsShutdown) {
       channel.shutdownNow();
     }
+    if (transport != null) {
+      transport.shutdownWhenTerminated(channel);
+    }
     if (inProcessServer != null) {
       inProcessServer.shutdownNow();
     }
@@ -188,7 +226,14 @@ public final class WorkflowServiceStubsImpl implements WorkflowServiceStubs {
   public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
     long start = System.currentTimeMillis();
     if (channelNeedsShutdown) {
-      return channel.awaitTermination(timeout, unit);
+      if (!channel.awaitTermination(timeout, unit)) {
+        return false;
+      }
+      if (transport != null) {
+        long remaining = unit.toMillis(timeout) - (System.currentTimeMillis() - start);
+        return transport.awaitTermination(remaining, TimeUnit.MILLISECONDS);
+      }
+      return true;
     }
     long left = System.currentTimeMillis() - unit.toMillis(start);
     if (inProcessServer != null) {
@@ -25,6 +25,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -70,6 +71,8 @@ public final class AsyncBackoffThrottler {
 
   private final double backoffCoefficient;
 
+  private final boolean fullJitter;
+
   private final AtomicLong failureCount = new AtomicLong();
 
   /**
@@ -81,6 +84,20 @@ public final class AsyncBackoffThrottler {
    */
   public AsyncBackoffThrottler(
       Duration initialSleep, Duration maxSleep, double backoffCoefficient) {
+    this(initialSleep, maxSleep, backoffCoefficient, false);
+  }
+
+  /**
+   * Construct an instance of the throttler.
+   *
+   * @param initialSleep time to sleep on the first failure
+   * @param maxSleep maximum time to sleep independently of number of failures
+   * @param backoffCoefficient coefficient used to calculate the next time to sleep.
+   * @param fullJitter when true the sleep time is random between 0 and the calculated value, so
+   *     that concurrent callers failing at the same time do not retry in lock-step.
+   */
+  public AsyncBackoffThrottler(
+      Duration initialSleep, Duration maxSleep, double backoffCoefficient, boolean fullJitter) {
     Objects.requireNonNull(initialSleep, "initialSleep");
     if (backoffCoefficient < 1.0) {
       throw new IllegalArgumentException(
@@ -89,15 +106,20 @@ public final class AsyncBackoffThrottler {
     this.initialSleep = initialSleep;
     this.maxSleep = maxSleep;
     this.backoffCoefficient = backoffCoefficient;
+    this.fullJitter = fullJitter;
   }
 
   private long calculateSleepTime() {
     double sleepMillis =
         Math.pow(backoffCoefficient, failureCount.get() - 1) * initialSleep.toMillis();
+    long result = (long) sleepMillis;
     if (maxSleep != null) {
-      return Math.min((long) sleepMillis, maxSleep.toMillis());
+      result = Math.min(result, maxSleep.toMillis());
+    }
+    if (fullJitter && result > 0) {
+      result = ThreadLocalRandom.current().nextLong(result + 1);
     }
-    return (long) sleepMillis;
+    return result;
   }
 
   /** Result future is done after a delay if there were failures since the last success call. */
@@ -21,6 +21,7 @@ package io.temporal.internal.common;
 
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -62,6 +63,8 @@ public final class BackoffThrottler {
 
   private final double backoffCoefficient;
 
+  private final boolean fullJitter;
+
   private final AtomicLong failureCount = new AtomicLong();
 
   /**
@@ -72,19 +75,38 @@ public final class BackoffThrottler {
    * @param backoffCoefficient coefficient used to calculate the next time to sleep.
    */
   public BackoffThrottler(Duration initialSleep, Duration maxSleep, double backoffCoefficient) {
+    this(initialSleep, maxSleep, backoffCoefficient, false);
+  }
+
+  /**
+   * Construct an instance of the throttler.
+   *
+   * @param initialSleep time to sleep on the first failure
+   * @param maxSleep maximum time to sleep independently of number of failures
+   * @param backoffCoefficient coefficient used to calculate the next time to sleep.
+   * @param fullJitter when true the sleep time is random between 0 and the calculated value, so
+   *     that concurrent callers failing at the same time do not retry in lock-step.
+   */
+  public BackoffThrottler(
+      Duration initialSleep, Duration maxSleep, double backoffCoefficient, boolean fullJitter) {
     Objects.requireNonNull(initialSleep, "initialSleep");
     this.initialSleep = initialSleep;
     this.maxSleep = maxSleep;
     this.backoffCoefficient = backoffCoefficient;
+    this.fullJitter = fullJitter;
   }
 
   private long calculateSleepTime() {
     double sleepMillis =
         Math.pow(backoffCoefficient, failureCount.get() - 1) * initialSleep.toMillis();
+    long result = (long) sleepMillis;
     if (maxSleep != null) {
-      return Math.min((long) sleepMillis, maxSleep.toMillis());
+      result = Math.min(result, maxSleep.toMillis());
+    }
+    if (fullJitter && result > 0) {
+      result = ThreadLocalRandom.current().nextLong(result + 1);
     }
-    return (long) sleepMillis;
+    return result;
   }
 
   /**
@@ -21,10 +21,22 @@ package io.temporal.internal.common;
 
 import static io.temporal.internal.common.CheckedExceptionWrapper.unwrap;
 
+import com.google.common.collect.ImmutableSet;
+import com.uber.m3.tally.Scope;
+import io.grpc.MethodDescriptor;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.errordetails.v1.QueryFailedFailure;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -33,9 +45,37 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Retries service calls with jittered exponential backoff. Retries are limited by the {@link
+ * RpcRetryOptions#getRetryBudget()} of the options, see {@link #forMethod(RpcRetryOptions,
+ * WorkflowServiceStubs, MethodDescriptor)}.
+ */
 public final class GrpcRetryer {
   public static final RpcRetryOptions DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS;
 
+  /**
+   * Calls that complete a task. They are not limited by the retry budget as giving up on them turns
+   * a transient failure into a decision or activity timeout.
+   */
+  private static final Set<MethodDescriptor<?, ?>> TASK_COMPLETION_METHODS =
+      ImmutableSet.of(
+          WorkflowServiceGrpc.getRespondDecisionTaskCompletedMethod(),
+          WorkflowServiceGrpc.getRespondDecisionTaskFailedMethod(),
+          WorkflowServiceGrpc.getRespondQueryTaskCompletedMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskCompletedByIdMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskFailedMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskFailedByIdMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskCanceledMethod(),
+          WorkflowServiceGrpc.getRespondActivityTaskCanceledByIdMethod());
+
+  /**
+   * Retry budget of each service stubs, created from their options on first use. Weakly keyed so
+   * that closed stubs don't stay reachable.
+   */
+  private static final Map<WorkflowServiceStubs, Optional<RetryBudget>> RETRY_BUDGETS =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   private static final Duration RETRY_SERVICE_OPERATION_INITIAL_INTERVAL = Duration.ofMillis(20);
   private static final Duration RETRY_SERVICE_OPERATION_EXPIRATION_INTERVAL = Duration.ofMinutes(1);
   private static final double RETRY_SERVICE_OPERATION_BACKOFF = 1.2;
@@ -101,6 +141,47 @@ public final class GrpcRetryer {
 
   private static final Logger log = LoggerFactory.getLogger(GrpcRetryer.class);
 
+  /**
+   * Binds retry options to a call of the method through the service stubs. Retries are reported to
+   * the metrics scope of the method and, unless the method completes a task, draw on the retry
+   * budget of the stubs.
+   */
+  public static RpcRetryOptions forMethod(
+      RpcRetryOptions options, WorkflowServiceStubs service, MethodDescriptor<?, ?> method) {
+    RpcRetryOptions.Builder result = RpcRetryOptions.newBuilder(options);
+    if (!TASK_COMPLETION_METHODS.contains(method)) {
+      result.setRetryBudget(getRetryBudget(service));
+    }
+    Scope scope = service.getOptions().getMetricsScope();
+    if (scope != null) {
+      // Same scope the gRPC metrics interceptor reports the method metrics to.
+      String fullName = method.getFullMethodName();
+      String name = fullName.substring(fullName.lastIndexOf('/') + 1);
+      result.setMetricsScope(scope.subScope(MetricsType.TEMPORAL_METRICS_PREFIX + name));
+    }
+    return result.build();
+  }
+
+  /**
+   * @return budget that limits retries of calls made through the service stubs, null if their
+   *     options don't limit retries.
+   */
+  static RetryBudget getRetryBudget(WorkflowServiceStubs service) {
+    return RETRY_BUDGETS
+        .computeIfAbsent(
+            service,
+            (s) -> {
+              WorkflowServiceStubsOptions options = s.getOptions();
+              if (options.getRetryBudgetMaxTokens() == 0) {
+                return Optional.empty();
+              }
+              return Optional.of(
+                  new RetryBudget(
+                      options.getRetryBudgetMaxTokens(), options.getRetryBudgetTokenRatio()));
+            })
+        .orElse(null);
+  }
+
   public static <T extends Throwable> void retry(RpcRetryOptions options, RetryableProc<T> r)
       throws T {
     retryWithResult(
@@ -119,13 +200,18 @@ public final class GrpcRetryer {
         new BackoffThrottler(
             options.getInitialInterval(),
             options.getMaximumInterval(),
-            options.getBackoffCoefficient());
+            options.getBackoffCoefficient(),
+            true);
+    RetryBudget budget = options.getRetryBudget();
     do {
       try {
         attempt++;
         throttler.throttle();
         R result = r.apply();
         throttler.success();
+        if (budget != null) {
+          budget.onSuccess();
+        }
         return result;
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -149,11 +235,18 @@ public final class GrpcRetryer {
             || (expiration != null && elapsed >= expiration.toMillis())) {
           rethrow(e);
         }
+        if (!acquireRetry(budget, options.getMetricsScope(), e.getStatus())) {
+          rethrow(e);
+        }
         log.warn("Retrying after failure", e);
       }
     } while (true);
   }
 
+  /**
+   * Retries without blocking the calling thread. The backoff between attempts is scheduled on the
+   * {@link AsyncBackoffThrottler} timer.
+   */
   public static <R> CompletableFuture<R> retryWithResultAsync(
       RpcRetryOptions options, Supplier<CompletableFuture<R>> function) {
     int attempt = 0;
@@ -162,11 +255,12 @@ public final class GrpcRetryer {
         new AsyncBackoffThrottler(
             options.getInitialInterval(),
             options.getMaximumInterval(),
-            options.getBackoffCoefficient());
+            options.getBackoffCoefficient(),
+            true);
+    RetryState state = new RetryState(options, startTime, throttler);
     // Need this to unwrap checked exception.
     CompletableFuture<R> unwrappedExceptionResult = new CompletableFuture<>();
-    CompletableFuture<R> result =
-        retryWithResultAsync(options, function, attempt + 1, startTime, throttler);
+    CompletableFuture<R> result = retryWithResultAsync(state, function, attempt + 1);
     @SuppressWarnings({"FutureReturnValueIgnored", "unused"})
     CompletableFuture<Void> ignored =
         result.handle(
@@ -182,12 +276,9 @@ public final class GrpcRetryer {
   }
 
   private static <R> CompletableFuture<R> retryWithResultAsync(
-      RpcRetryOptions options,
-      Supplier<CompletableFuture<R>> function,
-      int attempt,
-      long startTime,
-      AsyncBackoffThrottler throttler) {
-    options.validate();
+      RetryState state, Supplier<CompletableFuture<R>> function, int attempt) {
+    state.options.validate();
+    AsyncBackoffThrottler throttler = state.throttler;
     return throttler
         .throttle()
         .thenCompose(
@@ -202,6 +293,9 @@ public final class GrpcRetryer {
                     (r, e) -> {
                       if (e == null) {
                         throttler.success();
+                        if (state.options.getRetryBudget() != null) {
+                          state.options.getRetryBudget().onSuccess();
+                        }
                         return r;
                       } else {
                         throttler.failure();
@@ -213,7 +307,7 @@ public final class GrpcRetryer {
                 throw CheckedExceptionWrapper.wrap(e);
               }
             })
-        .handle((r, e) -> failOrRetry(options, function, attempt, startTime, throttler, r, e))
+        .handle((r, e) -> failOrRetry(state, function, attempt, r, e))
         .thenCompose(
             (pair) -> {
               if (pair.getException() != null) {
@@ -225,13 +319,8 @@ public final class GrpcRetryer {
 
   /** Using {@link ValueExceptionPair} as future#thenCompose doesn't include exception parameter. */
   private static <R> ValueExceptionPair<R> failOrRetry(
-      RpcRetryOptions options,
-      Supplier<CompletableFuture<R>> function,
-      int attempt,
-      long startTime,
-      AsyncBackoffThrottler throttler,
-      R r,
-      Throwable e) {
+      RetryState state, Supplier<CompletableFuture<R>> function, int attempt, R r, Throwable e) {
+    RpcRetryOptions options = state.options;
     if (e == null) {
       return new ValueExceptionPair<>(CompletableFuture.completedFuture(r), null);
     }
@@ -239,7 +328,7 @@ public final class GrpcRetryer {
       return new ValueExceptionPair<>(null, e);
     }
     StatusRuntimeException exception = (StatusRuntimeException) e;
-    long elapsed = System.currentTimeMillis() - startTime;
+    long elapsed = System.currentTimeMillis() - state.startTime;
     for (RpcRetryOptions.DoNotRetryPair pair : options.getDoNotRetry()) {
       if (pair.getCode() == exception.getStatus().getCode()
           && (pair.getDetailsClass() == null
@@ -253,12 +342,47 @@ public final class GrpcRetryer {
         || (options.getExpiration() != null && elapsed >= options.getExpiration().toMillis())) {
       return new ValueExceptionPair<>(null, e);
     }
+    if (!acquireRetry(options.getRetryBudget(), options.getMetricsScope(), exception.getStatus())) {
+      return new ValueExceptionPair<>(null, e);
+    }
     log.debug("Retrying after failure", e);
-    CompletableFuture<R> next =
-        retryWithResultAsync(options, function, attempt + 1, startTime, throttler);
+    CompletableFuture<R> next = retryWithResultAsync(state, function, attempt + 1);
     return new ValueExceptionPair<>(next, null);
   }
 
+  /**
+   * Takes a token from the retry budget and reports the outcome to the called method scope. Calls
+   * rejected by a client side limit never reached the service, so their retries are free.
+   */
+  private static boolean acquireRetry(RetryBudget budget, Scope scope, Status status) {
+    boolean acquired =
+        budget == null || StatusUtils.isLocalRejection(status) || budget.tryAcquire();
+    if (scope != null) {
+      if (acquired) {
+        scope.counter(MetricsType.TEMPORAL_REQUEST_RETRY).inc(1);
+      } else {
+        scope.counter(MetricsType.TEMPORAL_RETRY_BUDGET_EXHAUSTED).inc(1);
+      }
+    }
+    if (!acquired) {
+      log.warn("Retry budget exhausted, not retrying");
+    }
+    return acquired;
+  }
+
+  /** State shared by all attempts of an asynchronous call. */
+  private static final class RetryState {
+    private final RpcRetryOptions options;
+    private final long startTime;
+    private final AsyncBackoffThrottler throttler;
+
+    private RetryState(RpcRetryOptions options, long startTime, AsyncBackoffThrottler throttler) {
+      this.options = options;
+      this.startTime = startTime;
+      this.throttler = throttler;
+    }
+  }
+
   private static <T extends Throwable> void rethrow(Exception e) throws T {
     if (e instanceof RuntimeException) {
       throw (RuntimeException) e;
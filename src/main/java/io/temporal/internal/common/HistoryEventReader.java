@@ -0,0 +1,148 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import com.google.protobuf.CodedInputStream;
+import io.temporal.history.v1.HistoryEvent;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of the binary history format written by {@link HistoryEventWriter}. Events are
+ * parsed one at a time, so the history is never fully materialized unless the caller collects the
+ * events.
+ *
+ * <p>The format is a {@link HistoryEventWriter#MAGIC} header followed by the length delimited
+ * serialized {@link HistoryEvent} messages.
+ */
+public final class HistoryEventReader implements Iterator<HistoryEvent>, Closeable {
+
+  private final CodedInputStream input;
+  private final Closeable resource;
+  private HistoryEvent next;
+
+  /**
+   * Opens a binary history file. Files up to 2GB are memory mapped, larger ones are read through a
+   * buffered stream.
+   */
+  public static HistoryEventReader open(File file) throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size <= Integer.MAX_VALUE) {
+        CodedInputStream input =
+            CodedInputStream.newInstance(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        return new HistoryEventReader(input, channel);
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    channel.close();
+    return of(new BufferedInputStream(new FileInputStream(file)));
+  }
+
+  /** Creates a reader of a stream. The stream is closed when the reader is closed. */
+  public static HistoryEventReader of(InputStream stream) throws IOException {
+    return new HistoryEventReader(CodedInputStream.newInstance(stream), stream);
+  }
+
+  /** Checks if the file starts with the binary history header. */
+  public static boolean isBinaryHistory(File file) throws IOException {
+    byte[] header = new byte[HistoryEventWriter.MAGIC.length];
+    try (InputStream stream = new FileInputStream(file)) {
+      int read = 0;
+      while (read < header.length) {
+        int count = stream.read(header, read, header.length - read);
+        if (count < 0) {
+          return false;
+        }
+        read += count;
+      }
+    }
+    return Arrays.equals(header, HistoryEventWriter.MAGIC);
+  }
+
+  private HistoryEventReader(CodedInputStream input, Closeable resource) throws IOException {
+    this.input = input;
+    this.resource = resource;
+    // Events are read one by one, so the limit applies to a single event.
+    input.setSizeLimit(Integer.MAX_VALUE);
+    byte[] header;
+    try {
+      header = input.readRawBytes(HistoryEventWriter.MAGIC.length);
+    } catch (IOException e) {
+      resource.close();
+      throw new IOException("Not a binary history", e);
+    }
+    if (!Arrays.equals(header, HistoryEventWriter.MAGIC)) {
+      resource.close();
+      throw new IOException("Not a binary history");
+    }
+    next = readEvent();
+  }
+
+  private HistoryEvent readEvent() throws IOException {
+    if (input.isAtEnd()) {
+      return null;
+    }
+    int size = input.readRawVarint32();
+    int oldLimit = input.pushLimit(size);
+    HistoryEvent result = HistoryEvent.parseFrom(input);
+    input.popLimit(oldLimit);
+    input.resetSizeCounter();
+    return result;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  /** @throws UncheckedIOException if the underlying file or stream is corrupted or unreadable */
+  @Override
+  public HistoryEvent next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    HistoryEvent result = next;
+    try {
+      next = readEvent();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    resource.close();
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import com.google.protobuf.CodedOutputStream;
+import io.temporal.history.v1.HistoryEvent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes history events in a compact binary format that can be read back by {@link
+ * HistoryEventReader}. Unlike the json format it can be written and read one event at a time.
+ */
+public final class HistoryEventWriter implements Closeable {
+
+  /** File header. The last byte is the version of the format. */
+  static final byte[] MAGIC = {'T', 'H', 'S', 'T', 1};
+
+  private final OutputStream stream;
+  private final CodedOutputStream output;
+
+  /** Creates a writer. The stream is closed when the writer is closed. */
+  public HistoryEventWriter(OutputStream stream) throws IOException {
+    this.stream = stream;
+    this.output = CodedOutputStream.newInstance(stream);
+    output.writeRawBytes(MAGIC);
+  }
+
+  public void write(HistoryEvent event) throws IOException {
+    output.writeUInt32NoTag(event.getSerializedSize());
+    event.writeTo(output);
+  }
+
+  public void write(Iterable<HistoryEvent> events) throws IOException {
+    for (HistoryEvent event : events) {
+      write(event);
+    }
+  }
+
+  public void flush() throws IOException {
+    output.flush();
+    stream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      output.flush();
+    } finally {
+      stream.close();
+    }
+  }
+}
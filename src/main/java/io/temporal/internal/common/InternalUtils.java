@@ -20,6 +20,7 @@
 package io.temporal.internal.common;
 
 import com.google.common.base.Defaults;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.common.v1.Payload;
 import io.temporal.common.v1.SearchAttributes;
@@ -28,7 +29,10 @@ import io.temporal.internal.worker.Shutdownable;
 import io.temporal.taskqueue.v1.TaskQueue;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 /** Utility functions shared by the implementation code. */
@@ -83,6 +87,34 @@ public final class InternalUtils {
     return remainingTimeout;
   }
 
+  /**
+   * Adapts a future returned by a gRPC future stub. The result is completed from the common pool to
+   * keep callbacks off gRPC threads. A failed call completes it with the cause of the failure
+   * instead of an ExecutionException.
+   */
+  public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    future.addListener(
+        () -> {
+          try {
+            result.complete(future.get());
+          } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause());
+          } catch (Exception e) {
+            result.completeExceptionally(e);
+          }
+        },
+        ForkJoinPool.commonPool());
+    return result;
+  }
+
+  /** Java 8 replacement of CompletableFuture.failedFuture. */
+  public static <T> CompletableFuture<T> failedFuture(Throwable failure) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    result.completeExceptionally(failure);
+    return result;
+  }
+
   public static Object getValueOrDefault(Object value, Class<?> valueClass) {
     if (value != null) {
       return value;
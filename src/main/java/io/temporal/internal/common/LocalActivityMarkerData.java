@@ -19,8 +19,13 @@
 
 package io.temporal.internal.common;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DataConverterException;
 import io.temporal.common.v1.ActivityType;
+import io.temporal.common.v1.Payload;
 import io.temporal.common.v1.Payloads;
 import io.temporal.enums.v1.EventType;
 import io.temporal.failure.v1.CanceledFailureInfo;
@@ -30,13 +35,30 @@ import io.temporal.history.v1.MarkerRecordedEventAttributes;
 import io.temporal.internal.replay.ClockDecisionContext;
 import io.temporal.workflowservice.v1.RespondActivityTaskCanceledRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskFailedRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
 
+/**
+ * Data recorded in a local activity marker. The marker header (activity id, type, replay time,
+ * attempt and backoff) is encoded through the {@link DataConverter} unless the compact versioned
+ * binary encoding is requested through {@link Builder#setBinaryHeader(boolean)}. Both encodings are
+ * always read.
+ */
 public final class LocalActivityMarkerData {
   static final String MARKER_RESULT_KEY = "result";
   static final String MARKER_DATA_KEY = "data";
 
+  static final String METADATA_ENCODING_KEY = "encoding";
+  static final String MARKER_ENCODING_NAME = "binary/localActivityMarker";
+  static final ByteString MARKER_ENCODING =
+      ByteString.copyFrom(MARKER_ENCODING_NAME, StandardCharsets.UTF_8);
+  static final int MARKER_ENCODING_VERSION = 1;
+
+  private static final int HAS_ACTIVITY_ID = 1;
+  private static final int HAS_ACTIVITY_TYPE = 1 << 1;
+
   public static final class Builder {
     private String activityId;
     private String activityType;
@@ -45,6 +67,7 @@ public final class LocalActivityMarkerData {
     private long replayTimeMillis;
     private int attempt;
     private Duration backoff;
+    private boolean binaryHeader;
 
     public Builder setActivityId(String activityId) {
       this.activityId = activityId;
@@ -96,9 +119,25 @@ public final class LocalActivityMarkerData {
       return this;
     }
 
+    /**
+     * Write the marker header in the compact binary encoding. Workers of earlier releases cannot
+     * decode it. Default is false.
+     */
+    public Builder setBinaryHeader(boolean binaryHeader) {
+      this.binaryHeader = binaryHeader;
+      return this;
+    }
+
     public LocalActivityMarkerData build() {
       return new LocalActivityMarkerData(
-          activityId, activityType, replayTimeMillis, result, failure, attempt, backoff);
+          activityId,
+          activityType,
+          replayTimeMillis,
+          result,
+          failure,
+          attempt,
+          backoff,
+          binaryHeader);
     }
   }
 
@@ -129,6 +168,7 @@ public final class LocalActivityMarkerData {
   private final DataValue data;
   private final Optional<Payloads> result;
   private final Optional<Failure> failure;
+  private final boolean binaryHeader;
 
   private LocalActivityMarkerData(
       String activityId,
@@ -137,17 +177,20 @@ public final class LocalActivityMarkerData {
       Optional<Payloads> result,
       Optional<Failure> failure,
       int attempt,
-      Duration backoff) {
+      Duration backoff,
+      boolean binaryHeader) {
     this.data = new DataValue(activityId, activityType, replayTimeMillis, attempt, backoff);
     this.result = result;
     this.failure = failure;
+    this.binaryHeader = binaryHeader;
   }
 
   private LocalActivityMarkerData(
-      DataValue data, Optional<Payloads> result, Optional<Failure> failure) {
+      DataValue data, Optional<Payloads> result, Optional<Failure> failure, boolean binaryHeader) {
     this.data = data;
     this.result = result;
     this.failure = failure;
+    this.binaryHeader = binaryHeader;
   }
 
   public String getActivityId() {
@@ -178,8 +221,16 @@ public final class LocalActivityMarkerData {
     return Duration.ofMillis(data.backoffMillis);
   }
 
+  /** @return true if the marker header is written in the compact binary encoding. */
+  public boolean isBinaryHeader() {
+    return binaryHeader;
+  }
+
   public HistoryEvent toEvent(DataConverter converter) {
-    Payloads data = converter.toPayloads(this.data).get();
+    Payloads data =
+        binaryHeader
+            ? Payloads.newBuilder().addPayloads(encodeData(this.data)).build()
+            : converter.toPayloads(this.data).get();
     MarkerRecordedEventAttributes.Builder attributes =
         MarkerRecordedEventAttributes.newBuilder()
             .setMarkerName(ClockDecisionContext.LOCAL_ACTIVITY_MARKER_NAME)
@@ -199,14 +250,89 @@ public final class LocalActivityMarkerData {
   public static LocalActivityMarkerData fromEventAttributes(
       MarkerRecordedEventAttributes attributes, DataConverter converter) {
     Payloads data = attributes.getDetailsOrThrow(MARKER_DATA_KEY);
-    DataValue laHeader =
-        converter.fromPayloads(Optional.of(data), DataValue.class, DataValue.class);
+    DataValue laHeader;
+    boolean binary = data.getPayloadsCount() == 1 && isBinary(data.getPayloads(0));
+    if (binary) {
+      laHeader = decodeData(data.getPayloads(0));
+    } else {
+      laHeader = converter.fromPayloads(Optional.of(data), DataValue.class, DataValue.class);
+    }
     Optional<Payloads> result =
         attributes.containsDetails(MARKER_RESULT_KEY)
             ? Optional.of(attributes.getDetailsOrThrow(MARKER_RESULT_KEY))
             : Optional.empty();
     Optional<Failure> failure =
         attributes.hasFailure() ? Optional.of(attributes.getFailure()) : Optional.empty();
-    return new LocalActivityMarkerData(laHeader, result, failure);
+    return new LocalActivityMarkerData(laHeader, result, failure, binary);
+  }
+
+  private static boolean isBinary(Payload payload) {
+    ByteString encoding = payload.getMetadataMap().get(METADATA_ENCODING_KEY);
+    return MARKER_ENCODING.equals(encoding);
+  }
+
+  private static Payload encodeData(DataValue data) {
+    int presence =
+        (data.activityId == null ? 0 : HAS_ACTIVITY_ID)
+            | (data.activityType == null ? 0 : HAS_ACTIVITY_TYPE);
+    int size =
+        CodedOutputStream.computeUInt32SizeNoTag(MARKER_ENCODING_VERSION)
+            + CodedOutputStream.computeUInt32SizeNoTag(presence)
+            + (data.activityId == null
+                ? 0
+                : CodedOutputStream.computeStringSizeNoTag(data.activityId))
+            + (data.activityType == null
+                ? 0
+                : CodedOutputStream.computeStringSizeNoTag(data.activityType))
+            + CodedOutputStream.computeInt64SizeNoTag(data.replayTimeMillis)
+            + CodedOutputStream.computeInt32SizeNoTag(data.attempt)
+            + CodedOutputStream.computeInt64SizeNoTag(data.backoffMillis);
+    byte[] bytes = new byte[size];
+    CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+    try {
+      output.writeUInt32NoTag(MARKER_ENCODING_VERSION);
+      output.writeUInt32NoTag(presence);
+      if (data.activityId != null) {
+        output.writeStringNoTag(data.activityId);
+      }
+      if (data.activityType != null) {
+        output.writeStringNoTag(data.activityType);
+      }
+      output.writeInt64NoTag(data.replayTimeMillis);
+      output.writeInt32NoTag(data.attempt);
+      output.writeInt64NoTag(data.backoffMillis);
+      output.checkNoSpaceLeft();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failure encoding local activity marker", e);
+    }
+    return Payload.newBuilder()
+        .putMetadata(METADATA_ENCODING_KEY, MARKER_ENCODING)
+        .setData(ByteString.copyFrom(bytes))
+        .build();
+  }
+
+  private static DataValue decodeData(Payload payload) {
+    CodedInputStream input = payload.getData().newCodedInput();
+    try {
+      int version = input.readUInt32();
+      if (version != MARKER_ENCODING_VERSION) {
+        throw new IllegalStateException(
+            "Unsupported local activity marker encoding version: " + version);
+      }
+      int presence = input.readUInt32();
+      DataValue result = new DataValue();
+      if ((presence & HAS_ACTIVITY_ID) != 0) {
+        result.activityId = input.readString();
+      }
+      if ((presence & HAS_ACTIVITY_TYPE) != 0) {
+        result.activityType = input.readString();
+      }
+      result.replayTimeMillis = input.readInt64();
+      result.attempt = input.readInt32();
+      result.backoffMillis = input.readInt64();
+      return result;
+    } catch (IOException e) {
+      throw new DataConverterException("Failure decoding local activity marker", e);
+    }
   }
 }
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits retries of the service calls made through one {@link
+ * io.temporal.serviceclient.WorkflowServiceStubs}. Each retry takes a token and each successful
+ * call returns a fraction of a token. When the service is degraded the bucket drains and callers
+ * fail fast instead of multiplying the load with retries.
+ */
+public final class RetryBudget {
+
+  private static final long MILLIS_PER_TOKEN = 1000;
+
+  private final long maxMilliTokens;
+  private final long refillMilliTokens;
+  private final AtomicLong milliTokens;
+
+  /**
+   * @param maxTokens number of retries allowed without any successful calls. The bucket starts
+   *     full.
+   * @param tokenRatio fraction of a token returned by each successful call.
+   */
+  public RetryBudget(int maxTokens, double tokenRatio) {
+    if (maxTokens < 1) {
+      throw new IllegalArgumentException("maxTokens should be positive: " + maxTokens);
+    }
+    if (tokenRatio <= 0) {
+      throw new IllegalArgumentException("tokenRatio should be positive: " + tokenRatio);
+    }
+    this.maxMilliTokens = maxTokens * MILLIS_PER_TOKEN;
+    this.refillMilliTokens = Math.max(1, (long) (tokenRatio * MILLIS_PER_TOKEN));
+    this.milliTokens = new AtomicLong(maxMilliTokens);
+  }
+
+  /** @return true if a retry is allowed, taking a token from the bucket. */
+  public boolean tryAcquire() {
+    while (true) {
+      long current = milliTokens.get();
+      if (current < MILLIS_PER_TOKEN) {
+        return false;
+      }
+      if (milliTokens.compareAndSet(current, current - MILLIS_PER_TOKEN)) {
+        return true;
+      }
+    }
+  }
+
+  /** Returns a fraction of a token to the bucket. */
+  public void onSuccess() {
+    while (true) {
+      long current = milliTokens.get();
+      if (current >= maxMilliTokens) {
+        return;
+      }
+      long next = Math.min(maxMilliTokens, current + refillMilliTokens);
+      if (milliTokens.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  public double getAvailableTokens() {
+    return (double) milliTokens.get() / MILLIS_PER_TOKEN;
+  }
+}
@@ -23,6 +23,7 @@ import static io.temporal.internal.common.GrpcRetryer.DEFAULT_SERVICE_OPERATION_
 
 import com.google.common.base.Defaults;
 import com.google.protobuf.GeneratedMessageV3;
+import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.temporal.common.MethodRetry;
 import java.time.Duration;
@@ -83,6 +84,10 @@ public final class RpcRetryOptions {
 
     private List<DoNotRetryPair> doNotRetry = new ArrayList<>();
 
+    private RetryBudget retryBudget;
+
+    private Scope metricsScope;
+
     private Builder() {}
 
     private Builder(RpcRetryOptions options) {
@@ -95,6 +100,8 @@ public final class RpcRetryOptions {
       this.initialInterval = options.getInitialInterval();
       this.maximumInterval = options.getMaximumInterval();
       this.doNotRetry = options.getDoNotRetry();
+      this.retryBudget = options.getRetryBudget();
+      this.metricsScope = options.getMetricsScope();
     }
 
     /**
@@ -169,6 +176,21 @@ public final class RpcRetryOptions {
       return this;
     }
 
+    /**
+     * Budget that retries draw on. Once it is exhausted failures are returned to the caller until
+     * successful calls refill it. Default is null, which doesn't limit retries.
+     */
+    public Builder setRetryBudget(RetryBudget retryBudget) {
+      this.retryBudget = retryBudget;
+      return this;
+    }
+
+    /** Scope of the called method that retries and an exhausted retry budget are reported to. */
+    public Builder setMetricsScope(Scope metricsScope) {
+      this.metricsScope = metricsScope;
+      return this;
+    }
+
     Builder setDoNotRetry(List<DoNotRetryPair> pairs) {
       doNotRetry = pairs;
       return this;
@@ -185,6 +207,12 @@ public final class RpcRetryOptions {
       setBackoffCoefficient(merge(backoffCoefficient, o.getBackoffCoefficient(), double.class));
       setMaximumAttempts(merge(maximumAttempts, o.getMaximumAttempts(), int.class));
       setDoNotRetry(merge(doNotRetry, o.getDoNotRetry()));
+      if (o.getRetryBudget() != null) {
+        setRetryBudget(o.getRetryBudget());
+      }
+      if (o.getMetricsScope() != null) {
+        setMetricsScope(o.getMetricsScope());
+      }
       validateBuildWithDefaults();
       return this;
     }
@@ -217,7 +245,9 @@ public final class RpcRetryOptions {
           expiration,
           maximumAttempts,
           maximumInterval,
-          doNotRetry);
+          doNotRetry,
+          retryBudget,
+          metricsScope);
     }
 
     /** Validates property values and builds RetryOptions with default values. */
@@ -240,7 +270,14 @@ public final class RpcRetryOptions {
       }
       RpcRetryOptions result =
           new RpcRetryOptions(
-              initialInterval, backoff, expiration, maximumAttempts, maximumInterval, doNotRetry);
+              initialInterval,
+              backoff,
+              expiration,
+              maximumAttempts,
+              maximumInterval,
+              doNotRetry,
+              retryBudget,
+              metricsScope);
       result.validate();
       return result;
     }
@@ -258,19 +295,28 @@ public final class RpcRetryOptions {
 
   private final List<DoNotRetryPair> doNotRetry;
 
+  // Bound to the called service and method, so not part of equals and hashCode.
+  private final RetryBudget retryBudget;
+
+  private final Scope metricsScope;
+
   private RpcRetryOptions(
       Duration initialInterval,
       double backoffCoefficient,
       Duration expiration,
       int maximumAttempts,
       Duration maximumInterval,
-      List<DoNotRetryPair> doNotRetry) {
+      List<DoNotRetryPair> doNotRetry,
+      RetryBudget retryBudget,
+      Scope metricsScope) {
     this.initialInterval = initialInterval;
     this.backoffCoefficient = backoffCoefficient;
     this.expiration = expiration;
     this.maximumAttempts = maximumAttempts;
     this.maximumInterval = maximumInterval;
     this.doNotRetry = doNotRetry != null ? Collections.unmodifiableList(doNotRetry) : null;
+    this.retryBudget = retryBudget;
+    this.metricsScope = metricsScope;
   }
 
   public Duration getInitialInterval() {
@@ -293,6 +339,16 @@ public final class RpcRetryOptions {
     return maximumInterval;
   }
 
+  /** @return budget that retries draw on, null if retries are not limited. */
+  public RetryBudget getRetryBudget() {
+    return retryBudget;
+  }
+
+  /** @return scope of the called method, null if retries are not reported. */
+  public Scope getMetricsScope() {
+    return metricsScope;
+  }
+
   public void validate() {
     if (initialInterval == null) {
       throw new IllegalStateException("required property initialInterval not set");
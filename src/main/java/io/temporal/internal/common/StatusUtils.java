@@ -24,6 +24,7 @@ import com.google.protobuf.Any;
 import com.google.protobuf.GeneratedMessageV3;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.rpc.Status;
+import io.grpc.CallOptions;
 import io.grpc.StatusRuntimeException;
 import io.grpc.protobuf.StatusProto;
 import org.slf4j.Logger;
@@ -33,6 +34,32 @@ public class StatusUtils {
 
   private static final Logger log = LoggerFactory.getLogger(StatusUtils.class);
 
+  /**
+   * Marks calls whose deadline is expected to expire in normal operation, like long polls sliced by
+   * a client side deadline. Their DEADLINE_EXCEEDED status is not reported as an error.
+   */
+  public static final CallOptions.Key<Boolean> EXPECTED_DEADLINE_EXCEEDED =
+      CallOptions.Key.createWithDefault("temporal-expected-deadline-exceeded", false);
+
+  /** Description prefix that tells calls rejected by a client side limit from service failures. */
+  private static final String LOCAL_REJECTION_PREFIX = "Rejected by client: ";
+
+  /** @return RESOURCE_EXHAUSTED status of a call rejected by a client side limit. */
+  public static io.grpc.Status newLocalRejection(String reason) {
+    return io.grpc.Status.RESOURCE_EXHAUSTED.withDescription(LOCAL_REJECTION_PREFIX + reason);
+  }
+
+  /**
+   * @return true if the status was produced by {@link #newLocalRejection(String)} rather than
+   *     returned by the service.
+   */
+  public static boolean isLocalRejection(io.grpc.Status status) {
+    String description = status.getDescription();
+    return status.getCode() == io.grpc.Status.Code.RESOURCE_EXHAUSTED
+        && description != null
+        && description.startsWith(LOCAL_REJECTION_PREFIX);
+  }
+
   /**
    * Determines if a StatusRuntimeException contains a failure message of a given type.
    *
@@ -26,6 +26,9 @@ import io.temporal.common.v1.WorkflowExecution;
 import io.temporal.enums.v1.EventType;
 import io.temporal.history.v1.History;
 import io.temporal.history.v1.HistoryEvent;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 /** Contains workflow execution ids and the history */
@@ -50,6 +53,18 @@ public final class WorkflowExecutionHistory {
     return new WorkflowExecutionHistory(history);
   }
 
+  /**
+   * Creates history from a stream of events, usually a {@link HistoryEventReader} of the binary
+   * format.
+   */
+  public static WorkflowExecutionHistory fromEvents(Iterator<HistoryEvent> events) {
+    History.Builder historyBuilder = History.newBuilder();
+    while (events.hasNext()) {
+      historyBuilder.addEvents(events.next());
+    }
+    return new WorkflowExecutionHistory(historyBuilder.build());
+  }
+
   private static void checkHistory(History history) {
     List<HistoryEvent> events = history.getEventsList();
     if (events == null || events.size() == 0) {
@@ -78,6 +93,13 @@ public final class WorkflowExecutionHistory {
     return toJson();
   }
 
+  /** Writes the history in the binary format readable by {@link HistoryEventReader}. */
+  public void toBinary(OutputStream out) throws IOException {
+    HistoryEventWriter writer = new HistoryEventWriter(out);
+    writer.write(history.getEventsList());
+    writer.flush();
+  }
+
   public WorkflowExecution getWorkflowExecution() {
     return WorkflowExecution.newBuilder()
         .setWorkflowId("workflow_id_in_replay")
@@ -89,6 +111,10 @@ public final class WorkflowExecutionHistory {
     return history.getEventsList();
   }
 
+  public History getHistory() {
+    return history;
+  }
+
   @Override
   public String toString() {
     return "WorkflowExecutionHistory{" + "history=" + history + '}';
@@ -22,7 +22,6 @@ package io.temporal.internal.common;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.io.CharStreams;
-import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 import com.google.protobuf.ByteString;
@@ -60,8 +59,12 @@ import io.temporal.workflowservice.v1.DescribeWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.DescribeWorkflowExecutionResponse;
 import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.time.Duration;
@@ -69,9 +72,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
@@ -127,21 +127,11 @@ public class WorkflowExecutionUtils {
     return getResultFromCloseEvent(workflowExecution, workflowType, closeEvent, converter);
   }
 
-  public static CompletableFuture<Optional<Payloads>> getWorkflowExecutionResultAsync(
-      WorkflowServiceStubs service,
-      String namespace,
-      WorkflowExecution workflowExecution,
-      Optional<String> workflowType,
-      long timeout,
-      TimeUnit unit,
-      DataConverter converter) {
-    return getInstanceCloseEventAsync(service, namespace, workflowExecution, timeout, unit)
-        .thenApply(
-            (closeEvent) ->
-                getResultFromCloseEvent(workflowExecution, workflowType, closeEvent, converter));
-  }
-
-  private static Optional<Payloads> getResultFromCloseEvent(
+  /**
+   * Returns result of a workflow instance execution given its close event or throws an exception if
+   * workflow did not complete successfully.
+   */
+  public static Optional<Payloads> getResultFromCloseEvent(
       WorkflowExecution workflowExecution,
       Optional<String> workflowType,
       HistoryEvent closeEvent,
@@ -230,7 +220,10 @@ public class WorkflowExecutionUtils {
                 .build();
         response =
             GrpcRetryer.retryWithResult(
-                retryOptions,
+                GrpcRetryer.forMethod(
+                    retryOptions,
+                    service,
+                    WorkflowServiceGrpc.getGetWorkflowExecutionHistoryMethod()),
                 () -> {
                   long elapsedInRetry = System.currentTimeMillis() - start;
                   Deadline expirationInRetry =
@@ -282,119 +275,6 @@ public class WorkflowExecutionUtils {
     return event;
   }
 
-  /** Returns an instance closing event, potentially waiting for workflow to complete. */
-  private static CompletableFuture<HistoryEvent> getInstanceCloseEventAsync(
-      WorkflowServiceStubs service,
-      String namespace,
-      final WorkflowExecution workflowExecution,
-      long timeout,
-      TimeUnit unit) {
-    return getInstanceCloseEventAsync(
-        service, namespace, workflowExecution, ByteString.EMPTY, timeout, unit);
-  }
-
-  private static CompletableFuture<HistoryEvent> getInstanceCloseEventAsync(
-      WorkflowServiceStubs service,
-      String namespace,
-      final WorkflowExecution workflowExecution,
-      ByteString pageToken,
-      long timeout,
-      TimeUnit unit) {
-    // TODO: Interrupt service long poll call on timeout and on interrupt
-    long start = System.currentTimeMillis();
-    GetWorkflowExecutionHistoryRequest request =
-        GetWorkflowExecutionHistoryRequest.newBuilder()
-            .setNamespace(namespace)
-            .setExecution(workflowExecution)
-            .setHistoryEventFilterType(HistoryEventFilterType.HISTORY_EVENT_FILTER_TYPE_CLOSE_EVENT)
-            .setNextPageToken(pageToken)
-            .build();
-    CompletableFuture<GetWorkflowExecutionHistoryResponse> response =
-        getWorkflowExecutionHistoryAsync(service, request, timeout, unit);
-    return response.thenComposeAsync(
-        (r) -> {
-          if (timeout != 0 && System.currentTimeMillis() - start > unit.toMillis(timeout)) {
-            throw CheckedExceptionWrapper.wrap(
-                new TimeoutException(
-                    "WorkflowId="
-                        + workflowExecution.getWorkflowId()
-                        + ", runId="
-                        + workflowExecution.getRunId()
-                        + ", timeout="
-                        + timeout
-                        + ", unit="
-                        + unit));
-          }
-          History history = r.getHistory();
-          if (history.getEventsCount() == 0) {
-            // Empty poll returned
-            return getInstanceCloseEventAsync(
-                service, namespace, workflowExecution, pageToken, timeout, unit);
-          }
-          HistoryEvent event = history.getEvents(0);
-          if (!isWorkflowExecutionCompletedEvent(event)) {
-            throw new RuntimeException("Last history event is not completion event: " + event);
-          }
-          // Workflow called continueAsNew. Start polling the new generation with new runId.
-          if (event.getEventType() == EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW) {
-            WorkflowExecution nextWorkflowExecution =
-                WorkflowExecution.newBuilder()
-                    .setWorkflowId(workflowExecution.getWorkflowId())
-                    .setRunId(
-                        event
-                            .getWorkflowExecutionContinuedAsNewEventAttributes()
-                            .getNewExecutionRunId())
-                    .build();
-            return getInstanceCloseEventAsync(
-                service, namespace, nextWorkflowExecution, r.getNextPageToken(), timeout, unit);
-          }
-          return CompletableFuture.completedFuture(event);
-        });
-  }
-
-  private static CompletableFuture<GetWorkflowExecutionHistoryResponse>
-      getWorkflowExecutionHistoryAsync(
-          WorkflowServiceStubs service,
-          GetWorkflowExecutionHistoryRequest r,
-          long timeout,
-          TimeUnit unit) {
-    long start = System.currentTimeMillis();
-    Deadline expiration = Deadline.after(timeout, TimeUnit.MILLISECONDS);
-    RpcRetryOptions retryOptions =
-        RpcRetryOptions.newBuilder()
-            .setBackoffCoefficient(1.5)
-            .setInitialInterval(Duration.ofMillis(1))
-            .setMaximumInterval(Duration.ofSeconds(1))
-            .setMaximumAttempts(Integer.MAX_VALUE)
-            .setExpiration(Duration.ofMillis(expiration.timeRemaining(TimeUnit.MILLISECONDS)))
-            .addDoNotRetry(Status.Code.INVALID_ARGUMENT, null)
-            .addDoNotRetry(Status.Code.NOT_FOUND, null)
-            .build();
-
-    return GrpcRetryer.retryWithResultAsync(
-        retryOptions,
-        () -> {
-          CompletableFuture<GetWorkflowExecutionHistoryResponse> result = new CompletableFuture<>();
-          long elapsedInRetry = System.currentTimeMillis() - start;
-          Deadline expirationInRetry =
-              Deadline.after(unit.toMillis(timeout) - elapsedInRetry, TimeUnit.MILLISECONDS);
-          ListenableFuture<GetWorkflowExecutionHistoryResponse> resultFuture =
-              service.futureStub().withDeadline(expirationInRetry).getWorkflowExecutionHistory(r);
-          resultFuture.addListener(
-              () -> {
-                try {
-                  result.complete(resultFuture.get());
-                } catch (ExecutionException e) {
-                  result.completeExceptionally(e.getCause());
-                } catch (Exception e) {
-                  result.completeExceptionally(e);
-                }
-              },
-              ForkJoinPool.commonPool());
-          return result;
-        });
-  }
-
   public static boolean isWorkflowExecutionCompletedEvent(HistoryEventOrBuilder event) {
     return ((event != null)
         && (event.getEventType() == EventType.EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED
@@ -817,10 +697,30 @@ public class WorkflowExecutionUtils {
     return readHistory(historyFile);
   }
 
+  /**
+   * Reads history from a file in either json or binary format. The binary format is detected by its
+   * header.
+   */
   public static WorkflowExecutionHistory readHistory(File historyFile) throws IOException {
+    if (HistoryEventReader.isBinaryHistory(historyFile)) {
+      try (HistoryEventReader events = HistoryEventReader.open(historyFile)) {
+        return WorkflowExecutionHistory.fromEvents(events);
+      }
+    }
     try (Reader reader = Files.newBufferedReader(historyFile.toPath(), UTF_8)) {
       String jsonHistory = CharStreams.toString(reader);
       return WorkflowExecutionHistory.fromJson(jsonHistory);
     }
   }
+
+  /**
+   * Converts json serialized history to the binary format readable by {@link HistoryEventReader}.
+   */
+  public static void convertJsonHistoryToBinary(File jsonHistoryFile, File binaryHistoryFile)
+      throws IOException {
+    WorkflowExecutionHistory history = readHistory(jsonHistoryFile);
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(binaryHistoryFile))) {
+      history.toBinary(out);
+    }
+  }
 }
@@ -20,6 +20,7 @@
 package io.temporal.internal.external;
 
 import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.history.v1.HistoryEvent;
 import io.temporal.internal.common.SignalWithStartWorkflowExecutionParameters;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.workflowservice.v1.QueryWorkflowRequest;
@@ -28,22 +29,41 @@ import io.temporal.workflowservice.v1.RequestCancelWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.SignalWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.StartWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.TerminateWorkflowExecutionRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public interface GenericWorkflowClientExternal {
 
   WorkflowExecution request(StartWorkflowExecutionRequest request);
 
+  CompletableFuture<WorkflowExecution> requestAsync(StartWorkflowExecutionRequest request);
+
   void signalWorkflowExecution(SignalWorkflowExecutionRequest request);
 
+  CompletableFuture<Void> signalWorkflowExecutionAsync(SignalWorkflowExecutionRequest request);
+
   WorkflowExecution signalWithStartWorkflowExecution(
       SignalWithStartWorkflowExecutionParameters parameters);
 
+  CompletableFuture<WorkflowExecution> signalWithStartWorkflowExecutionAsync(
+      SignalWithStartWorkflowExecutionParameters parameters);
+
   void requestCancelWorkflowExecution(RequestCancelWorkflowExecutionRequest parameters);
 
   QueryWorkflowResponse request(QueryWorkflowRequest queryParameters);
 
+  CompletableFuture<QueryWorkflowResponse> requestAsync(QueryWorkflowRequest queryParameters);
+
   void terminateWorkflowExecution(TerminateWorkflowExecutionRequest request);
 
+  /**
+   * Waits for the close event of the last run of a workflow. The number of concurrent long polls
+   * used by all such waits is bounded by {@link
+   * io.temporal.client.WorkflowClientOptions#getMaxConcurrentResultPolls()}.
+   */
+  CompletableFuture<HistoryEvent> getCloseEventAsync(
+      WorkflowExecution execution, long timeout, TimeUnit unit);
+
   String generateUniqueId();
 
   WorkflowServiceStubs getService();
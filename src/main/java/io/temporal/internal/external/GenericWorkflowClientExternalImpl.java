@@ -21,9 +21,13 @@ package io.temporal.internal.external;
 
 import com.uber.m3.tally.Scope;
 import com.uber.m3.util.ImmutableMap;
+import io.grpc.MethodDescriptor;
 import io.temporal.common.v1.Payloads;
 import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.history.v1.HistoryEvent;
 import io.temporal.internal.common.GrpcRetryer;
+import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.common.RpcRetryOptions;
 import io.temporal.internal.common.SignalWithStartWorkflowExecutionParameters;
 import io.temporal.internal.metrics.MetricsTag;
 import io.temporal.internal.metrics.MetricsType;
@@ -37,9 +41,12 @@ import io.temporal.workflowservice.v1.SignalWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.StartWorkflowExecutionRequest;
 import io.temporal.workflowservice.v1.StartWorkflowExecutionResponse;
 import io.temporal.workflowservice.v1.TerminateWorkflowExecutionRequest;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public final class GenericWorkflowClientExternalImpl implements GenericWorkflowClientExternal {
 
@@ -47,13 +54,20 @@ public final class GenericWorkflowClientExternalImpl implements GenericWorkflowC
   private final WorkflowServiceStubs service;
   private final Scope metricsScope;
   private final String identity;
+  private final WorkflowResultWaiter resultWaiter;
 
   public GenericWorkflowClientExternalImpl(
-      WorkflowServiceStubs service, String namespace, String identity, Scope metricsScope) {
+      WorkflowServiceStubs service,
+      String namespace,
+      String identity,
+      int maxConcurrentResultPolls,
+      Scope metricsScope) {
     this.service = service;
     this.namespace = namespace;
     this.identity = identity;
     this.metricsScope = metricsScope;
+    this.resultWaiter =
+        new WorkflowResultWaiter(service, namespace, maxConcurrentResultPolls, metricsScope);
   }
 
   @Override
@@ -71,22 +85,42 @@ public final class GenericWorkflowClientExternalImpl implements GenericWorkflowC
     try {
       return startWorkflowInternal(request);
     } finally {
-      // TODO: can probably cache this
-      Map<String, String> tags =
-          new ImmutableMap.Builder<String, String>(3)
-              .put(MetricsTag.WORKFLOW_TYPE, request.getWorkflowType().getName())
-              .put(MetricsTag.TASK_QUEUE, request.getTaskQueue().getName())
-              .put(MetricsTag.NAMESPACE, namespace)
-              .build();
-      metricsScope.tagged(tags).counter(MetricsType.WORKFLOW_START_COUNTER).inc(1);
+      reportStart(request);
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecution> requestAsync(StartWorkflowExecutionRequest request) {
+    reportStart(request);
+    return GrpcRetryer.retryWithResultAsync(
+            retryOptions(WorkflowServiceGrpc.getStartWorkflowExecutionMethod()),
+            () ->
+                InternalUtils.toCompletableFuture(
+                    service.futureStub().startWorkflowExecution(request)))
+        .thenApply(
+            (result) ->
+                WorkflowExecution.newBuilder()
+                    .setRunId(result.getRunId())
+                    .setWorkflowId(request.getWorkflowId())
+                    .build());
+  }
+
+  private void reportStart(StartWorkflowExecutionRequest request) {
+    // Scope.tagged caches the tagged subscopes, so only the tag map is built per call.
+    Map<String, String> tags =
+        new ImmutableMap.Builder<String, String>(3)
+            .put(MetricsTag.WORKFLOW_TYPE, request.getWorkflowType().getName())
+            .put(MetricsTag.TASK_QUEUE, request.getTaskQueue().getName())
+            .put(MetricsTag.NAMESPACE, namespace)
+            .build();
+    metricsScope.tagged(tags).counter(MetricsType.WORKFLOW_START_COUNTER).inc(1);
+  }
+
   private WorkflowExecution startWorkflowInternal(StartWorkflowExecutionRequest request) {
     StartWorkflowExecutionResponse result;
     result =
         GrpcRetryer.retryWithResult(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            retryOptions(WorkflowServiceGrpc.getStartWorkflowExecutionMethod()),
             () -> service.blockingStub().startWorkflowExecution(request));
 
     return WorkflowExecution.newBuilder()
@@ -98,29 +132,76 @@ public final class GenericWorkflowClientExternalImpl implements GenericWorkflowC
   @Override
   public void signalWorkflowExecution(SignalWorkflowExecutionRequest request) {
     GrpcRetryer.retry(
-        GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+        retryOptions(WorkflowServiceGrpc.getSignalWorkflowExecutionMethod()),
         () -> service.blockingStub().signalWorkflowExecution(request));
   }
 
+  @Override
+  public CompletableFuture<Void> signalWorkflowExecutionAsync(
+      SignalWorkflowExecutionRequest request) {
+    return GrpcRetryer.retryWithResultAsync(
+            retryOptions(WorkflowServiceGrpc.getSignalWorkflowExecutionMethod()),
+            () ->
+                InternalUtils.toCompletableFuture(
+                    service.futureStub().signalWorkflowExecution(request)))
+        .thenApply((response) -> null);
+  }
+
   @Override
   public WorkflowExecution signalWithStartWorkflowExecution(
       SignalWithStartWorkflowExecutionParameters parameters) {
     try {
-      return signalWithStartWorkflowInternal(parameters, identity);
+      SignalWithStartWorkflowExecutionRequest request =
+          newSignalWithStartRequest(parameters, identity);
+      SignalWithStartWorkflowExecutionResponse result =
+          GrpcRetryer.retryWithResult(
+              retryOptions(WorkflowServiceGrpc.getSignalWithStartWorkflowExecutionMethod()),
+              () -> service.blockingStub().signalWithStartWorkflowExecution(request));
+      return WorkflowExecution.newBuilder()
+          .setRunId(result.getRunId())
+          .setWorkflowId(request.getWorkflowId())
+          .build();
     } finally {
-      Map<String, String> tags =
-          new ImmutableMap.Builder<String, String>(3)
-              .put(
-                  MetricsTag.WORKFLOW_TYPE,
-                  parameters.getStartParameters().getWorkflowType().getName())
-              .put(MetricsTag.TASK_QUEUE, parameters.getStartParameters().getTaskQueue().getName())
-              .put(MetricsTag.NAMESPACE, namespace)
-              .build();
-      metricsScope.tagged(tags).counter(MetricsType.WORKFLOW_SIGNAL_WITH_START_COUNTER).inc(1);
+      reportSignalWithStart(parameters);
     }
   }
 
-  private WorkflowExecution signalWithStartWorkflowInternal(
+  @Override
+  public CompletableFuture<WorkflowExecution> signalWithStartWorkflowExecutionAsync(
+      SignalWithStartWorkflowExecutionParameters parameters) {
+    reportSignalWithStart(parameters);
+    SignalWithStartWorkflowExecutionRequest request;
+    try {
+      request = newSignalWithStartRequest(parameters, identity);
+    } catch (Exception e) {
+      return InternalUtils.failedFuture(e);
+    }
+    return GrpcRetryer.retryWithResultAsync(
+            retryOptions(WorkflowServiceGrpc.getSignalWithStartWorkflowExecutionMethod()),
+            () ->
+                InternalUtils.toCompletableFuture(
+                    service.futureStub().signalWithStartWorkflowExecution(request)))
+        .thenApply(
+            (result) ->
+                WorkflowExecution.newBuilder()
+                    .setRunId(result.getRunId())
+                    .setWorkflowId(request.getWorkflowId())
+                    .build());
+  }
+
+  private void reportSignalWithStart(SignalWithStartWorkflowExecutionParameters parameters) {
+    Map<String, String> tags =
+        new ImmutableMap.Builder<String, String>(3)
+            .put(
+                MetricsTag.WORKFLOW_TYPE,
+                parameters.getStartParameters().getWorkflowType().getName())
+            .put(MetricsTag.TASK_QUEUE, parameters.getStartParameters().getTaskQueue().getName())
+            .put(MetricsTag.NAMESPACE, namespace)
+            .build();
+    metricsScope.tagged(tags).counter(MetricsType.WORKFLOW_SIGNAL_WITH_START_COUNTER).inc(1);
+  }
+
+  private SignalWithStartWorkflowExecutionRequest newSignalWithStartRequest(
       SignalWithStartWorkflowExecutionParameters parameters, String identity) {
     StartWorkflowExecutionRequest startParameters = parameters.getStartParameters();
 
@@ -160,39 +241,50 @@ public final class GenericWorkflowClientExternalImpl implements GenericWorkflowC
     if (startParameters.hasRetryPolicy()) {
       request.setRetryPolicy(startParameters.getRetryPolicy());
     }
-
-    SignalWithStartWorkflowExecutionResponse result;
-    result =
-        GrpcRetryer.retryWithResult(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
-            () -> service.blockingStub().signalWithStartWorkflowExecution(request.build()));
-    return WorkflowExecution.newBuilder()
-        .setRunId(result.getRunId())
-        .setWorkflowId(request.getWorkflowId())
-        .build();
+    return request.build();
   }
 
   @Override
   public void requestCancelWorkflowExecution(RequestCancelWorkflowExecutionRequest request) {
     GrpcRetryer.retry(
-        GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+        retryOptions(WorkflowServiceGrpc.getRequestCancelWorkflowExecutionMethod()),
         () -> service.blockingStub().requestCancelWorkflowExecution(request));
   }
 
   @Override
   public void terminateWorkflowExecution(TerminateWorkflowExecutionRequest request) {
     GrpcRetryer.retry(
-        GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+        retryOptions(WorkflowServiceGrpc.getTerminateWorkflowExecutionMethod()),
         () -> service.blockingStub().terminateWorkflowExecution(request));
   }
 
+  @Override
+  public CompletableFuture<HistoryEvent> getCloseEventAsync(
+      WorkflowExecution execution, long timeout, TimeUnit unit) {
+    return resultWaiter.waitForCloseEvent(execution, timeout, unit);
+  }
+
   @Override
   public QueryWorkflowResponse request(QueryWorkflowRequest queryParameters) {
     return GrpcRetryer.retryWithResult(
-        GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+        retryOptions(WorkflowServiceGrpc.getQueryWorkflowMethod()),
         () -> service.blockingStub().queryWorkflow(queryParameters));
   }
 
+  @Override
+  public CompletableFuture<QueryWorkflowResponse> requestAsync(
+      QueryWorkflowRequest queryParameters) {
+    return GrpcRetryer.retryWithResultAsync(
+        retryOptions(WorkflowServiceGrpc.getQueryWorkflowMethod()),
+        () ->
+            InternalUtils.toCompletableFuture(service.futureStub().queryWorkflow(queryParameters)));
+  }
+
+  private RpcRetryOptions retryOptions(MethodDescriptor<?, ?> method) {
+    return GrpcRetryer.forMethod(
+        GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS, service, method);
+  }
+
   @Override
   public String generateUniqueId() {
     return UUID.randomUUID().toString();
@@ -45,6 +45,7 @@ import io.temporal.workflowservice.v1.RespondActivityTaskCompletedByIdRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskCompletedRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskFailedByIdRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskFailedRequest;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,7 +108,10 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       }
       try {
         GrpcRetryer.retry(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            GrpcRetryer.forMethod(
+                GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+                service,
+                WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod()),
             () -> service.blockingStub().respondActivityTaskCompleted(request.build()));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_COMPLETED_COUNTER).inc(1);
       } catch (StatusRuntimeException e) {
@@ -159,7 +163,10 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
               .build();
       try {
         GrpcRetryer.retry(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            GrpcRetryer.forMethod(
+                GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+                service,
+                WorkflowServiceGrpc.getRespondActivityTaskFailedMethod()),
             () -> service.blockingStub().respondActivityTaskFailed(request));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_FAILED_COUNTER).inc(1);
       } catch (StatusRuntimeException e) {
@@ -184,7 +191,10 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
               .build();
       try {
         GrpcRetryer.retry(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            GrpcRetryer.forMethod(
+                GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+                service,
+                WorkflowServiceGrpc.getRespondActivityTaskFailedByIdMethod()),
             () -> service.blockingStub().respondActivityTaskFailedById(request));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_FAILED_BY_ID_COUNTER).inc(1);
       } catch (StatusRuntimeException e) {
@@ -261,7 +271,10 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       }
       try {
         GrpcRetryer.retry(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            GrpcRetryer.forMethod(
+                GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+                service,
+                WorkflowServiceGrpc.getRespondActivityTaskCanceledMethod()),
             () -> service.blockingStub().respondActivityTaskCanceled(request.build()));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_CANCELED_COUNTER).inc(1);
       } catch (Exception e) {
@@ -284,7 +297,10 @@ class ManualActivityCompletionClientImpl implements ManualActivityCompletionClie
       }
       try {
         GrpcRetryer.retry(
-            GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+            GrpcRetryer.forMethod(
+                GrpcRetryer.DEFAULT_SERVICE_OPERATION_RETRY_OPTIONS,
+                service,
+                WorkflowServiceGrpc.getRespondActivityTaskCanceledByIdMethod()),
             () -> service.blockingStub().respondActivityTaskCanceledById(request.build()));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_CANCELED_BY_ID_COUNTER).inc(1);
       } catch (Exception e) {
@@ -0,0 +1,348 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.external;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.Duration;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.enums.v1.EventType;
+import io.temporal.enums.v1.HistoryEventFilterType;
+import io.temporal.history.v1.History;
+import io.temporal.history.v1.HistoryEvent;
+import io.temporal.internal.common.InternalUtils;
+import io.temporal.internal.common.StatusUtils;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Waits for close events of many workflow executions using a bounded number of history long polls.
+ *
+ * <p>Each waiter holds a poll for at most one slice. When the slice ends without the close event
+ * the waiter goes to the back of the queue and the slot is given to the next one, so all waiters
+ * make progress even when there are many more of them than slots. Waiters follow continue as new to
+ * the new run. When the returned future completes, is cancelled or times out the outstanding RPC is
+ * cancelled and the waiter is removed from the queue.
+ */
+final class WorkflowResultWaiter {
+
+  private static final long DEFAULT_POLL_SLICE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  private static final long RETRY_DELAY_MILLIS = 500;
+
+  private static final ScheduledThreadPoolExecutor timer;
+
+  static {
+    timer =
+        new ScheduledThreadPoolExecutor(
+            1,
+            (r) -> {
+              Thread thread = new Thread(r, "workflow-result-waiter-timer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    timer.setRemoveOnCancelPolicy(true);
+  }
+
+  private final WorkflowServiceStubs service;
+  private final String namespace;
+  private final int maxConcurrentPolls;
+  private final long pollSliceMillis;
+  private final Scope metricsScope;
+
+  private final Lock lock = new ReentrantLock();
+  private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+  private int activePolls;
+
+  WorkflowResultWaiter(
+      WorkflowServiceStubs service, String namespace, int maxConcurrentPolls, Scope metricsScope) {
+    this(service, namespace, maxConcurrentPolls, DEFAULT_POLL_SLICE_MILLIS, metricsScope);
+  }
+
+  WorkflowResultWaiter(
+      WorkflowServiceStubs service,
+      String namespace,
+      int maxConcurrentPolls,
+      long pollSliceMillis,
+      Scope metricsScope) {
+    this.service = service;
+    this.namespace = namespace;
+    this.maxConcurrentPolls = maxConcurrentPolls;
+    this.pollSliceMillis = pollSliceMillis;
+    this.metricsScope = metricsScope;
+  }
+
+  /**
+   * Returns a future that completes with the close event of the last run of the workflow. Fails
+   * with {@link TimeoutException} if the workflow doesn't complete within the timeout. Cancelling
+   * the future stops waiting and cancels the outstanding long poll.
+   */
+  CompletableFuture<HistoryEvent> waitForCloseEvent(
+      WorkflowExecution execution, long timeout, TimeUnit unit) {
+    Waiter waiter = new Waiter(execution, timeout, unit);
+    if (waiter.deadlineMillis != Long.MAX_VALUE) {
+      waiter.timeoutTask =
+          timer.schedule(
+              () ->
+                  waiter.result.completeExceptionally(
+                      new TimeoutException(
+                          "WorkflowId="
+                              + execution.getWorkflowId()
+                              + ", runId="
+                              + execution.getRunId()
+                              + ", timeout="
+                              + timeout
+                              + ", unit="
+                              + unit)),
+              waiter.deadlineMillis - System.currentTimeMillis(),
+              TimeUnit.MILLISECONDS);
+    }
+    waiter.result.whenComplete((r, e) -> onDone(waiter));
+    enqueue(waiter);
+    dispatch();
+    return waiter.result;
+  }
+
+  int getQueueDepth() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int getActivePolls() {
+    lock.lock();
+    try {
+      return activePolls;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void enqueue(Waiter waiter) {
+    lock.lock();
+    try {
+      if (waiter.result.isDone()) {
+        return;
+      }
+      waiter.enqueuedNanos = System.nanoTime();
+      queue.addLast(waiter);
+      reportGauges();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void dispatch() {
+    while (true) {
+      Waiter waiter;
+      lock.lock();
+      try {
+        if (activePolls >= maxConcurrentPolls) {
+          return;
+        }
+        waiter = queue.pollFirst();
+        if (waiter == null) {
+          return;
+        }
+        activePolls++;
+        reportGauges();
+      } finally {
+        lock.unlock();
+      }
+      metricsScope
+          .timer(MetricsType.RESULT_WAITER_QUEUE_LATENCY)
+          .record(Duration.ofNanos(System.nanoTime() - waiter.enqueuedNanos));
+      poll(waiter);
+    }
+  }
+
+  private void poll(Waiter waiter) {
+    long sliceMillis =
+        Math.min(pollSliceMillis, waiter.deadlineMillis - System.currentTimeMillis());
+    if (sliceMillis <= 0) {
+      // The timeout task completes the waiter.
+      release();
+      return;
+    }
+    GetWorkflowExecutionHistoryRequest request =
+        GetWorkflowExecutionHistoryRequest.newBuilder()
+            .setNamespace(namespace)
+            .setExecution(waiter.execution)
+            .setHistoryEventFilterType(HistoryEventFilterType.HISTORY_EVENT_FILTER_TYPE_CLOSE_EVENT)
+            .setWaitForNewEvent(true)
+            .setNextPageToken(waiter.pageToken)
+            .build();
+    ListenableFuture<GetWorkflowExecutionHistoryResponse> call =
+        service
+            .futureStub()
+            .withDeadline(Deadline.after(sliceMillis, TimeUnit.MILLISECONDS))
+            .withOption(StatusUtils.EXPECTED_DEADLINE_EXCEEDED, true)
+            .getWorkflowExecutionHistory(request);
+    waiter.call = call;
+    if (waiter.result.isDone()) {
+      // Completed concurrently with the call start and onDone might have missed it.
+      call.cancel(true);
+    }
+    InternalUtils.toCompletableFuture(call)
+        .whenComplete((response, failure) -> onPollCompleted(waiter, response, failure));
+  }
+
+  private void onPollCompleted(
+      Waiter waiter, GetWorkflowExecutionHistoryResponse response, Throwable failure) {
+    waiter.call = null;
+    release();
+    try {
+      if (waiter.result.isDone()) {
+        return;
+      }
+      if (failure != null) {
+        onPollFailed(waiter, failure);
+        return;
+      }
+      History history = response.getHistory();
+      if (history.getEventsCount() == 0) {
+        // Empty long poll. Give the slot to the next waiter.
+        waiter.pageToken = response.getNextPageToken();
+        enqueue(waiter);
+        return;
+      }
+      HistoryEvent event = history.getEvents(0);
+      if (!WorkflowExecutionUtils.isWorkflowExecutionCompletedEvent(event)) {
+        waiter.result.completeExceptionally(
+            new RuntimeException("Last history event is not completion event: " + event));
+        return;
+      }
+      // Workflow called continueAsNew. Start polling the new generation with new runId.
+      if (event.getEventType() == EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW) {
+        waiter.execution =
+            WorkflowExecution.newBuilder()
+                .setWorkflowId(waiter.execution.getWorkflowId())
+                .setRunId(
+                    event
+                        .getWorkflowExecutionContinuedAsNewEventAttributes()
+                        .getNewExecutionRunId())
+                .build();
+        waiter.pageToken = ByteString.EMPTY;
+        enqueue(waiter);
+        return;
+      }
+      waiter.result.complete(event);
+    } finally {
+      dispatch();
+    }
+  }
+
+  private void onPollFailed(Waiter waiter, Throwable failure) {
+    if (failure instanceof StatusRuntimeException) {
+      Status.Code code = ((StatusRuntimeException) failure).getStatus().getCode();
+      if (code == Status.Code.DEADLINE_EXCEEDED) {
+        // End of the slice.
+        enqueue(waiter);
+        return;
+      }
+      if (code != Status.Code.INVALID_ARGUMENT && code != Status.Code.NOT_FOUND) {
+        timer.schedule(
+            () -> {
+              enqueue(waiter);
+              dispatch();
+            },
+            RETRY_DELAY_MILLIS,
+            TimeUnit.MILLISECONDS);
+        return;
+      }
+    }
+    waiter.result.completeExceptionally(failure);
+  }
+
+  private void onDone(Waiter waiter) {
+    ScheduledFuture<?> timeoutTask = waiter.timeoutTask;
+    if (timeoutTask != null) {
+      timeoutTask.cancel(false);
+    }
+    ListenableFuture<?> call = waiter.call;
+    if (call != null) {
+      call.cancel(true);
+    }
+    lock.lock();
+    try {
+      if (queue.remove(waiter)) {
+        reportGauges();
+      }
+    } finally {
+      lock.unlock();
+    }
+    metricsScope
+        .timer(MetricsType.RESULT_WAITER_WAIT_LATENCY)
+        .record(Duration.ofNanos(System.nanoTime() - waiter.createdNanos));
+  }
+
+  private void release() {
+    lock.lock();
+    try {
+      activePolls--;
+      reportGauges();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Must be called under the lock. */
+  private void reportGauges() {
+    metricsScope.gauge(MetricsType.RESULT_WAITER_QUEUE_DEPTH).update(queue.size());
+    metricsScope.gauge(MetricsType.RESULT_WAITER_ACTIVE_POLLS).update(activePolls);
+  }
+
+  private static final class Waiter {
+
+    final CompletableFuture<HistoryEvent> result = new CompletableFuture<>();
+    final long createdNanos = System.nanoTime();
+    final long deadlineMillis;
+    volatile WorkflowExecution execution;
+    volatile ByteString pageToken = ByteString.EMPTY;
+    volatile long enqueuedNanos;
+    volatile ListenableFuture<GetWorkflowExecutionHistoryResponse> call;
+    volatile ScheduledFuture<?> timeoutTask;
+
+    Waiter(WorkflowExecution execution, long timeout, TimeUnit unit) {
+      this.execution = execution;
+      long now = System.currentTimeMillis();
+      long timeoutMillis = unit.toMillis(timeout);
+      this.deadlineMillis =
+          timeoutMillis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutMillis;
+    }
+  }
+}
@@ -20,20 +20,35 @@
 package io.temporal.internal.logging;
 
 import io.temporal.internal.replay.ReplayAware;
+import io.temporal.workflow.Functions;
+import io.temporal.workflow.LazyLogger;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 
-public class ReplayAwareLogger implements Logger {
+public class ReplayAwareLogger implements LazyLogger {
   private final Logger log;
   private final ReplayAware context;
   private final Supplier<Boolean> enableLoggingInReplay;
+  private final Functions.Proc onSuppressed;
 
   public ReplayAwareLogger(
       Logger logger, ReplayAware context, Supplier<Boolean> enableLoggingInReplay) {
+    this(logger, context, enableLoggingInReplay, () -> {});
+  }
+
+  /**
+   * @param onSuppressed called for every logging call dropped because the workflow is replaying.
+   */
+  public ReplayAwareLogger(
+      Logger logger,
+      ReplayAware context,
+      Supplier<Boolean> enableLoggingInReplay,
+      Functions.Proc onSuppressed) {
     this.log = logger;
     this.context = context;
     this.enableLoggingInReplay = enableLoggingInReplay;
+    this.onSuppressed = onSuppressed;
   }
 
   @Override
@@ -52,35 +67,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void trace(String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(msg);
   }
 
   @Override
   public void trace(String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(format, arg);
   }
 
   @Override
   public void trace(String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(format, arg1, arg2);
   }
 
   @Override
   public void trace(String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(format, arguments);
   }
 
   @Override
   public void trace(String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(msg, t);
   }
@@ -96,35 +111,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void trace(Marker marker, String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(marker, msg);
   }
 
   @Override
   public void trace(Marker marker, String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(marker, format, arg);
   }
 
   @Override
   public void trace(Marker marker, String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(marker, format, arg1, arg2);
   }
 
   @Override
   public void trace(Marker marker, String format, Object... argArray) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(marker, format, argArray);
   }
 
   @Override
   public void trace(Marker marker, String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.trace(marker, msg, t);
   }
@@ -140,35 +155,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void debug(String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(msg);
   }
 
   @Override
   public void debug(String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(format, arg);
   }
 
   @Override
   public void debug(String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(format, arg1, arg2);
   }
 
   @Override
   public void debug(String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(format, arguments);
   }
 
   @Override
   public void debug(String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(msg, t);
   }
@@ -184,35 +199,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void debug(Marker marker, String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(marker, msg);
   }
 
   @Override
   public void debug(Marker marker, String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(marker, format, arg);
   }
 
   @Override
   public void debug(Marker marker, String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(marker, format, arg1, arg2);
   }
 
   @Override
   public void debug(Marker marker, String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(marker, format, arguments);
   }
 
   @Override
   public void debug(Marker marker, String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.debug(marker, msg, t);
   }
@@ -228,35 +243,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void info(String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(msg);
   }
 
   @Override
   public void info(String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(format, arg);
   }
 
   @Override
   public void info(String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(format, arg1, arg2);
   }
 
   @Override
   public void info(String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(format, arguments);
   }
 
   @Override
   public void info(String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(msg, t);
   }
@@ -272,35 +287,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void info(Marker marker, String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(marker, msg);
   }
 
   @Override
   public void info(Marker marker, String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(marker, format, arg);
   }
 
   @Override
   public void info(Marker marker, String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(marker, format, arg1, arg2);
   }
 
   @Override
   public void info(Marker marker, String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(marker, format, arguments);
   }
 
   @Override
   public void info(Marker marker, String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.info(marker, msg, t);
   }
@@ -316,35 +331,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void warn(String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(msg);
   }
 
   @Override
   public void warn(String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(format, arg);
   }
 
   @Override
   public void warn(String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(format, arguments);
   }
 
   @Override
   public void warn(String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(format, arg1, arg2);
   }
 
   @Override
   public void warn(String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(msg, t);
   }
@@ -360,35 +375,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void warn(Marker marker, String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(marker, msg);
   }
 
   @Override
   public void warn(Marker marker, String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(marker, format, arg);
   }
 
   @Override
   public void warn(Marker marker, String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(marker, format, arg1, arg2);
   }
 
   @Override
   public void warn(Marker marker, String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(marker, format, arguments);
   }
 
   @Override
   public void warn(Marker marker, String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.warn(marker, msg, t);
   }
@@ -404,35 +419,35 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void error(String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(msg);
   }
 
   @Override
   public void error(String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(format, arg);
   }
 
   @Override
   public void error(String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(format, arg1, arg2);
   }
 
   @Override
   public void error(String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(format, arguments);
   }
 
   @Override
   public void error(String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(msg, t);
   }
@@ -448,39 +463,117 @@ public class ReplayAwareLogger implements Logger {
 
   @Override
   public void error(Marker marker, String msg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(marker, msg);
   }
 
   @Override
   public void error(Marker marker, String format, Object arg) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(marker, format, arg);
   }
 
   @Override
   public void error(Marker marker, String format, Object arg1, Object arg2) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(marker, format, arg1, arg2);
   }
 
   @Override
   public void error(Marker marker, String format, Object... arguments) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(marker, format, arguments);
   }
 
   @Override
   public void error(Marker marker, String msg, Throwable t) {
-    if (shouldSkipLogging()) return;
+    if (suppress()) return;
 
     log.error(marker, msg, t);
   }
 
+  @Override
+  public void trace(Functions.Func<String> message) {
+    if (suppress() || !log.isTraceEnabled()) return;
+
+    log.trace(message.apply());
+  }
+
+  @Override
+  public void trace(Functions.Func<String> message, Throwable t) {
+    if (suppress() || !log.isTraceEnabled()) return;
+
+    log.trace(message.apply(), t);
+  }
+
+  @Override
+  public void debug(Functions.Func<String> message) {
+    if (suppress() || !log.isDebugEnabled()) return;
+
+    log.debug(message.apply());
+  }
+
+  @Override
+  public void debug(Functions.Func<String> message, Throwable t) {
+    if (suppress() || !log.isDebugEnabled()) return;
+
+    log.debug(message.apply(), t);
+  }
+
+  @Override
+  public void info(Functions.Func<String> message) {
+    if (suppress() || !log.isInfoEnabled()) return;
+
+    log.info(message.apply());
+  }
+
+  @Override
+  public void info(Functions.Func<String> message, Throwable t) {
+    if (suppress() || !log.isInfoEnabled()) return;
+
+    log.info(message.apply(), t);
+  }
+
+  @Override
+  public void warn(Functions.Func<String> message) {
+    if (suppress() || !log.isWarnEnabled()) return;
+
+    log.warn(message.apply());
+  }
+
+  @Override
+  public void warn(Functions.Func<String> message, Throwable t) {
+    if (suppress() || !log.isWarnEnabled()) return;
+
+    log.warn(message.apply(), t);
+  }
+
+  @Override
+  public void error(Functions.Func<String> message) {
+    if (suppress() || !log.isErrorEnabled()) return;
+
+    log.error(message.apply());
+  }
+
+  @Override
+  public void error(Functions.Func<String> message, Throwable t) {
+    if (suppress() || !log.isErrorEnabled()) return;
+
+    log.error(message.apply(), t);
+  }
+
+  private boolean suppress() {
+    if (shouldSkipLogging()) {
+      onSuppressed.apply();
+      return true;
+    }
+    return false;
+  }
+
   private boolean shouldSkipLogging() {
     return context.isReplaying() && !enableLoggingInReplay.get();
   }
@@ -34,4 +34,9 @@ public class MetricsTag {
   public static final String WORKER_TYPE = "WorkerType";
   public static final String SIDE_EFFECT_ID = "SideEffectId";
   public static final String CHILD_WORKFLOW_ID = "ChildWorkflowId";
+  public static final String CHANNEL = "Channel";
+  public static final String CHANNEL_POOL = "ChannelPool";
+  public static final String METHOD_GROUP = "MethodGroup";
+  public static final String OPERATION_TYPE = "OperationType";
+  public static final String STATUS_CODE = "StatusCode";
 }
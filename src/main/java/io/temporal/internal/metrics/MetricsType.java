@@ -134,11 +134,41 @@ public class MetricsType {
 
   public static final String WORKER_START_COUNTER = TEMPORAL_METRICS_PREFIX + "worker-start";
   public static final String POLLER_START_COUNTER = TEMPORAL_METRICS_PREFIX + "poller-start";
+  public static final String POLLER_QUIESCE_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "poller-quiesce-latency";
 
   public static final String TEMPORAL_REQUEST = TEMPORAL_METRICS_PREFIX + "request";
   public static final String TEMPORAL_ERROR = TEMPORAL_METRICS_PREFIX + "error";
   public static final String TEMPORAL_LATENCY = TEMPORAL_METRICS_PREFIX + "latency";
   public static final String TEMPORAL_INVALID_REQUEST = TEMPORAL_METRICS_PREFIX + "invalid-request";
+  public static final String TEMPORAL_REQUEST_RETRY = TEMPORAL_METRICS_PREFIX + "request-retry";
+  public static final String TEMPORAL_RETRY_BUDGET_EXHAUSTED =
+      TEMPORAL_METRICS_PREFIX + "retry-budget-exhausted";
+  public static final String TEMPORAL_REQUEST_WIRE_BYTES =
+      TEMPORAL_METRICS_PREFIX + "request-wire-bytes";
+  public static final String TEMPORAL_REQUEST_UNCOMPRESSED_BYTES =
+      TEMPORAL_METRICS_PREFIX + "request-uncompressed-bytes";
+  public static final String TEMPORAL_RESPONSE_WIRE_BYTES =
+      TEMPORAL_METRICS_PREFIX + "response-wire-bytes";
+  public static final String TEMPORAL_RESPONSE_UNCOMPRESSED_BYTES =
+      TEMPORAL_METRICS_PREFIX + "response-uncompressed-bytes";
+  public static final String TEMPORAL_REQUEST_SIZE = TEMPORAL_METRICS_PREFIX + "request-size";
+  public static final String TEMPORAL_RESPONSE_SIZE = TEMPORAL_METRICS_PREFIX + "response-size";
+  public static final String TEMPORAL_REQUEST_LATENCY = TEMPORAL_METRICS_PREFIX + "request-latency";
+  public static final String TEMPORAL_TIME_TO_FIRST_BYTE =
+      TEMPORAL_METRICS_PREFIX + "time-to-first-byte";
+  public static final String TEMPORAL_LONG_POLL_TASK_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "long-poll-task-latency";
+  public static final String TEMPORAL_LONG_POLL_EMPTY_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "long-poll-empty-latency";
+  public static final String GRPC_CONCURRENCY_LIMIT =
+      TEMPORAL_METRICS_PREFIX + "grpc-concurrency-limit";
+  public static final String GRPC_CONCURRENCY_LIMIT_IN_FLIGHT =
+      TEMPORAL_METRICS_PREFIX + "grpc-concurrency-limit-in-flight";
+  public static final String GRPC_CONCURRENCY_LIMIT_REJECTED =
+      TEMPORAL_METRICS_PREFIX + "grpc-concurrency-limit-rejected";
+  public static final String GRPC_CHANNEL_IN_FLIGHT_CALLS =
+      TEMPORAL_METRICS_PREFIX + "grpc-channel-in-flight-calls";
 
   public static final String STICKY_CACHE_HIT = TEMPORAL_METRICS_PREFIX + "sticky-cache-hit";
   public static final String STICKY_CACHE_MISS = TEMPORAL_METRICS_PREFIX + "sticky-cache-miss";
@@ -148,6 +178,57 @@ public class MetricsType {
       TEMPORAL_METRICS_PREFIX + "sticky-cache-thread-forced-eviction";
   public static final String STICKY_CACHE_STALL = TEMPORAL_METRICS_PREFIX + "sticky-cache-stall";
   public static final String STICKY_CACHE_SIZE = TEMPORAL_METRICS_PREFIX + "sticky-cache-size";
+  public static final String STICKY_CACHE_QUERY_HIT =
+      TEMPORAL_METRICS_PREFIX + "sticky-cache-query-hit";
+  public static final String STICKY_CACHE_QUERY_STALE =
+      TEMPORAL_METRICS_PREFIX + "sticky-cache-query-stale";
+  public static final String REPLAY_SUPPRESSED_METRICS_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "replay-suppressed-metrics";
+  public static final String REPLAY_SUPPRESSED_LOGS_COUNTER =
+      TEMPORAL_METRICS_PREFIX + "replay-suppressed-logs";
+  public static final String PAYLOAD_COMPRESSION_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "payload-compression-latency";
+  public static final String PAYLOAD_DECOMPRESSION_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "payload-decompression-latency";
+  public static final String PAYLOAD_COMPRESSION_INPUT_BYTES =
+      TEMPORAL_METRICS_PREFIX + "payload-compression-input-bytes";
+  public static final String PAYLOAD_COMPRESSION_OUTPUT_BYTES =
+      TEMPORAL_METRICS_PREFIX + "payload-compression-output-bytes";
+  public static final String PAYLOAD_COMPRESSION_RATIO =
+      TEMPORAL_METRICS_PREFIX + "payload-compression-ratio";
+  public static final String PAYLOAD_OFFLOAD_COUNTER = TEMPORAL_METRICS_PREFIX + "payload-offload";
+  public static final String PAYLOAD_OFFLOAD_BYTES =
+      TEMPORAL_METRICS_PREFIX + "payload-offload-bytes";
+  public static final String PAYLOAD_FETCH_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "payload-fetch-latency";
+  public static final String PAYLOAD_FETCH_CACHE_HIT =
+      TEMPORAL_METRICS_PREFIX + "payload-fetch-cache-hit";
+  public static final String PAYLOAD_FETCH_CACHE_MISS =
+      TEMPORAL_METRICS_PREFIX + "payload-fetch-cache-miss";
+  public static final String PAYLOAD_ENCODED_BYTES =
+      TEMPORAL_METRICS_PREFIX + "payload-encoded-bytes";
+  public static final String PAYLOAD_DECODED_BYTES =
+      TEMPORAL_METRICS_PREFIX + "payload-decoded-bytes";
+  public static final String PAYLOAD_ENCODE_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "payload-encode-latency";
+  public static final String PAYLOAD_DECODE_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "payload-decode-latency";
   public static final String WORKFLOW_ACTIVE_THREAD_COUNT =
       TEMPORAL_METRICS_PREFIX + "workflow_active_thread_count";
+  public static final String BULK_OPERATION_REQUEST =
+      TEMPORAL_METRICS_PREFIX + "bulk-operation-request";
+  public static final String BULK_OPERATION_FAILURE =
+      TEMPORAL_METRICS_PREFIX + "bulk-operation-failure";
+  public static final String BULK_OPERATION_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "bulk-operation-latency";
+  public static final String BULK_OPERATION_IN_FLIGHT =
+      TEMPORAL_METRICS_PREFIX + "bulk-operation-in-flight";
+  public static final String RESULT_WAITER_QUEUE_DEPTH =
+      TEMPORAL_METRICS_PREFIX + "result-waiter-queue-depth";
+  public static final String RESULT_WAITER_ACTIVE_POLLS =
+      TEMPORAL_METRICS_PREFIX + "result-waiter-active-polls";
+  public static final String RESULT_WAITER_QUEUE_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "result-waiter-queue-latency";
+  public static final String RESULT_WAITER_WAIT_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "result-waiter-wait-latency";
 }
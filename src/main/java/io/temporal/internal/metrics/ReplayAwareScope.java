@@ -21,6 +21,7 @@ package io.temporal.internal.metrics;
 
 import com.uber.m3.tally.Buckets;
 import com.uber.m3.tally.Capabilities;
+import com.uber.m3.tally.CapableOf;
 import com.uber.m3.tally.Counter;
 import com.uber.m3.tally.Gauge;
 import com.uber.m3.tally.Histogram;
@@ -31,20 +32,67 @@ import com.uber.m3.tally.StopwatchRecorder;
 import com.uber.m3.tally.Timer;
 import com.uber.m3.util.Duration;
 import io.temporal.internal.replay.ReplayAware;
+import io.temporal.workflow.Functions;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public class ReplayAwareScope implements Scope {
+
+  /** Shared stopwatch handed out during replay, stopping it records nothing. */
+  private static final Stopwatch NOOP_STOPWATCH = new Stopwatch(0, startNanos -> {});
+
   private final Scope scope;
   private final ReplayAware context;
   private final Supplier<Long> clock;
+  private final SuppressedScope suppressedScope;
+  private final Counter suppressedLogs;
 
   public ReplayAwareScope(Scope scope, ReplayAware context, Supplier<Long> clock) {
+    this(
+        scope,
+        context,
+        clock,
+        new SuppressedScope(scope.counter(MetricsType.REPLAY_SUPPRESSED_METRICS_COUNTER)),
+        scope.counter(MetricsType.REPLAY_SUPPRESSED_LOGS_COUNTER));
+  }
+
+  private ReplayAwareScope(
+      Scope scope,
+      ReplayAware context,
+      Supplier<Long> clock,
+      SuppressedScope suppressedScope,
+      Counter suppressedLogs) {
     this.scope = Objects.requireNonNull(scope);
     this.context = Objects.requireNonNull(context);
     this.clock = Objects.requireNonNull(clock);
+    this.suppressedScope = suppressedScope;
+    this.suppressedLogs = Objects.requireNonNull(suppressedLogs);
+  }
+
+  /**
+   * Returns a scope tagged with the supplied tags. During replay the tags are not evaluated and a
+   * scope that only counts suppressed emissions is returned instead.
+   */
+  public Scope lazilyTagged(Functions.Func<Map<String, String>> tags) {
+    if (context.isReplaying()) {
+      return suppressedScope;
+    }
+    return tagged(tags.apply());
+  }
+
+  /** Records a log statement that was dropped because the workflow was replaying. */
+  public void recordSuppressedLog() {
+    suppressedLogs.inc(1);
+  }
+
+  private boolean suppress() {
+    if (context.isReplaying()) {
+      suppressedScope.suppressed.inc(1);
+      return true;
+    }
+    return false;
   }
 
   private class ReplayAwareCounter implements Counter {
@@ -56,7 +104,7 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public void inc(long delta) {
-      if (context.isReplaying()) {
+      if (suppress()) {
         return;
       }
 
@@ -73,7 +121,7 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public void update(double value) {
-      if (context.isReplaying()) {
+      if (suppress()) {
         return;
       }
 
@@ -90,7 +138,7 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public void record(Duration interval) {
-      if (context.isReplaying()) {
+      if (suppress()) {
         return;
       }
 
@@ -99,6 +147,9 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public Stopwatch start() {
+      if (suppress()) {
+        return NOOP_STOPWATCH;
+      }
       long startNanos = TimeUnit.MILLISECONDS.toNanos(clock.get());
       return new Stopwatch(startNanos, new ReplayAwareStopwatchRecorder(this));
     }
@@ -136,7 +187,7 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public void recordValue(double value) {
-      if (context.isReplaying()) {
+      if (suppress()) {
         return;
       }
 
@@ -145,7 +196,7 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public void recordDuration(Duration value) {
-      if (context.isReplaying()) {
+      if (suppress()) {
         return;
       }
 
@@ -154,6 +205,9 @@ public class ReplayAwareScope implements Scope {
 
     @Override
     public Stopwatch start() {
+      if (suppress()) {
+        return NOOP_STOPWATCH;
+      }
       long startNanos = TimeUnit.MILLISECONDS.toNanos(clock.get());
       return new Stopwatch(startNanos, new ReplayAwareStopwatchRecorder(this));
     }
@@ -181,12 +235,14 @@ public class ReplayAwareScope implements Scope {
 
   @Override
   public Scope tagged(Map<String, String> tags) {
-    return new ReplayAwareScope(scope.tagged(tags), context, clock);
+    return new ReplayAwareScope(
+        scope.tagged(tags), context, clock, suppressedScope, suppressedLogs);
   }
 
   @Override
   public Scope subScope(String name) {
-    return new ReplayAwareScope(scope.subScope(name), context, clock);
+    return new ReplayAwareScope(
+        scope.subScope(name), context, clock, suppressedScope, suppressedLogs);
   }
 
   @Override
@@ -198,4 +254,89 @@ public class ReplayAwareScope implements Scope {
   public void close() throws ScopeCloseException {
     scope.close();
   }
+
+  /** Scope returned by {@link #lazilyTagged} during replay. */
+  private static final class SuppressedScope implements Scope {
+
+    private final Counter suppressed;
+    private final Counter counter;
+    private final Gauge gauge;
+    private final Timer timer;
+    private final Histogram histogram;
+
+    SuppressedScope(Counter suppressed) {
+      this.suppressed = Objects.requireNonNull(suppressed);
+      this.counter = delta -> suppressed.inc(1);
+      this.gauge = value -> suppressed.inc(1);
+      this.timer =
+          new Timer() {
+            @Override
+            public void record(Duration interval) {
+              suppressed.inc(1);
+            }
+
+            @Override
+            public Stopwatch start() {
+              suppressed.inc(1);
+              return NOOP_STOPWATCH;
+            }
+          };
+      this.histogram =
+          new Histogram() {
+            @Override
+            public void recordValue(double value) {
+              suppressed.inc(1);
+            }
+
+            @Override
+            public void recordDuration(Duration value) {
+              suppressed.inc(1);
+            }
+
+            @Override
+            public Stopwatch start() {
+              suppressed.inc(1);
+              return NOOP_STOPWATCH;
+            }
+          };
+    }
+
+    @Override
+    public Counter counter(String name) {
+      return counter;
+    }
+
+    @Override
+    public Gauge gauge(String name) {
+      return gauge;
+    }
+
+    @Override
+    public Timer timer(String name) {
+      return timer;
+    }
+
+    @Override
+    public Histogram histogram(String name, Buckets buckets) {
+      return histogram;
+    }
+
+    @Override
+    public Scope tagged(Map<String, String> tags) {
+      return this;
+    }
+
+    @Override
+    public Scope subScope(String name) {
+      return this;
+    }
+
+    @Override
+    public Capabilities capabilities() {
+      return CapableOf.NONE;
+    }
+
+    @Override
+    public void close() {}
+  }
 }
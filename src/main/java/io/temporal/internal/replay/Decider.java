@@ -35,6 +35,20 @@ public interface Decider {
   Optional<Payloads> query(PollForDecisionTaskResponseOrBuilder decisionTask, WorkflowQuery query)
       throws Throwable;
 
+  /**
+   * Executes a query against the current workflow state without processing any history events.
+   * Unlike {@link #query(PollForDecisionTaskResponseOrBuilder, WorkflowQuery)} can be called from
+   * any thread without holding the workflow run lock. Calls are serialized with decisions of the
+   * same workflow run, but can run in parallel with each other.
+   *
+   * @return query result or null if the decider is closed or the decision task contains events that
+   *     can change the workflow state and were not processed yet.
+   */
+  default WorkflowQueryResult queryCurrentState(
+      PollForDecisionTaskResponseOrBuilder decisionTask, WorkflowQuery query) {
+    return null;
+  }
+
   void close();
 
   class DecisionResult {
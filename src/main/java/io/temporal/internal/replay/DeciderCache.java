@@ -36,6 +36,8 @@ public final class DeciderCache {
   private LoadingCache<String, Decider> cache;
   private Lock cacheLock = new ReentrantLock();
   private Set<String> inProcessing = new HashSet<>();
+  // Number of queries executing against the cached state per run id.
+  private Map<String, Integer> queriesInProcessing = new HashMap<>();
 
   public DeciderCache(int workflowCacheSize, Scope scope) {
     Preconditions.checkArgument(workflowCacheSize > 0, "Max cache size must be greater than 0");
@@ -91,6 +93,40 @@ public final class DeciderCache {
     }
   }
 
+  /**
+   * Returns cached decider to execute a query against its current state or null if the decider is
+   * not cached. The returned decider is protected from eviction until {@link
+   * #markQueryDone(PollForDecisionTaskResponseOrBuilder)} is called. Doesn't block on decisions of
+   * the same workflow run; the decider itself serializes the queries with its decisions.
+   */
+  Decider getForQuery(PollForDecisionTaskResponseOrBuilder decisionTask) {
+    if (isFullHistory(decisionTask)) {
+      return null;
+    }
+    String runId = decisionTask.getWorkflowExecution().getRunId();
+    cacheLock.lock();
+    try {
+      Decider decider = cache.getIfPresent(runId);
+      if (decider != null) {
+        queriesInProcessing.merge(runId, 1, Integer::sum);
+      }
+      return decider;
+    } finally {
+      cacheLock.unlock();
+    }
+  }
+
+  void markQueryDone(PollForDecisionTaskResponseOrBuilder decisionTask) {
+    String runId = decisionTask.getWorkflowExecution().getRunId();
+
+    cacheLock.lock();
+    try {
+      queriesInProcessing.computeIfPresent(runId, (k, count) -> count == 1 ? null : count - 1);
+    } finally {
+      cacheLock.unlock();
+    }
+  }
+
   void markProcessingDone(PollForDecisionTaskResponseOrBuilder decisionTask) {
     String runId = decisionTask.getWorkflowExecution().getRunId();
 
@@ -112,7 +148,9 @@ public final class DeciderCache {
     try {
       metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
       for (String key : cache.asMap().keySet()) {
-        if (!key.equals(runId) && !inProcessing.contains(key)) {
+        if (!key.equals(runId)
+            && !inProcessing.contains(key)
+            && !queriesInProcessing.containsKey(key)) {
           cache.invalidate(key);
           metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
           metricsScope.counter(MetricsType.STICKY_CACHE_THREAD_FORCED_EVICTION).inc(1);
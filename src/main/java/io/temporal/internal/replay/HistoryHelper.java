@@ -25,11 +25,14 @@ import io.temporal.history.v1.HistoryEvent;
 import io.temporal.internal.common.WorkflowExecutionUtils;
 import io.temporal.internal.worker.DecisionTaskWithHistoryIterator;
 import io.temporal.workflowservice.v1.PollForDecisionTaskResponseOrBuilder;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.concurrent.TimeUnit;
 
 class HistoryHelper {
@@ -38,35 +41,47 @@ class HistoryHelper {
    * Events of a single decision. It includes all new events in the history since the last decision
    * as events. It doesn't include events that are decision events of the previous decision. The
    * decision events are events that this decision produced when executed for the first time.
+   *
+   * <p>Both lists are views of index ranges over a buffer shared by consecutive decisions, so no
+   * events are copied when the history is grouped.
    */
   static final class DecisionEvents {
 
     private final List<HistoryEvent> events;
     private final List<HistoryEvent> decisionEvents;
-    private final List<HistoryEvent> markers = new ArrayList<>();
+    private final List<HistoryEvent> markers;
     private final boolean replay;
     private final long replayCurrentTimeMilliseconds;
     private final long nextDecisionEventId;
+    private final long lastEventId;
 
     DecisionEvents(
         List<HistoryEvent> events,
         List<HistoryEvent> decisionEvents,
+        int markerCount,
         boolean replay,
         long replayCurrentTimeMilliseconds,
-        long nextDecisionEventId) {
+        long nextDecisionEventId,
+        long lastEventId) {
       if (nextDecisionEventId <= 0) {
         throw new Error("nextDecisionEventId is not set");
       }
       this.events = events;
       this.decisionEvents = decisionEvents;
-      for (HistoryEvent event : decisionEvents) {
-        if (event.getEventType() == EventType.EVENT_TYPE_MARKER_RECORDED) {
-          markers.add(event);
+      if (markerCount == 0) {
+        this.markers = Collections.emptyList();
+      } else {
+        this.markers = new ArrayList<>(markerCount);
+        for (HistoryEvent event : decisionEvents) {
+          if (event.getEventType() == EventType.EVENT_TYPE_MARKER_RECORDED) {
+            markers.add(event);
+          }
         }
       }
       this.replay = replay;
       this.replayCurrentTimeMilliseconds = replayCurrentTimeMilliseconds;
       this.nextDecisionEventId = nextDecisionEventId;
+      this.lastEventId = lastEventId;
     }
 
     public List<HistoryEvent> getEvents() {
@@ -101,6 +116,14 @@ class HistoryHelper {
       return nextDecisionEventId;
     }
 
+    /**
+     * Id of the last history event consumed while grouping this decision. It includes
+     * DecisionTaskStarted and DecisionTaskCompleted events that are not part of any list.
+     */
+    long getLastEventId() {
+      return lastEventId;
+    }
+
     @Override
     public String toString() {
       return "DecisionEvents{"
@@ -114,15 +137,49 @@ class HistoryHelper {
           + replayCurrentTimeMilliseconds
           + ", nextDecisionEventId="
           + nextDecisionEventId
+          + ", lastEventId="
+          + lastEventId
           + '}';
     }
   }
 
+  /**
+   * Read only view of the [fromIndex, toIndex) range of an append only list. Unlike {@link
+   * List#subList(int, int)} it stays valid when events are appended to the underlying list.
+   */
+  private static final class EventsRange extends AbstractList<HistoryEvent>
+      implements RandomAccess {
+
+    private final List<HistoryEvent> events;
+    private final int fromIndex;
+    private final int size;
+
+    EventsRange(List<HistoryEvent> events, int fromIndex, int toIndex) {
+      this.events = events;
+      this.fromIndex = fromIndex;
+      this.size = toIndex - fromIndex;
+    }
+
+    @Override
+    public HistoryEvent get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+      }
+      return events.get(fromIndex + index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
   /** Allows peeking for the next event. */
   private static final class EventsIterator implements PeekingIterator<HistoryEvent> {
 
     private Iterator<HistoryEvent> events;
     private HistoryEvent next;
+    private long lastEventId;
 
     EventsIterator(Iterator<HistoryEvent> events) {
       this.events = events;
@@ -147,6 +204,9 @@ class HistoryHelper {
     @Override
     public HistoryEvent next() {
       HistoryEvent result = next;
+      if (result != null) {
+        lastEventId = result.getEventId();
+      }
       if (events.hasNext()) {
         next = events.next();
       } else {
@@ -159,16 +219,29 @@ class HistoryHelper {
     public void remove() {
       throw new UnsupportedOperationException("not implemented");
     }
+
+    /** Id of the last event returned by {@link #next()}. */
+    long getLastEventId() {
+      return lastEventId;
+    }
   }
 
   /**
    * Iterates through decisions and returns one DecisionEvents instance per DecisionTaskStarted
    * event.
+   *
+   * <p>Events are appended to a buffer and each DecisionEvents gets {@link EventsRange} views over
+   * its ranges. The buffer is replaced with a new one once it grows over {@link #BUFFER_CAPACITY}
+   * so a long paginated history is not retained as a whole. Already returned DecisionEvents keep
+   * referencing the buffer they were created from.
    */
   private static class DecisionEventsIterator implements Iterator<DecisionEvents> {
 
+    static final int BUFFER_CAPACITY = 1024;
+
     private EventsIterator events;
     private long replayCurrentTimeMilliseconds;
+    private List<HistoryEvent> buffer = new ArrayList<>(BUFFER_CAPACITY);
 
     DecisionEventsIterator(
         DecisionTaskWithHistoryIterator decisionTaskWithHistoryIterator,
@@ -184,8 +257,10 @@ class HistoryHelper {
 
     @Override
     public DecisionEvents next() {
-      List<HistoryEvent> decisionEvents = new ArrayList<>();
-      List<HistoryEvent> newEvents = new ArrayList<>();
+      if (buffer.size() >= BUFFER_CAPACITY) {
+        buffer = new ArrayList<>(BUFFER_CAPACITY);
+      }
+      int newEventsStart = buffer.size();
       boolean replay = true;
       long nextDecisionEventId = -1;
       while (events.hasNext()) {
@@ -223,22 +298,29 @@ class HistoryHelper {
                     + event);
           }
         }
-        newEvents.add(event);
+        buffer.add(event);
       }
+      int decisionEventsStart = buffer.size();
+      int markerCount = 0;
       while (events.hasNext()) {
-        if (!WorkflowExecutionUtils.isDecisionEvent(events.peek())) {
+        HistoryEvent event = events.peek();
+        if (!WorkflowExecutionUtils.isDecisionEvent(event)) {
           break;
         }
-        decisionEvents.add(events.next());
+        if (event.getEventType() == EventType.EVENT_TYPE_MARKER_RECORDED) {
+          markerCount++;
+        }
+        buffer.add(events.next());
       }
-      DecisionEvents result =
-          new DecisionEvents(
-              newEvents,
-              decisionEvents,
-              replay,
-              replayCurrentTimeMilliseconds,
-              nextDecisionEventId);
-      return result;
+      int decisionEventsEnd = buffer.size();
+      return new DecisionEvents(
+          new EventsRange(buffer, newEventsStart, decisionEventsStart),
+          new EventsRange(buffer, decisionEventsStart, decisionEventsEnd),
+          markerCount,
+          replay,
+          replayCurrentTimeMilliseconds,
+          nextDecisionEventId,
+          events.getLastEventId());
     }
   }
 
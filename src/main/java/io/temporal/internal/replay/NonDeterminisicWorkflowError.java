@@ -19,7 +19,11 @@
 
 package io.temporal.internal.replay;
 
-final class NonDeterminisicWorkflowError extends Error {
+/**
+ * Thrown when workflow code doesn't match the history it replays, for example when it schedules a
+ * different activity than the one recorded.
+ */
+public final class NonDeterminisicWorkflowError extends Error {
 
   NonDeterminisicWorkflowError(String message) {
     super(message);
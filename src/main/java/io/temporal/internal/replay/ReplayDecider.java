@@ -40,6 +40,7 @@ import io.temporal.history.v1.WorkflowExecutionStartedEventAttributes;
 import io.temporal.internal.common.GrpcRetryer;
 import io.temporal.internal.common.OptionsUtils;
 import io.temporal.internal.common.RpcRetryOptions;
+import io.temporal.internal.common.WorkflowExecutionUtils;
 import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.replay.HistoryHelper.DecisionEvents;
 import io.temporal.internal.worker.DecisionTaskWithHistoryIterator;
@@ -54,6 +55,7 @@ import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
 import io.temporal.workflowservice.v1.PollForDecisionTaskResponseOrBuilder;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -65,7 +67,7 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -89,7 +91,14 @@ class ReplayDecider implements Decider {
   private final Scope metricsScope;
   private final long wfStartTimeNanos;
   private final WorkflowExecutionStartedEventAttributes startedEvent;
-  private final Lock lock = new ReentrantLock();
+  // Decisions, event processing and close take the write lock. Queries against the current state
+  // take the read lock, so they never observe a decision in progress.
+  private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+  private final Lock lock = stateLock.writeLock();
+  // Set by close. A closed decider no longer answers queries against its current state.
+  private volatile boolean closed;
+  // Id of the last history event consumed by decideImpl.
+  private long lastEventId;
   private final Consumer<HistoryEvent> localActivityCompletionSink;
   private final Map<String, WorkflowQueryResult> queryResults = new HashMap<>();
   private final DataConverter converter;
@@ -470,6 +479,7 @@ class ReplayDecider implements Decider {
         }
         // Reset state to before running the event loop
         decisionsHelper.handleDecisionTaskStartedEvent(decision);
+        lastEventId = decision.getLastEventId();
       }
       return forceCreateNewDecisionTask;
     } catch (Error e) {
@@ -499,14 +509,7 @@ class ReplayDecider implements Decider {
           }
           queryResults.put(entry.getKey(), result.build());
         } catch (Exception e) {
-          String stackTrace = Throwables.getStackTraceAsString(e);
-          queryResults.put(
-              entry.getKey(),
-              WorkflowQueryResult.newBuilder()
-                  .setResultType(QueryResultType.QUERY_RESULT_TYPE_FAILED)
-                  .setErrorMessage(e.getMessage())
-                  .setAnswer(converter.toPayloads(stackTrace).get())
-                  .build());
+          queryResults.put(entry.getKey(), failedQueryResult(e));
         }
       }
       if (legacyQueryCallback != null) {
@@ -531,6 +534,9 @@ class ReplayDecider implements Decider {
   }
 
   private boolean replayLocalActivities(DecisionEvents decision) throws Throwable {
+    if (decision.getMarkers().isEmpty()) {
+      return false;
+    }
     List<HistoryEvent> localActivityMarkers = new ArrayList<>();
     for (HistoryEvent event : decision.getMarkers()) {
       if (event
@@ -606,6 +612,7 @@ class ReplayDecider implements Decider {
   public void close() {
     lock.lock();
     try {
+      closed = true;
       workflow.close();
     } finally {
       lock.unlock();
@@ -625,6 +632,68 @@ class ReplayDecider implements Decider {
     }
   }
 
+  @Override
+  public WorkflowQueryResult queryCurrentState(
+      PollForDecisionTaskResponseOrBuilder decisionTask, WorkflowQuery query) {
+    Lock readLock = stateLock.readLock();
+    readLock.lock();
+    try {
+      if (closed || !isUpToDate(decisionTask)) {
+        return null;
+      }
+      // Queries of the same run share the read lock and run in parallel. Query handlers only read
+      // the workflow state and the stack trace query takes the runner lock, so workflow.query
+      // needs no further locking here.
+      try {
+        Optional<Payloads> queryResult = workflow.query(query);
+        WorkflowQueryResult.Builder result =
+            WorkflowQueryResult.newBuilder()
+                .setResultType(QueryResultType.QUERY_RESULT_TYPE_ANSWERED);
+        if (queryResult.isPresent()) {
+          result.setAnswer(queryResult.get());
+        }
+        return result.build();
+      } catch (Exception e) {
+        return failedQueryResult(e);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * The decider state is up to date if all the events of the task beyond the already processed ones
+   * are the results of its own decisions, which don't change the state visible to queries.
+   */
+  private boolean isUpToDate(PollForDecisionTaskResponseOrBuilder decisionTask) {
+    if (lastEventId == 0 || !decisionTask.getNextPageToken().isEmpty()) {
+      return false;
+    }
+    List<HistoryEvent> events = decisionTask.getHistory().getEventsList();
+    if (!events.isEmpty() && events.get(0).getEventId() > lastEventId + 1) {
+      return false;
+    }
+    for (HistoryEvent event : events) {
+      if (event.getEventId() <= lastEventId) {
+        continue;
+      }
+      if (event.getEventType() != EventType.EVENT_TYPE_DECISION_TASK_COMPLETED
+          && !WorkflowExecutionUtils.isDecisionEvent(event)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private WorkflowQueryResult failedQueryResult(Exception e) {
+    String stackTrace = Throwables.getStackTraceAsString(e);
+    return WorkflowQueryResult.newBuilder()
+        .setResultType(QueryResultType.QUERY_RESULT_TYPE_FAILED)
+        .setErrorMessage(e.getMessage())
+        .setAnswer(converter.toPayloads(stackTrace).get())
+        .build();
+  }
+
   public Consumer<HistoryEvent> getLocalActivityCompletionSink() {
     return localActivityCompletionSink;
   }
@@ -702,7 +771,10 @@ class ReplayDecider implements Decider {
           try {
             GetWorkflowExecutionHistoryResponse r =
                 GrpcRetryer.retryWithResult(
-                    retryOptions,
+                    GrpcRetryer.forMethod(
+                        retryOptions,
+                        service,
+                        WorkflowServiceGrpc.getGetWorkflowExecutionHistoryMethod()),
                     () -> service.blockingStub().getWorkflowExecutionHistory(request));
             current = r.getHistory().getEventsList().iterator();
             nextPageToken = r.getNextPageToken();
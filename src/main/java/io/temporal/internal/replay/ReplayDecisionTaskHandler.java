@@ -34,6 +34,7 @@ import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.worker.DecisionTaskHandler;
 import io.temporal.internal.worker.LocalActivityWorker;
 import io.temporal.internal.worker.SingleWorkerOptions;
+import io.temporal.query.v1.WorkflowQueryResult;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.taskqueue.v1.StickyExecutionAttributes;
 import io.temporal.workflow.Functions;
@@ -218,6 +219,7 @@ public final class ReplayDecisionTaskHandler implements DecisionTaskHandler {
         RespondQueryTaskCompletedRequest.newBuilder().setTaskToken(decisionTask.getTaskToken());
     Decider decider = null;
     AtomicBoolean createdNew = new AtomicBoolean();
+    Throwable queryFailure = null;
     try {
       if (stickyTaskQueueName == null) {
         decider = createDecider(decisionTask);
@@ -240,6 +242,7 @@ public final class ReplayDecisionTaskHandler implements DecisionTaskHandler {
       }
       queryCompletedRequest.setCompletedType(QueryResultType.QUERY_RESULT_TYPE_ANSWERED);
     } catch (Throwable e) {
+      queryFailure = e;
       // TODO: Appropriate exception serialization.
       StringWriter sw = new StringWriter();
       PrintWriter pw = new PrintWriter(sw);
@@ -253,7 +256,40 @@ public final class ReplayDecisionTaskHandler implements DecisionTaskHandler {
         cache.markProcessingDone(decisionTask);
       }
     }
-    return new Result(null, null, queryCompletedRequest.build(), null, false);
+    return new Result(null, null, queryCompletedRequest.build(), null, false, queryFailure);
+  }
+
+  @Override
+  public Result handleQueryTaskWithCachedState(PollForDecisionTaskResponse queryTask) {
+    if (stickyTaskQueueName == null || !queryTask.hasQuery()) {
+      return null;
+    }
+    Decider decider = cache.getForQuery(queryTask);
+    if (decider == null) {
+      return null;
+    }
+    try {
+      WorkflowQueryResult queryResult = decider.queryCurrentState(queryTask, queryTask.getQuery());
+      if (queryResult == null) {
+        options.getMetricsScope().counter(MetricsType.STICKY_CACHE_QUERY_STALE).inc(1);
+        return null;
+      }
+      options.getMetricsScope().counter(MetricsType.STICKY_CACHE_QUERY_HIT).inc(1);
+      RespondQueryTaskCompletedRequest.Builder queryCompletedRequest =
+          RespondQueryTaskCompletedRequest.newBuilder().setTaskToken(queryTask.getTaskToken());
+      if (queryResult.getResultType() == QueryResultType.QUERY_RESULT_TYPE_ANSWERED) {
+        if (queryResult.hasAnswer()) {
+          queryCompletedRequest.setQueryResult(queryResult.getAnswer());
+        }
+        queryCompletedRequest.setCompletedType(QueryResultType.QUERY_RESULT_TYPE_ANSWERED);
+      } else {
+        queryCompletedRequest.setErrorMessage(queryResult.getErrorMessage());
+        queryCompletedRequest.setCompletedType(QueryResultType.QUERY_RESULT_TYPE_FAILED);
+      }
+      return new Result(null, null, queryCompletedRequest.build(), null, false);
+    } finally {
+      cache.markQueryDone(queryTask);
+    }
   }
 
   private Result createCompletedRequest(
@@ -0,0 +1,171 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Stopwatch;
+import com.uber.m3.util.ImmutableMap;
+import io.temporal.client.BulkOperation;
+import io.temporal.client.BulkOperationOptions;
+import io.temporal.client.BulkOperationResult;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.internal.metrics.MetricsTag;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs {@link BulkOperation}s through the asynchronous {@link WorkflowStub} methods with bounded
+ * concurrency. Submission is driven by the consumer of the result stream: operations are pulled
+ * from the source only while fewer than maxConcurrency results are outstanding, so neither the
+ * source nor the completed results are ever buffered beyond that bound. Results are returned in
+ * completion order.
+ *
+ * <p>The in-flight gauge is reported from a counter owned by the client, so concurrent executors of
+ * the same client add up instead of overwriting each other.
+ */
+final class BulkOperationExecutor implements Iterator<BulkOperationResult> {
+
+  static Stream<BulkOperationResult> execute(
+      Stream<BulkOperation> operations,
+      BulkOperationOptions options,
+      Scope metricsScope,
+      AtomicInteger inFlight) {
+    BulkOperationExecutor executor =
+        new BulkOperationExecutor(operations.iterator(), options, metricsScope, inFlight);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                executor, Spliterator.NONNULL | Spliterator.IMMUTABLE),
+            false)
+        .onClose(operations::close);
+  }
+
+  private final Iterator<BulkOperation> source;
+  private final int maxConcurrency;
+  private final BlockingQueue<BulkOperationResult> completed = new LinkedBlockingQueue<>();
+  private final Map<BulkOperation.Type, Scope> scopes = new EnumMap<>(BulkOperation.Type.class);
+  private final Scope metricsScope;
+  private final AtomicInteger inFlight;
+
+  /** Submitted operations whose results were not returned by {@link #next()} yet. */
+  private int outstanding;
+
+  private BulkOperationExecutor(
+      Iterator<BulkOperation> source,
+      BulkOperationOptions options,
+      Scope metricsScope,
+      AtomicInteger inFlight) {
+    this.source = source;
+    this.maxConcurrency = options.getMaxConcurrency();
+    this.metricsScope = metricsScope;
+    this.inFlight = inFlight;
+    for (BulkOperation.Type type : BulkOperation.Type.values()) {
+      scopes.put(
+          type,
+          metricsScope.tagged(
+              new ImmutableMap.Builder<String, String>(1)
+                  .put(MetricsTag.OPERATION_TYPE, type.name())
+                  .build()));
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (outstanding < maxConcurrency && source.hasNext()) {
+      submit(source.next());
+      outstanding++;
+    }
+    return outstanding > 0;
+  }
+
+  @Override
+  public BulkOperationResult next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    BulkOperationResult result;
+    try {
+      result = completed.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      CancellationException ce = new CancellationException("interrupted");
+      ce.initCause(e);
+      throw ce;
+    }
+    outstanding--;
+    return result;
+  }
+
+  private void submit(BulkOperation operation) {
+    Scope scope = scopes.get(operation.getType());
+    scope.counter(MetricsType.BULK_OPERATION_REQUEST).inc(1);
+    metricsScope.gauge(MetricsType.BULK_OPERATION_IN_FLIGHT).update(inFlight.incrementAndGet());
+    Stopwatch sw = scope.timer(MetricsType.BULK_OPERATION_LATENCY).start();
+    CompletableFuture<WorkflowExecution> result;
+    try {
+      result = invoke(operation);
+    } catch (Throwable e) {
+      result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+    }
+    result.whenComplete(
+        (execution, e) -> {
+          sw.stop();
+          metricsScope
+              .gauge(MetricsType.BULK_OPERATION_IN_FLIGHT)
+              .update(inFlight.decrementAndGet());
+          Throwable failure = null;
+          if (e != null) {
+            failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            scope.counter(MetricsType.BULK_OPERATION_FAILURE).inc(1);
+          }
+          completed.add(new BulkOperationResult(operation, execution, failure));
+        });
+  }
+
+  private static CompletableFuture<WorkflowExecution> invoke(BulkOperation operation) {
+    WorkflowStub stub = operation.getStub();
+    switch (operation.getType()) {
+      case START:
+        return stub.startAsync(operation.getStartArgs());
+      case SIGNAL:
+        return stub.signalAsync(operation.getSignalName(), operation.getSignalArgs())
+            .thenApply((r) -> stub.getExecution());
+      case SIGNAL_WITH_START:
+        return stub.signalWithStartAsync(
+            operation.getSignalName(), operation.getSignalArgs(), operation.getStartArgs());
+      default:
+        throw new IllegalArgumentException("Unknown operation type: " + operation.getType());
+    }
+  }
+}
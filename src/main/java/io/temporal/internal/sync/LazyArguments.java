@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import com.google.common.base.Defaults;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.EncodedValue;
+import io.temporal.common.converter.Value;
+import io.temporal.common.v1.Payloads;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Decodes arguments of workflow, signal and query methods. Parameters declared as {@link Value} or
+ * {@link EncodedValue} receive the raw payload wrapped into an {@link EncodedValue} that is decoded
+ * only if and when the method reads it.
+ */
+final class LazyArguments {
+
+  private LazyArguments() {}
+
+  /** @return true if any of the parameters opts into receiving the raw payload. */
+  static boolean hasRawParameters(Class<?>[] parameterTypes) {
+    for (Class<?> parameterType : parameterTypes) {
+      if (isRaw(parameterType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes arguments like {@link DataConverter#arrayFromPayloads(Optional, Class[], Type[])} but
+   * leaves the payloads of {@link Value} parameters encoded.
+   */
+  static Object[] decode(
+      DataConverter converter,
+      Optional<Payloads> input,
+      Class<?>[] parameterTypes,
+      Type[] genericParameterTypes) {
+    if (!hasRawParameters(parameterTypes)) {
+      return converter.arrayFromPayloads(input, parameterTypes, genericParameterTypes);
+    }
+    int count = input.isPresent() ? input.get().getPayloadsCount() : 0;
+    Object[] result = new Object[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      Class<?> parameterType = parameterTypes[i];
+      if (isRaw(parameterType)) {
+        Optional<Payloads> payload =
+            i < count
+                ? Optional.of(Payloads.newBuilder().addPayloads(input.get().getPayloads(i)).build())
+                : Optional.empty();
+        result[i] = new EncodedValue(payload, converter);
+      } else if (i < count) {
+        result[i] =
+            converter.fromPayload(
+                input.get().getPayloads(i), parameterType, genericParameterTypes[i]);
+      } else {
+        result[i] = Defaults.defaultValue(parameterType);
+      }
+    }
+    return result;
+  }
+
+  private static boolean isRaw(Class<?> parameterType) {
+    return parameterType == Value.class || parameterType == EncodedValue.class;
+  }
+}
@@ -67,18 +67,21 @@ class POJOActivityTaskHandler implements ActivityTaskHandler {
   private WorkflowServiceStubs service;
   private final String namespace;
   private final ActivityInterceptor[] interceptors;
+  private final PayloadMetrics payloadMetrics;
 
   POJOActivityTaskHandler(
       WorkflowServiceStubs service,
       String namespace,
       DataConverter dataConverter,
       ScheduledExecutorService heartbeatExecutor,
-      ActivityInterceptor[] interceptors) {
+      ActivityInterceptor[] interceptors,
+      boolean enablePayloadMetrics) {
     this.service = Objects.requireNonNull(service);
     this.namespace = Objects.requireNonNull(namespace);
     this.dataConverter = Objects.requireNonNull(dataConverter);
     this.heartbeatExecutor = Objects.requireNonNull(heartbeatExecutor);
     this.interceptors = Objects.requireNonNull(interceptors);
+    this.payloadMetrics = new PayloadMetrics(enablePayloadMetrics);
   }
 
   private void addActivityImplementation(
@@ -212,8 +215,12 @@ class POJOActivityTaskHandler implements ActivityTaskHandler {
       inboundCallsInterceptor.init(context);
       try {
         Object[] args =
-            dataConverter.arrayFromPayloads(
-                input, method.getParameterTypes(), method.getGenericParameterTypes());
+            payloadMetrics.decode(
+                metricsScope,
+                input,
+                () ->
+                    dataConverter.arrayFromPayloads(
+                        input, method.getParameterTypes(), method.getGenericParameterTypes()));
         Object result = inboundCallsInterceptor.execute(args);
         if (context.isDoNotCompleteOnReturn()) {
           return new ActivityTaskHandler.Result(null, null, null, null);
@@ -221,7 +228,8 @@ class POJOActivityTaskHandler implements ActivityTaskHandler {
         RespondActivityTaskCompletedRequest.Builder request =
             RespondActivityTaskCompletedRequest.newBuilder();
         if (method.getReturnType() != Void.TYPE) {
-          Optional<Payloads> serialized = dataConverter.toPayloads(result);
+          Optional<Payloads> serialized =
+              payloadMetrics.encode(metricsScope, () -> dataConverter.toPayloads(result));
           if (serialized.isPresent()) {
             request.setResult(serialized.get());
           }
@@ -287,13 +295,18 @@ class POJOActivityTaskHandler implements ActivityTaskHandler {
       inboundCallsInterceptor.init(context);
       try {
         Object[] args =
-            dataConverter.arrayFromPayloads(
-                input, method.getParameterTypes(), method.getGenericParameterTypes());
+            payloadMetrics.decode(
+                metricsScope,
+                input,
+                () ->
+                    dataConverter.arrayFromPayloads(
+                        input, method.getParameterTypes(), method.getGenericParameterTypes()));
         Object result = inboundCallsInterceptor.execute(args);
         RespondActivityTaskCompletedRequest.Builder request =
             RespondActivityTaskCompletedRequest.newBuilder();
         if (method.getReturnType() != Void.TYPE) {
-          Optional<Payloads> serialized = dataConverter.toPayloads(result);
+          Optional<Payloads> serialized =
+              payloadMetrics.encode(metricsScope, () -> dataConverter.toPayloads(result));
           if (serialized.isPresent()) {
             request.setResult(serialized.get());
           }
@@ -22,6 +22,7 @@ package io.temporal.internal.sync;
 import static io.temporal.worker.WorkflowErrorPolicy.FailWorkflow;
 
 import com.google.common.base.Preconditions;
+import com.uber.m3.tally.Scope;
 import io.temporal.common.context.ContextPropagator;
 import io.temporal.common.converter.DataConverter;
 import io.temporal.common.converter.DataConverterException;
@@ -66,6 +67,7 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
 
   private DataConverter dataConverter;
   private List<ContextPropagator> contextPropagators;
+  private final PayloadMetrics payloadMetrics;
 
   /** Key: workflow type name, Value: function that creates SyncWorkflowDefinition instance. */
   private final Map<String, Functions.Func<SyncWorkflowDefinition>> workflowDefinitions =
@@ -85,12 +87,14 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
       ExecutorService threadPool,
       WorkflowInterceptor[] workflowInterceptors,
       DeciderCache cache,
-      List<ContextPropagator> contextPropagators) {
+      List<ContextPropagator> contextPropagators,
+      boolean enablePayloadMetrics) {
     this.dataConverter = Objects.requireNonNull(dataConverter);
     this.threadPool = Objects.requireNonNull(threadPool);
     this.workflowInterceptors = Objects.requireNonNull(workflowInterceptors);
     this.cache = cache;
     this.contextPropagators = contextPropagators;
+    this.payloadMetrics = new PayloadMetrics(enablePayloadMetrics);
   }
 
   void addWorkflowImplementationTypes(
@@ -240,15 +244,23 @@ final class POJOWorkflowImplementationFactory implements ReplayWorkflowFactory {
     @Override
     public Optional<Payloads> execute(Optional<Payloads> input)
         throws CanceledFailure, WorkflowExecutionException {
+      Scope metricsScope = WorkflowInternal.getMetricsScope();
       Object[] args =
-          dataConverter.arrayFromPayloads(
-              input, workflowMethod.getParameterTypes(), workflowMethod.getGenericParameterTypes());
+          payloadMetrics.decode(
+              metricsScope,
+              input,
+              () ->
+                  LazyArguments.decode(
+                      dataConverter,
+                      input,
+                      workflowMethod.getParameterTypes(),
+                      workflowMethod.getGenericParameterTypes()));
       Preconditions.checkNotNull(workflowInvoker, "initialize not called");
       Object result = workflowInvoker.execute(args);
       if (workflowMethod.getReturnType() == Void.TYPE) {
         return Optional.empty();
       }
-      return dataConverter.toPayloads(result);
+      return payloadMetrics.encode(metricsScope, () -> dataConverter.toPayloads(result));
     }
 
     private void newInstance() {
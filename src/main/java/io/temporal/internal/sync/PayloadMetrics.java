@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import com.uber.m3.tally.Buckets;
+import com.uber.m3.tally.DurationBuckets;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.ValueBuckets;
+import com.uber.m3.util.Duration;
+import io.temporal.common.v1.Payloads;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.workflow.Functions;
+import java.util.Optional;
+
+/**
+ * Reports sizes of payloads and time spent converting them when enabled through {@link
+ * io.temporal.worker.WorkerFactoryOptions.Builder#setEnablePayloadMetrics(boolean)}. The scope
+ * passed by the caller carries the workflow and activity type tags.
+ */
+final class PayloadMetrics {
+
+  /** From 64 bytes to 256MB. */
+  private static final Buckets SIZE_BUCKETS = ValueBuckets.exponential(64, 4, 12);
+
+  /** From 10 microseconds to 40 seconds. */
+  private static final Buckets LATENCY_BUCKETS =
+      DurationBuckets.exponential(Duration.ofNanos(10_000), 4, 12);
+
+  private final boolean enabled;
+
+  PayloadMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  <R> R decode(Scope scope, Optional<Payloads> input, Functions.Func<R> decoder) {
+    if (!enabled) {
+      return decoder.apply();
+    }
+    long start = System.nanoTime();
+    R result = decoder.apply();
+    scope
+        .histogram(MetricsType.PAYLOAD_DECODE_LATENCY, LATENCY_BUCKETS)
+        .recordDuration(Duration.ofNanos(System.nanoTime() - start));
+    scope.histogram(MetricsType.PAYLOAD_DECODED_BYTES, SIZE_BUCKETS).recordValue(size(input));
+    return result;
+  }
+
+  Optional<Payloads> encode(Scope scope, Functions.Func<Optional<Payloads>> encoder) {
+    if (!enabled) {
+      return encoder.apply();
+    }
+    long start = System.nanoTime();
+    Optional<Payloads> result = encoder.apply();
+    scope
+        .histogram(MetricsType.PAYLOAD_ENCODE_LATENCY, LATENCY_BUCKETS)
+        .recordDuration(Duration.ofNanos(System.nanoTime() - start));
+    scope.histogram(MetricsType.PAYLOAD_ENCODED_BYTES, SIZE_BUCKETS).recordValue(size(result));
+    return result;
+  }
+
+  private static int size(Optional<Payloads> payloads) {
+    return payloads.isPresent() ? payloads.get().getSerializedSize() : 0;
+  }
+}
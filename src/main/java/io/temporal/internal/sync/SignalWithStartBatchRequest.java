@@ -25,6 +25,7 @@ import io.temporal.common.v1.WorkflowExecution;
 import io.temporal.workflow.Functions;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 final class SignalWithStartBatchRequest implements BatchRequest {
@@ -38,6 +39,16 @@ final class SignalWithStartBatchRequest implements BatchRequest {
   private AtomicBoolean invoked = new AtomicBoolean();
 
   WorkflowExecution invoke() {
+    collectRequests();
+    return stub.signalWithStart(signalName, signalArgs, startArgs);
+  }
+
+  CompletableFuture<WorkflowExecution> invokeAsync() {
+    collectRequests();
+    return stub.signalWithStartAsync(signalName, signalArgs, startArgs);
+  }
+
+  private void collectRequests() {
     if (!invoked.compareAndSet(false, true)) {
       throw new IllegalStateException(
           "A batch instance can be used only for a single signalWithStart call");
@@ -48,16 +59,11 @@ final class SignalWithStartBatchRequest implements BatchRequest {
       for (Functions.Proc request : requests) {
         request.apply();
       }
-      return signalWithStart();
     } finally {
       WorkflowInvocationHandler.closeAsyncInvocation();
     }
   }
 
-  private WorkflowExecution signalWithStart() {
-    return stub.signalWithStart(signalName, signalArgs, startArgs);
-  }
-
   void signal(WorkflowStub stub, String signalName, Object[] args) {
     setStub(stub);
     this.signalName = signalName;
@@ -49,7 +49,8 @@ public class SyncActivityWorker implements SuspendableWorker {
             namespace,
             options.getDataConverter(),
             heartbeatExecutor,
-            activityInterceptors);
+            activityInterceptors,
+            options.isEnablePayloadMetrics());
     worker =
         new ActivityWorker(
             service, namespace, taskQueue, taskQueueActivitiesPerSecond, options, taskHandler);
@@ -679,7 +679,7 @@ final class SyncDecisionContext implements WorkflowOutboundCallsInterceptor {
     queryCallbacks.put(
         queryType,
         (input) -> {
-          Object[] args = converter.arrayFromPayloads(input, argTypes, genericArgTypes);
+          Object[] args = LazyArguments.decode(converter, input, argTypes, genericArgTypes);
           Object result = callback.apply(args);
           return converter.toPayloads(result);
         });
@@ -697,7 +697,7 @@ final class SyncDecisionContext implements WorkflowOutboundCallsInterceptor {
     Functions.Proc2<Optional<Payloads>, Long> signalCallback =
         (input, eventId) -> {
           try {
-            Object[] args = converter.arrayFromPayloads(input, argTypes, genericArgTypes);
+            Object[] args = LazyArguments.decode(converter, input, argTypes, genericArgTypes);
             callback.apply(args);
           } catch (DataConverterException e) {
             logSerializationException(signalType, eventId, e);
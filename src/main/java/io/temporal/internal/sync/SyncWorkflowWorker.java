@@ -79,7 +79,8 @@ public class SyncWorkflowWorker
             workflowThreadPool,
             workflowInterceptors,
             cache,
-            workflowOptions.getContextPropagators());
+            workflowOptions.getContextPropagators(),
+            workflowOptions.isEnablePayloadMetrics());
 
     laTaskHandler =
         new POJOActivityTaskHandler(
@@ -87,7 +88,8 @@ public class SyncWorkflowWorker
             namespace,
             localActivityOptions.getDataConverter(),
             heartbeatExecutor,
-            activityInterceptors);
+            activityInterceptors,
+            localActivityOptions.isEnablePayloadMetrics());
     laWorker = new LocalActivityWorker(namespace, taskQueue, localActivityOptions, laTaskHandler);
 
     DecisionTaskHandler taskHandler =
@@ -124,7 +124,8 @@ public final class TestActivityEnvironmentInternal implements TestActivityEnviro
             testEnvironmentOptions.getWorkflowClientOptions().getNamespace(),
             testEnvironmentOptions.getWorkflowClientOptions().getDataConverter(),
             heartbeatExecutor,
-            testEnvironmentOptions.getWorkerFactoryOptions().getActivityInterceptors());
+            testEnvironmentOptions.getWorkerFactoryOptions().getActivityInterceptors(),
+            testEnvironmentOptions.getWorkerFactoryOptions().isEnablePayloadMetrics());
   }
 
   private class HeartbeatInterceptingService extends WorkflowServiceGrpc.WorkflowServiceImplBase {
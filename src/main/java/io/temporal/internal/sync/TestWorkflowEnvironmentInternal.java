@@ -225,17 +225,33 @@ public final class TestWorkflowEnvironmentInternal implements TestWorkflowEnviro
         next.signal(signalName, args);
       }
 
+      @Override
+      public CompletableFuture<Void> signalAsync(String signalName, Object... args) {
+        return next.signalAsync(signalName, args);
+      }
+
       @Override
       public WorkflowExecution start(Object... args) {
         return next.start(args);
       }
 
+      @Override
+      public CompletableFuture<WorkflowExecution> startAsync(Object... args) {
+        return next.startAsync(args);
+      }
+
       @Override
       public WorkflowExecution signalWithStart(
           String signalName, Object[] signalArgs, Object[] startArgs) {
         return next.signalWithStart(signalName, signalArgs, startArgs);
       }
 
+      @Override
+      public CompletableFuture<WorkflowExecution> signalWithStartAsync(
+          String signalName, Object[] signalArgs, Object[] startArgs) {
+        return next.signalWithStartAsync(signalName, signalArgs, startArgs);
+      }
+
       @Override
       public Optional<String> getWorkflowType() {
         return next.getWorkflowType();
@@ -320,6 +336,18 @@ public final class TestWorkflowEnvironmentInternal implements TestWorkflowEnviro
         return next.query(queryType, resultClass, resultType, args);
       }
 
+      @Override
+      public <R> CompletableFuture<R> queryAsync(
+          String queryType, Class<R> resultClass, Object... args) {
+        return next.queryAsync(queryType, resultClass, args);
+      }
+
+      @Override
+      public <R> CompletableFuture<R> queryAsync(
+          String queryType, Class<R> resultClass, Type resultType, Object... args) {
+        return next.queryAsync(queryType, resultClass, resultType, args);
+      }
+
       @Override
       public void cancel() {
         next.cancel();
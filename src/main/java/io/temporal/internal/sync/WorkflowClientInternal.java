@@ -24,6 +24,9 @@ import com.google.common.reflect.TypeToken;
 import com.uber.m3.tally.Scope;
 import io.temporal.client.ActivityCompletionClient;
 import io.temporal.client.BatchRequest;
+import io.temporal.client.BulkOperation;
+import io.temporal.client.BulkOperationOptions;
+import io.temporal.client.BulkOperationResult;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowClientOptions;
 import io.temporal.client.WorkflowOptions;
@@ -46,6 +49,8 @@ import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public final class WorkflowClientInternal implements WorkflowClient {
 
@@ -55,6 +60,9 @@ public final class WorkflowClientInternal implements WorkflowClient {
   private final DataConverter dataConverter;
   private final WorkflowClientInterceptor[] interceptors;
   private final WorkflowServiceStubs workflowServiceStubs;
+  private final Scope metricsScope;
+  /** Operations in flight over all the bulkExecute calls of this client. */
+  private final AtomicInteger bulkOperationsInFlight = new AtomicInteger();
 
   /**
    * Creates client that connects to an instance of the Temporal Service.
@@ -73,10 +81,14 @@ public final class WorkflowClientInternal implements WorkflowClient {
     options = WorkflowClientOptions.newBuilder(options).validateAndBuildWithDefaults();
     this.options = options;
     this.workflowServiceStubs = workflowServiceStubs;
-    Scope metricsScope = workflowServiceStubs.getOptions().getMetricsScope();
+    this.metricsScope = workflowServiceStubs.getOptions().getMetricsScope();
     this.genericClient =
         new GenericWorkflowClientExternalImpl(
-            workflowServiceStubs, options.getNamespace(), options.getIdentity(), metricsScope);
+            workflowServiceStubs,
+            options.getNamespace(),
+            options.getIdentity(),
+            options.getMaxConcurrentResultPolls(),
+            metricsScope);
     this.dataConverter = options.getDataConverter();
     this.interceptors = options.getInterceptors();
     this.manualActivityCompletionClientFactory =
@@ -203,6 +215,23 @@ public final class WorkflowClientInternal implements WorkflowClient {
     return ((SignalWithStartBatchRequest) signalWithStartBatch).invoke();
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecution> signalWithStartAsync(
+      BatchRequest signalWithStartBatch) {
+    return ((SignalWithStartBatchRequest) signalWithStartBatch).invokeAsync();
+  }
+
+  @Override
+  public Stream<BulkOperationResult> bulkExecute(
+      Stream<BulkOperation> operations, BulkOperationOptions options) {
+    return BulkOperationExecutor.execute(operations, options, metricsScope, bulkOperationsInFlight);
+  }
+
+  @Override
+  public Stream<BulkOperationResult> bulkExecute(Stream<BulkOperation> operations) {
+    return bulkExecute(operations, BulkOperationOptions.getDefaultInstance());
+  }
+
   public static WorkflowExecution start(Functions.Proc workflow) {
     WorkflowInvocationHandler.initAsyncInvocation(InvocationType.START);
     try {
@@ -295,6 +324,101 @@ public final class WorkflowClientInternal implements WorkflowClient {
     return start(() -> workflow.apply(arg1, arg2, arg3, arg4, arg5, arg6));
   }
 
+  @SuppressWarnings("unchecked")
+  public static CompletableFuture<WorkflowExecution> startAsync(Functions.Proc workflow) {
+    WorkflowInvocationHandler.initAsyncInvocation(InvocationType.START_ASYNC);
+    try {
+      workflow.apply();
+      return WorkflowInvocationHandler.getAsyncInvocationResult(CompletableFuture.class);
+    } finally {
+      WorkflowInvocationHandler.closeAsyncInvocation();
+    }
+  }
+
+  public static <A1> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc1<A1> workflow, A1 arg1) {
+    return startAsync(() -> workflow.apply(arg1));
+  }
+
+  public static <A1, A2> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc2<A1, A2> workflow, A1 arg1, A2 arg2) {
+    return startAsync(() -> workflow.apply(arg1, arg2));
+  }
+
+  public static <A1, A2, A3> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc3<A1, A2, A3> workflow, A1 arg1, A2 arg2, A3 arg3) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3));
+  }
+
+  public static <A1, A2, A3, A4> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc4<A1, A2, A3, A4> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4));
+  }
+
+  public static <A1, A2, A3, A4, A5> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc5<A1, A2, A3, A4, A5> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4, A5 arg5) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4, arg5));
+  }
+
+  public static <A1, A2, A3, A4, A5, A6> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Proc6<A1, A2, A3, A4, A5, A6> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5,
+      A6 arg6) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4, arg5, arg6));
+  }
+
+  public static <R> CompletableFuture<WorkflowExecution> startAsync(Functions.Func<R> workflow) {
+    return startAsync(
+        () -> { // Need {} to call startAsync(Proc...)
+          workflow.apply();
+        });
+  }
+
+  public static <A1, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func1<A1, R> workflow, A1 arg1) {
+    return startAsync(() -> workflow.apply(arg1));
+  }
+
+  public static <A1, A2, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func2<A1, A2, R> workflow, A1 arg1, A2 arg2) {
+    return startAsync(() -> workflow.apply(arg1, arg2));
+  }
+
+  public static <A1, A2, A3, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func3<A1, A2, A3, R> workflow, A1 arg1, A2 arg2, A3 arg3) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3));
+  }
+
+  public static <A1, A2, A3, A4, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func4<A1, A2, A3, A4, R> workflow, A1 arg1, A2 arg2, A3 arg3, A4 arg4) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4));
+  }
+
+  public static <A1, A2, A3, A4, A5, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func5<A1, A2, A3, A4, A5, R> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4, arg5));
+  }
+
+  public static <A1, A2, A3, A4, A5, A6, R> CompletableFuture<WorkflowExecution> startAsync(
+      Functions.Func6<A1, A2, A3, A4, A5, A6, R> workflow,
+      A1 arg1,
+      A2 arg2,
+      A3 arg3,
+      A4 arg4,
+      A5 arg5,
+      A6 arg6) {
+    return startAsync(() -> workflow.apply(arg1, arg2, arg3, arg4, arg5, arg6));
+  }
+
   @SuppressWarnings("unchecked")
   public static CompletableFuture<Void> execute(Functions.Proc workflow) {
     WorkflowInvocationHandler.initAsyncInvocation(InvocationType.EXECUTE);
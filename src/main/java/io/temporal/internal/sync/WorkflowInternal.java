@@ -30,6 +30,7 @@ import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
 import io.temporal.common.v1.WorkflowExecution;
 import io.temporal.internal.common.CheckedExceptionWrapper;
 import io.temporal.internal.logging.ReplayAwareLogger;
+import io.temporal.internal.metrics.ReplayAwareScope;
 import io.temporal.workflow.ActivityStub;
 import io.temporal.workflow.CancellationScope;
 import io.temporal.workflow.ChildWorkflowOptions;
@@ -39,6 +40,7 @@ import io.temporal.workflow.ContinueAsNewOptions;
 import io.temporal.workflow.ExternalWorkflowStub;
 import io.temporal.workflow.Functions;
 import io.temporal.workflow.Functions.Func;
+import io.temporal.workflow.LazyLogger;
 import io.temporal.workflow.Promise;
 import io.temporal.workflow.QueryMethod;
 import io.temporal.workflow.Workflow;
@@ -372,6 +374,21 @@ public final class WorkflowInternal {
     return getRootDecisionContext().getMetricsScope();
   }
 
+  public static Scope getMetricsScope(Functions.Func<Map<String, String>> tags) {
+    Scope scope = getRootDecisionContext().getMetricsScope();
+    if (scope instanceof ReplayAwareScope) {
+      return ((ReplayAwareScope) scope).lazilyTagged(tags);
+    }
+    return scope.tagged(tags.apply());
+  }
+
+  private static void recordSuppressedLog() {
+    Scope scope = getRootDecisionContext().getMetricsScope();
+    if (scope instanceof ReplayAwareScope) {
+      ((ReplayAwareScope) scope).recordSuppressedLog();
+    }
+  }
+
   private static boolean isLoggingEnabledInReplay() {
     return getRootDecisionContext().isLoggingEnabledInReplay();
   }
@@ -385,15 +402,27 @@ public final class WorkflowInternal {
   }
 
   public static Logger getLogger(Class<?> clazz) {
-    Logger logger = LoggerFactory.getLogger(clazz);
-    return new ReplayAwareLogger(
-        logger, WorkflowInternal::isReplaying, WorkflowInternal::isLoggingEnabledInReplay);
+    return getLazyLogger(clazz);
   }
 
   public static Logger getLogger(String name) {
-    Logger logger = LoggerFactory.getLogger(name);
+    return getLazyLogger(name);
+  }
+
+  public static LazyLogger getLazyLogger(Class<?> clazz) {
+    return newReplayAwareLogger(LoggerFactory.getLogger(clazz));
+  }
+
+  public static LazyLogger getLazyLogger(String name) {
+    return newReplayAwareLogger(LoggerFactory.getLogger(name));
+  }
+
+  private static LazyLogger newReplayAwareLogger(Logger logger) {
     return new ReplayAwareLogger(
-        logger, WorkflowInternal::isReplaying, WorkflowInternal::isLoggingEnabledInReplay);
+        logger,
+        WorkflowInternal::isReplaying,
+        WorkflowInternal::isLoggingEnabledInReplay,
+        WorkflowInternal::recordSuppressedLog);
   }
 
   public static <R> R getLastCompletionResult(Class<R> resultClass, Type resultType) {
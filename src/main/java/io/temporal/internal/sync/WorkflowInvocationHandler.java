@@ -47,6 +47,7 @@ class WorkflowInvocationHandler implements InvocationHandler {
   public enum InvocationType {
     SYNC,
     START,
+    START_ASYNC,
     EXECUTE,
     SIGNAL_WITH_START,
   }
@@ -79,6 +80,8 @@ class WorkflowInvocationHandler implements InvocationHandler {
     }
     if (type == InvocationType.START) {
       invocationContext.set(new StartWorkflowInvocationHandler());
+    } else if (type == InvocationType.START_ASYNC) {
+      invocationContext.set(new StartAsyncWorkflowInvocationHandler());
     } else if (type == InvocationType.EXECUTE) {
       invocationContext.set(new ExecuteWorkflowInvocationHandler());
     } else if (type == InvocationType.SIGNAL_WITH_START) {
@@ -243,6 +246,36 @@ class WorkflowInvocationHandler implements InvocationHandler {
     }
   }
 
+  private static class StartAsyncWorkflowInvocationHandler implements SpecificInvocationHandler {
+
+    private Object result;
+
+    @Override
+    public InvocationType getInvocationType() {
+      return InvocationType.START_ASYNC;
+    }
+
+    @Override
+    public void invoke(
+        POJOWorkflowInterfaceMetadata workflowMetadata,
+        WorkflowStub untyped,
+        Method method,
+        Object[] args) {
+      WorkflowMethod workflowMethod = method.getAnnotation(WorkflowMethod.class);
+      if (workflowMethod == null) {
+        throw new IllegalArgumentException(
+            "WorkflowClient.startAsync can be called only on a method annotated with @WorkflowMethod");
+      }
+      result = untyped.startAsync(args);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R getResult(Class<R> resultClass) {
+      return (R) result;
+    }
+  }
+
   private static class SyncWorkflowInvocationHandler implements SpecificInvocationHandler {
 
     private Object result;
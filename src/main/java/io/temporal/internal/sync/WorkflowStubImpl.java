@@ -49,7 +49,9 @@ import io.temporal.errordetails.v1.QueryFailedFailure;
 import io.temporal.errordetails.v1.WorkflowExecutionAlreadyStartedFailure;
 import io.temporal.failure.CanceledFailure;
 import io.temporal.failure.FailureConverter;
+import io.temporal.history.v1.HistoryEvent;
 import io.temporal.internal.common.CheckedExceptionWrapper;
+import io.temporal.internal.common.InternalUtils;
 import io.temporal.internal.common.SignalWithStartWorkflowExecutionParameters;
 import io.temporal.internal.common.StatusUtils;
 import io.temporal.internal.common.WorkflowExecutionFailedException;
@@ -69,6 +71,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
@@ -113,6 +116,34 @@ class WorkflowStubImpl implements WorkflowStub {
 
   @Override
   public void signal(String signalName, Object... args) {
+    SignalWorkflowExecutionRequest request = newSignalRequest(signalName, args);
+    try {
+      genericClient.signalWorkflowExecution(request);
+    } catch (Exception e) {
+      throw mapSignalException(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> signalAsync(String signalName, Object... args) {
+    SignalWorkflowExecutionRequest request;
+    try {
+      request = newSignalRequest(signalName, args);
+    } catch (Exception e) {
+      return InternalUtils.failedFuture(e);
+    }
+    return genericClient
+        .signalWorkflowExecutionAsync(request)
+        .handle(
+            (r, e) -> {
+              if (e != null) {
+                throw mapSignalException(unwrapCompletion(e));
+              }
+              return r;
+            });
+  }
+
+  private SignalWorkflowExecutionRequest newSignalRequest(String signalName, Object[] args) {
     checkStarted();
     SignalWorkflowExecutionRequest.Builder request =
         SignalWorkflowExecutionRequest.newBuilder()
@@ -130,26 +161,26 @@ class WorkflowStubImpl implements WorkflowStub {
     if (input.isPresent()) {
       request.setInput(input.get());
     }
-    try {
-      genericClient.signalWorkflowExecution(request.build());
-    } catch (StatusRuntimeException e) {
-      if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
-        throw new WorkflowNotFoundException(execution.get(), workflowType.orElse(null));
-      } else {
-        throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
-      }
-    } catch (Exception e) {
-      throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
+    return request.build();
+  }
+
+  private RuntimeException mapSignalException(Throwable e) {
+    if (e instanceof StatusRuntimeException
+        && ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.NOT_FOUND) {
+      return new WorkflowNotFoundException(execution.get(), workflowType.orElse(null));
     }
+    return new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
   }
 
-  private WorkflowExecution startWithOptions(WorkflowOptions o, Object... args) {
-    StartWorkflowExecutionRequest request = newStartWorkflowExecutionRequest(o, args);
-    try {
-      execution.set(genericClient.request(request));
-    } catch (StatusRuntimeException e) {
+  /**
+   * Maps a failure of a start or signalWithStart call. Updates the stub execution if the workflow
+   * is already running.
+   */
+  private RuntimeException mapStartException(StartWorkflowExecutionRequest request, Throwable e) {
+    if (e instanceof StatusRuntimeException) {
+      StatusRuntimeException sre = (StatusRuntimeException) e;
       WorkflowExecutionAlreadyStartedFailure f =
-          StatusUtils.getFailure(e, WorkflowExecutionAlreadyStartedFailure.class);
+          StatusUtils.getFailure(sre, WorkflowExecutionAlreadyStartedFailure.class);
       if (f != null) {
         WorkflowExecution exe =
             WorkflowExecution.newBuilder()
@@ -157,16 +188,50 @@ class WorkflowStubImpl implements WorkflowStub {
                 .setRunId(f.getRunId())
                 .build();
         execution.set(exe);
-        throw new WorkflowExecutionAlreadyStarted(exe, workflowType.get(), e);
-      } else {
-        throw e;
+        return new WorkflowExecutionAlreadyStarted(exe, workflowType.get(), sre);
       }
+      return sre;
+    }
+    return new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
+  }
+
+  private static Throwable unwrapCompletion(Throwable e) {
+    if (e instanceof CompletionException && e.getCause() != null) {
+      return e.getCause();
+    }
+    return e;
+  }
+
+  private WorkflowExecution startWithOptions(WorkflowOptions o, Object... args) {
+    StartWorkflowExecutionRequest request = newStartWorkflowExecutionRequest(o, args);
+    try {
+      execution.set(genericClient.request(request));
     } catch (Exception e) {
-      throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
+      throw mapStartException(request, e);
     }
     return execution.get();
   }
 
+  private CompletableFuture<WorkflowExecution> startWithOptionsAsync(
+      WorkflowOptions o, Object... args) {
+    StartWorkflowExecutionRequest request;
+    try {
+      request = newStartWorkflowExecutionRequest(o, args);
+    } catch (Exception e) {
+      return InternalUtils.failedFuture(e);
+    }
+    return genericClient
+        .requestAsync(request)
+        .handle(
+            (r, e) -> {
+              if (e != null) {
+                throw mapStartException(request, unwrapCompletion(e));
+              }
+              execution.set(r);
+              return r;
+            });
+  }
+
   private StartWorkflowExecutionRequest newStartWorkflowExecutionRequest(
       WorkflowOptions o, Object[] args) {
     if (execution.get() != null) {
@@ -261,30 +326,30 @@ class WorkflowStubImpl implements WorkflowStub {
     return startWithOptions(WorkflowOptions.merge(null, null, options.get()), args);
   }
 
-  private WorkflowExecution signalWithStartWithOptions(
+  @Override
+  public CompletableFuture<WorkflowExecution> startAsync(Object... args) {
+    if (!options.isPresent()) {
+      return InternalUtils.failedFuture(
+          new IllegalStateException("Required parameter WorkflowOptions is missing"));
+    }
+    return startWithOptionsAsync(WorkflowOptions.merge(null, null, options.get()), args);
+  }
+
+  private SignalWithStartWorkflowExecutionParameters newSignalWithStartParameters(
       WorkflowOptions options, String signalName, Object[] signalArgs, Object[] startArgs) {
     StartWorkflowExecutionRequest request = newStartWorkflowExecutionRequest(options, startArgs);
     Optional<Payloads> signalInput = clientOptions.getDataConverter().toPayloads(signalArgs);
+    return new SignalWithStartWorkflowExecutionParameters(request, signalName, signalInput);
+  }
+
+  private WorkflowExecution signalWithStartWithOptions(
+      WorkflowOptions options, String signalName, Object[] signalArgs, Object[] startArgs) {
     SignalWithStartWorkflowExecutionParameters p =
-        new SignalWithStartWorkflowExecutionParameters(request, signalName, signalInput);
+        newSignalWithStartParameters(options, signalName, signalArgs, startArgs);
     try {
       execution.set(genericClient.signalWithStartWorkflowExecution(p));
-    } catch (StatusRuntimeException e) {
-      WorkflowExecutionAlreadyStartedFailure f =
-          StatusUtils.getFailure(e, WorkflowExecutionAlreadyStartedFailure.class);
-      if (f != null) {
-        WorkflowExecution exe =
-            WorkflowExecution.newBuilder()
-                .setWorkflowId(request.getWorkflowId())
-                .setRunId(f.getRunId())
-                .build();
-        execution.set(exe);
-        throw new WorkflowExecutionAlreadyStarted(exe, workflowType.get(), e);
-      } else {
-        throw e;
-      }
     } catch (Exception e) {
-      throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
+      throw mapStartException(p.getStartParameters(), e);
     }
     return execution.get();
   }
@@ -299,6 +364,33 @@ class WorkflowStubImpl implements WorkflowStub {
         WorkflowOptions.merge(null, null, options.get()), signalName, signalArgs, startArgs);
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecution> signalWithStartAsync(
+      String signalName, Object[] signalArgs, Object[] startArgs) {
+    if (!options.isPresent()) {
+      return InternalUtils.failedFuture(
+          new IllegalStateException("Required parameter WorkflowOptions is missing"));
+    }
+    SignalWithStartWorkflowExecutionParameters p;
+    try {
+      p =
+          newSignalWithStartParameters(
+              WorkflowOptions.merge(null, null, options.get()), signalName, signalArgs, startArgs);
+    } catch (Exception e) {
+      return InternalUtils.failedFuture(e);
+    }
+    return genericClient
+        .signalWithStartWorkflowExecutionAsync(p)
+        .handle(
+            (r, e) -> {
+              if (e != null) {
+                throw mapStartException(p.getStartParameters(), unwrapCompletion(e));
+              }
+              execution.set(r);
+              return r;
+            });
+  }
+
   @Override
   public Optional<String> getWorkflowType() {
     return workflowType;
@@ -372,15 +464,16 @@ class WorkflowStubImpl implements WorkflowStub {
   public <R> CompletableFuture<R> getResultAsync(
       long timeout, TimeUnit unit, Class<R> resultClass, Type resultType) {
     checkStarted();
-    return WorkflowExecutionUtils.getWorkflowExecutionResultAsync(
-            genericClient.getService(),
-            genericClient.getNamespace(),
-            execution.get(),
-            workflowType,
-            timeout,
-            unit,
-            clientOptions.getDataConverter())
-        .handle(
+    WorkflowExecution workflowExecution = execution.get();
+    CompletableFuture<HistoryEvent> closeEvent =
+        genericClient.getCloseEventAsync(workflowExecution, timeout, unit);
+    CompletableFuture<Optional<Payloads>> payloads =
+        closeEvent.thenApply(
+            (event) ->
+                WorkflowExecutionUtils.getResultFromCloseEvent(
+                    workflowExecution, workflowType, event, clientOptions.getDataConverter()));
+    CompletableFuture<R> result =
+        payloads.handle(
             (r, e) -> {
               if (e instanceof CompletionException) {
                 e = e.getCause();
@@ -397,6 +490,14 @@ class WorkflowStubImpl implements WorkflowStub {
               }
               return clientOptions.getDataConverter().fromPayloads(r, resultClass, resultType);
             });
+    // Cancelling the result stops the wait and the long poll behind it.
+    result.whenComplete(
+        (r, e) -> {
+          if (e instanceof CancellationException) {
+            closeEvent.cancel(false);
+          }
+        });
+    return result;
   }
 
   private <R> R mapToWorkflowFailureException(
@@ -437,6 +538,43 @@ class WorkflowStubImpl implements WorkflowStub {
 
   @Override
   public <R> R query(String queryType, Class<R> resultClass, Type resultType, Object... args) {
+    QueryWorkflowRequest request = newQueryRequest(queryType, args);
+    QueryWorkflowResponse result;
+    try {
+      result = genericClient.request(request);
+    } catch (Exception e) {
+      throw mapQueryException(e);
+    }
+    return toQueryResult(result, resultClass, resultType);
+  }
+
+  @Override
+  public <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Object... args) {
+    return queryAsync(queryType, resultClass, resultClass, args);
+  }
+
+  @Override
+  public <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Type resultType, Object... args) {
+    QueryWorkflowRequest request;
+    try {
+      request = newQueryRequest(queryType, args);
+    } catch (Exception e) {
+      return InternalUtils.failedFuture(e);
+    }
+    return genericClient
+        .requestAsync(request)
+        .handle(
+            (r, e) -> {
+              if (e != null) {
+                throw mapQueryException(unwrapCompletion(e));
+              }
+              return toQueryResult(r, resultClass, resultType);
+            });
+  }
+
+  private QueryWorkflowRequest newQueryRequest(String queryType, Object[] args) {
     checkStarted();
     WorkflowQuery.Builder query = WorkflowQuery.newBuilder().setQueryType(queryType);
     Optional<Payloads> input = clientOptions.getDataConverter().toPayloads(args);
@@ -453,20 +591,22 @@ class WorkflowStubImpl implements WorkflowStub {
             .setQuery(query)
             .setQueryRejectCondition(clientOptions.getQueryRejectCondition())
             .build();
+    return request;
+  }
 
-    QueryWorkflowResponse result;
-    try {
-      result = genericClient.request(request);
-    } catch (StatusRuntimeException e) {
-      if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
-        throw new WorkflowNotFoundException(execution.get(), workflowType.orElse(null));
-      } else if (StatusUtils.hasFailure(e, QueryFailedFailure.class)) {
-        throw new WorkflowQueryException(execution.get(), workflowType.orElse(null), e);
+  private RuntimeException mapQueryException(Throwable e) {
+    if (e instanceof StatusRuntimeException) {
+      StatusRuntimeException sre = (StatusRuntimeException) e;
+      if (sre.getStatus().getCode() == Status.Code.NOT_FOUND) {
+        return new WorkflowNotFoundException(execution.get(), workflowType.orElse(null));
+      } else if (StatusUtils.hasFailure(sre, QueryFailedFailure.class)) {
+        return new WorkflowQueryException(execution.get(), workflowType.orElse(null), sre);
       }
-      throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
-    } catch (Exception e) {
-      throw new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
     }
+    return new WorkflowServiceException(execution.get(), workflowType.orElse(null), e);
+  }
+
+  private <R> R toQueryResult(QueryWorkflowResponse result, Class<R> resultClass, Type resultType) {
     if (!result.hasQueryRejected()) {
       Optional<Payloads> queryResult =
           result.hasQueryResult() ? Optional.of(result.getQueryResult()) : Optional.empty();
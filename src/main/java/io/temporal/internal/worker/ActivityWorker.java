@@ -40,6 +40,7 @@ import io.temporal.workflowservice.v1.PollForActivityTaskResponse;
 import io.temporal.workflowservice.v1.RespondActivityTaskCanceledRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskCompletedRequest;
 import io.temporal.workflowservice.v1.RespondActivityTaskFailedRequest;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -262,7 +263,10 @@ public final class ActivityWorker implements SuspendableWorker {
                 .setTaskToken(task.getTaskToken())
                 .setIdentity(options.getIdentity())
                 .build();
-        GrpcRetryer.retry(ro, () -> service.blockingStub().respondActivityTaskCompleted(request));
+        GrpcRetryer.retry(
+            GrpcRetryer.forMethod(
+                ro, service, WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod()),
+            () -> service.blockingStub().respondActivityTaskCompleted(request));
         metricsScope.counter(MetricsType.ACTIVITY_TASK_COMPLETED_COUNTER).inc(1);
       } else {
         Result.TaskFailedResult taskFailed = response.getTaskFailed();
@@ -277,7 +281,10 @@ public final class ActivityWorker implements SuspendableWorker {
                   .build();
           ro = RpcRetryOptions.newBuilder().setRetryOptions(ro).validateBuildWithDefaults();
 
-          GrpcRetryer.retry(ro, () -> service.blockingStub().respondActivityTaskFailed(request));
+          GrpcRetryer.retry(
+              GrpcRetryer.forMethod(
+                  ro, service, WorkflowServiceGrpc.getRespondActivityTaskFailedMethod()),
+              () -> service.blockingStub().respondActivityTaskFailed(request));
           metricsScope.counter(MetricsType.ACTIVITY_TASK_FAILED_COUNTER).inc(1);
         } else {
           RespondActivityTaskCanceledRequest taskCancelled = response.getTaskCancelled();
@@ -291,7 +298,9 @@ public final class ActivityWorker implements SuspendableWorker {
             ro = RpcRetryOptions.newBuilder().setRetryOptions(ro).validateBuildWithDefaults();
 
             GrpcRetryer.retry(
-                ro, () -> service.blockingStub().respondActivityTaskCanceled(request));
+                GrpcRetryer.forMethod(
+                    ro, service, WorkflowServiceGrpc.getRespondActivityTaskCanceledMethod()),
+                () -> service.blockingStub().respondActivityTaskCanceled(request));
             metricsScope.counter(MetricsType.ACTIVITY_TASK_CANCELED_COUNTER).inc(1);
           }
         }
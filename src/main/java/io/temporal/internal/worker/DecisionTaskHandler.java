@@ -38,6 +38,7 @@ public interface DecisionTaskHandler {
     private final RespondQueryTaskCompletedRequest queryCompleted;
     private final RpcRetryOptions requestRetryOptions;
     private final boolean finalDecision;
+    private final Throwable queryFailure;
 
     public Result(
         RespondDecisionTaskCompletedRequest taskCompleted,
@@ -45,11 +46,22 @@ public interface DecisionTaskHandler {
         RespondQueryTaskCompletedRequest queryCompleted,
         RpcRetryOptions requestRetryOptions,
         boolean finalDecision) {
+      this(taskCompleted, taskFailed, queryCompleted, requestRetryOptions, finalDecision, null);
+    }
+
+    public Result(
+        RespondDecisionTaskCompletedRequest taskCompleted,
+        RespondDecisionTaskFailedRequest taskFailed,
+        RespondQueryTaskCompletedRequest queryCompleted,
+        RpcRetryOptions requestRetryOptions,
+        boolean finalDecision,
+        Throwable queryFailure) {
       this.taskCompleted = taskCompleted;
       this.taskFailed = taskFailed;
       this.queryCompleted = queryCompleted;
       this.requestRetryOptions = requestRetryOptions;
       this.finalDecision = finalDecision;
+      this.queryFailure = queryFailure;
     }
 
     public RespondDecisionTaskCompletedRequest getTaskCompleted() {
@@ -72,6 +84,14 @@ public interface DecisionTaskHandler {
       return finalDecision;
     }
 
+    /**
+     * Exception that failed the query, null if the query didn't fail. Only its stack trace is sent
+     * to the service, this lets queries executed locally rethrow the original exception.
+     */
+    public Throwable getQueryFailure() {
+      return queryFailure;
+    }
+
     @Override
     public String toString() {
       return "Result{"
@@ -97,6 +117,17 @@ public interface DecisionTaskHandler {
    */
   Result handleDecisionTask(PollForDecisionTaskResponse decisionTask) throws Exception;
 
+  /**
+   * Handles a legacy query task using already cached workflow state without replaying history.
+   * Unlike {@link #handleDecisionTask(PollForDecisionTaskResponse)} is called without holding the
+   * workflow run lock. The cached decider serializes the query with decisions of the same workflow
+   * run.
+   *
+   * @return RespondQueryTaskCompletedRequest result or null if the cached state is missing or stale
+   *     and the task has to be handled by {@link #handleDecisionTask(PollForDecisionTaskResponse)}.
+   */
+  Result handleQueryTaskWithCachedState(PollForDecisionTaskResponse queryTask);
+
   /** True if this handler handles at least one workflow type. */
   boolean isAnyTypeSupported();
 }
@@ -201,6 +201,7 @@ public final class LocalActivityWorker implements SuspendableWorker {
       ActivityTaskHandler.Result result = handleLocalActivity(task);
 
       LocalActivityMarkerData.Builder markerBuilder = new LocalActivityMarkerData.Builder();
+      markerBuilder.setBinaryHeader(options.isEnableBinaryLocalActivityMarkers());
       PollForActivityTaskResponse.Builder activityTask = task.params.getActivityTask();
       markerBuilder.setActivityId(activityTask.getActivityId());
       markerBuilder.setActivityType(activityTask.getActivityType());
@@ -20,18 +20,23 @@
 package io.temporal.internal.worker;
 
 import com.uber.m3.tally.Scope;
+import com.uber.m3.util.Duration;
+import io.grpc.Context;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.internal.common.BackoffThrottler;
 import io.temporal.internal.common.InternalUtils;
 import io.temporal.internal.metrics.MetricsType;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +61,12 @@ public final class Poller<T> implements SuspendableWorker {
 
   private final AtomicReference<CountDownLatch> suspendLatch = new AtomicReference<>();
 
+  /** Contexts of the polls in flight. Cancelling one cancels its poll RPC. */
+  private final Set<Context.CancellableContext> activePolls = ConcurrentHashMap.newKeySet();
+
+  /** When shutdown or suspend started waiting for the active polls to end, 0 if not waiting. */
+  private final AtomicLong quiesceStartNanos = new AtomicLong();
+
   private BackoffThrottler pollBackoffThrottler;
   private Throttler pollRateThrottler;
 
@@ -152,6 +163,7 @@ public final class Poller<T> implements SuspendableWorker {
     // shutdownNow and then await to stop long polling and ensure that no new tasks
     // are dispatched to the taskExecutor.
     pollExecutor.shutdownNow();
+    cancelActivePolls();
     try {
       pollExecutor.awaitTermination(1, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
@@ -168,6 +180,7 @@ public final class Poller<T> implements SuspendableWorker {
       return;
     }
     pollExecutor.shutdownNow();
+    cancelActivePolls();
     taskExecutor.shutdownNow();
   }
 
@@ -185,11 +198,13 @@ public final class Poller<T> implements SuspendableWorker {
   public void suspendPolling() {
     log.info("suspendPolling");
     suspendLatch.set(new CountDownLatch(1));
+    cancelActivePolls();
   }
 
   @Override
   public void resumePolling() {
     log.info("resumePolling");
+    quiesceStartNanos.set(0);
     CountDownLatch existing = suspendLatch.getAndSet(null);
     if (existing != null) {
       existing.countDown();
@@ -201,6 +216,31 @@ public final class Poller<T> implements SuspendableWorker {
     return suspendLatch.get() != null;
   }
 
+  /**
+   * Cancels the poll RPCs in flight. A poll whose response already arrived still returns its task,
+   * which is processed as usual. Polls started after this call see the shutdown or suspension and
+   * don't reach the service.
+   */
+  private void cancelActivePolls() {
+    quiesceStartNanos.compareAndSet(0, System.nanoTime());
+    for (Context.CancellableContext poll : activePolls) {
+      poll.cancel(null);
+    }
+    reportQuiescedIfIdle();
+  }
+
+  private void reportQuiescedIfIdle() {
+    if (!activePolls.isEmpty()) {
+      return;
+    }
+    long start = quiesceStartNanos.getAndSet(0);
+    if (start != 0) {
+      metricsScope
+          .timer(MetricsType.POLLER_QUIESCE_LATENCY)
+          .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
   @Override
   public String toString() {
     return "Poller{" + "options=" + pollerOptions + ", identity=" + identity + '}';
@@ -270,7 +310,7 @@ public final class Poller<T> implements SuspendableWorker {
     public void run() throws Exception {
       try {
         pollSemaphore.acquire();
-        T task = pollTask.poll();
+        T task = poll();
         if (task == null) {
           return;
         }
@@ -279,5 +319,23 @@ public final class Poller<T> implements SuspendableWorker {
         pollSemaphore.release();
       }
     }
+
+    /** Polls inside a context that {@link #cancelActivePolls()} can cancel. */
+    private T poll() throws Exception {
+      Context.CancellableContext pollContext = Context.current().withCancellation();
+      activePolls.add(pollContext);
+      try {
+        // Checked after registration so that a concurrent suspend or shutdown either is seen
+        // here or cancels this poll.
+        if (suspendLatch.get() != null || pollExecutor.isShutdown()) {
+          return null;
+        }
+        return pollContext.call(pollTask::poll);
+      } finally {
+        activePolls.remove(pollContext);
+        pollContext.close();
+        reportQuiescedIfIdle();
+      }
+    }
   }
 }
@@ -45,6 +45,8 @@ public final class SingleWorkerOptions {
     private Scope metricsScope;
     private boolean enableLoggingInReplay;
     private List<ContextPropagator> contextPropagators;
+    private boolean enablePayloadMetrics;
+    private boolean enableBinaryLocalActivityMarkers;
 
     private Builder() {}
 
@@ -59,6 +61,8 @@ public final class SingleWorkerOptions {
       this.metricsScope = options.getMetricsScope();
       this.enableLoggingInReplay = options.getEnableLoggingInReplay();
       this.contextPropagators = options.getContextPropagators();
+      this.enablePayloadMetrics = options.isEnablePayloadMetrics();
+      this.enableBinaryLocalActivityMarkers = options.isEnableBinaryLocalActivityMarkers();
     }
 
     public Builder setIdentity(String identity) {
@@ -97,6 +101,16 @@ public final class SingleWorkerOptions {
       return this;
     }
 
+    public Builder setEnablePayloadMetrics(boolean enablePayloadMetrics) {
+      this.enablePayloadMetrics = enablePayloadMetrics;
+      return this;
+    }
+
+    public Builder setEnableBinaryLocalActivityMarkers(boolean enableBinaryLocalActivityMarkers) {
+      this.enableBinaryLocalActivityMarkers = enableBinaryLocalActivityMarkers;
+      return this;
+    }
+
     public SingleWorkerOptions build() {
       if (pollerOptions == null) {
         pollerOptions =
@@ -122,7 +136,9 @@ public final class SingleWorkerOptions {
           pollerOptions,
           metricsScope,
           enableLoggingInReplay,
-          contextPropagators);
+          contextPropagators,
+          enablePayloadMetrics,
+          enableBinaryLocalActivityMarkers);
     }
   }
 
@@ -133,6 +149,8 @@ public final class SingleWorkerOptions {
   private final Scope metricsScope;
   private final boolean enableLoggingInReplay;
   private List<ContextPropagator> contextPropagators;
+  private final boolean enablePayloadMetrics;
+  private final boolean enableBinaryLocalActivityMarkers;
 
   private SingleWorkerOptions(
       String identity,
@@ -141,7 +159,9 @@ public final class SingleWorkerOptions {
       PollerOptions pollerOptions,
       Scope metricsScope,
       boolean enableLoggingInReplay,
-      List<ContextPropagator> contextPropagators) {
+      List<ContextPropagator> contextPropagators,
+      boolean enablePayloadMetrics,
+      boolean enableBinaryLocalActivityMarkers) {
     this.identity = identity;
     this.dataConverter = dataConverter;
     this.taskExecutorThreadPoolSize = taskExecutorThreadPoolSize;
@@ -149,6 +169,8 @@ public final class SingleWorkerOptions {
     this.metricsScope = metricsScope;
     this.enableLoggingInReplay = enableLoggingInReplay;
     this.contextPropagators = contextPropagators;
+    this.enablePayloadMetrics = enablePayloadMetrics;
+    this.enableBinaryLocalActivityMarkers = enableBinaryLocalActivityMarkers;
   }
 
   public String getIdentity() {
@@ -178,4 +200,12 @@ public final class SingleWorkerOptions {
   public List<ContextPropagator> getContextPropagators() {
     return contextPropagators;
   }
+
+  public boolean isEnablePayloadMetrics() {
+    return enablePayloadMetrics;
+  }
+
+  public boolean isEnableBinaryLocalActivityMarkers() {
+    return enableBinaryLocalActivityMarkers;
+  }
 }
@@ -22,6 +22,7 @@ package io.temporal.internal.worker;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
 import com.uber.m3.util.Duration;
+import io.grpc.Context;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.internal.metrics.MetricsType;
@@ -78,6 +79,10 @@ final class WorkflowPollTask implements Poller.PollTask<PollForDecisionTaskRespo
           && e.getMessage().startsWith("UNAVAILABLE: Channel shutdown")) {
         return null;
       }
+      if (e.getStatus().getCode() == Status.Code.CANCELLED && Context.current().isCancelled()) {
+        // Poll cancelled by the Poller on shutdown or suspend.
+        return null;
+      }
       if (e.getStatus().getCode() == Status.Code.INTERNAL
           || e.getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED) {
         metricScope.counter(MetricsType.DECISION_POLL_TRANSIENT_FAILED_COUNTER).inc(1);
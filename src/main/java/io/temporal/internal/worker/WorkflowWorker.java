@@ -46,6 +46,8 @@ import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
 import io.temporal.workflowservice.v1.RespondDecisionTaskCompletedRequest;
 import io.temporal.workflowservice.v1.RespondDecisionTaskFailedRequest;
 import io.temporal.workflowservice.v1.RespondQueryTaskCompletedRequest;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -162,6 +164,16 @@ public final class WorkflowWorker
     return queryWorkflowExecution(queryType, args, history, ByteString.EMPTY);
   }
 
+  /**
+   * Executes query against a history read from a stream of events, for example {@link
+   * io.temporal.internal.common.HistoryEventReader} of a binary history file.
+   */
+  public Optional<Payloads> queryWorkflowExecution(
+      Iterator<HistoryEvent> events, String queryType, Optional<Payloads> args) throws Exception {
+    WorkflowExecutionHistory history = WorkflowExecutionHistory.fromEvents(events);
+    return queryWorkflowExecution(queryType, args, history, ByteString.EMPTY);
+  }
+
   private Optional<Payloads> queryWorkflowExecution(
       String queryType,
       Optional<Payloads> args,
@@ -189,7 +201,7 @@ public final class WorkflowWorker
     }
     WorkflowType workflowType = started.getWorkflowType();
     task.setWorkflowType(workflowType);
-    task.setHistory(History.newBuilder().addAllEvents(events));
+    task.setHistory(history.getHistory());
     DecisionTaskHandler.Result result = handler.handleDecisionTask(task.build());
     if (result.getQueryCompleted() != null) {
       RespondQueryTaskCompletedRequest r = result.getQueryCompleted();
@@ -202,7 +214,8 @@ public final class WorkflowWorker
                 + ", args="
                 + args
                 + ", error="
-                + r.getErrorMessage());
+                + r.getErrorMessage(),
+            result.getQueryFailure());
       }
       if (r.hasQueryResult()) {
         return Optional.of(r.getQueryResult());
@@ -288,14 +301,20 @@ public final class WorkflowWorker
       MDC.put(LoggerTag.RUN_ID, task.getWorkflowExecution().getRunId());
 
       Lock runLock = null;
-      if (!Strings.isNullOrEmpty(stickyTaskQueueName)) {
-        runLock = runLocks.getLockForLocking(task.getWorkflowExecution().getRunId());
-        runLock.lock();
-      }
-
       try {
         Stopwatch sw = metricsScope.timer(MetricsType.DECISION_EXECUTION_LATENCY).start();
-        DecisionTaskHandler.Result response = handler.handleDecisionTask(task);
+        DecisionTaskHandler.Result response = null;
+        if (task.hasQuery()) {
+          // Queries against up to date cached workflow state don't need the run lock.
+          response = handler.handleQueryTaskWithCachedState(task);
+        }
+        if (response == null) {
+          if (!Strings.isNullOrEmpty(stickyTaskQueueName)) {
+            runLock = runLocks.getLockForLocking(task.getWorkflowExecution().getRunId());
+            runLock.lock();
+          }
+          response = handler.handleDecisionTask(task);
+        }
         sw.stop();
 
         sw = metricsScope.timer(MetricsType.DECISION_RESPONSE_LATENCY).start();
@@ -338,7 +357,10 @@ public final class WorkflowWorker
                 .setIdentity(options.getIdentity())
                 .setTaskToken(taskToken)
                 .build();
-        GrpcRetryer.retry(ro, () -> service.blockingStub().respondDecisionTaskCompleted(request));
+        GrpcRetryer.retry(
+            GrpcRetryer.forMethod(
+                ro, service, WorkflowServiceGrpc.getRespondDecisionTaskCompletedMethod()),
+            () -> service.blockingStub().respondDecisionTaskCompleted(request));
       } else {
         RespondDecisionTaskFailedRequest taskFailed = response.getTaskFailed();
         if (taskFailed != null) {
@@ -353,7 +375,10 @@ public final class WorkflowWorker
                   .setIdentity(options.getIdentity())
                   .setTaskToken(taskToken)
                   .build();
-          GrpcRetryer.retry(ro, () -> service.blockingStub().respondDecisionTaskFailed(request));
+          GrpcRetryer.retry(
+              GrpcRetryer.forMethod(
+                  ro, service, WorkflowServiceGrpc.getRespondDecisionTaskFailedMethod()),
+              () -> service.blockingStub().respondDecisionTaskFailed(request));
         } else {
           RespondQueryTaskCompletedRequest queryCompleted = response.getQueryCompleted();
           if (queryCompleted != null) {
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.serviceclient;
+
+/**
+ * Configures the adaptive limit of concurrent calls of a {@link MethodGroup}. The limit is cut by
+ * the backoff ratio every time the service responds with RESOURCE_EXHAUSTED and grows by one with
+ * every successful call made while at least half of the limit is in use. Calls above the limit fail
+ * locally with RESOURCE_EXHAUSTED without reaching the service.
+ */
+public final class ConcurrencyLimitOptions {
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static Builder newBuilder(ConcurrencyLimitOptions options) {
+    return new Builder(options);
+  }
+
+  public static ConcurrencyLimitOptions getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final ConcurrencyLimitOptions DEFAULT_INSTANCE;
+
+  static {
+    DEFAULT_INSTANCE = ConcurrencyLimitOptions.newBuilder().build();
+  }
+
+  public static final class Builder {
+
+    private int initialLimit = 100;
+
+    private int minLimit = 1;
+
+    private int maxLimit = 1000;
+
+    private double backoffRatio = 0.5;
+
+    private Builder() {}
+
+    private Builder(ConcurrencyLimitOptions options) {
+      if (options == null) {
+        return;
+      }
+      this.initialLimit = options.initialLimit;
+      this.minLimit = options.minLimit;
+      this.maxLimit = options.maxLimit;
+      this.backoffRatio = options.backoffRatio;
+    }
+
+    /** Limit used before any feedback from the service. Default is 100. */
+    public Builder setInitialLimit(int initialLimit) {
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /** The limit is never cut below this value. Default is 1. */
+    public Builder setMinLimit(int minLimit) {
+      this.minLimit = minLimit;
+      return this;
+    }
+
+    /** The limit never grows above this value. Default is 1000. */
+    public Builder setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * Factor the limit is multiplied by on RESOURCE_EXHAUSTED. Must be between 0 and 1. Default is
+     * 0.5.
+     */
+    public Builder setBackoffRatio(double backoffRatio) {
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    public ConcurrencyLimitOptions build() {
+      if (minLimit < 1) {
+        throw new IllegalStateException("minLimit should be positive: " + minLimit);
+      }
+      if (maxLimit < minLimit) {
+        throw new IllegalStateException(
+            "maxLimit(" + maxLimit + ") cannot be smaller than minLimit(" + minLimit + ")");
+      }
+      if (initialLimit < minLimit || initialLimit > maxLimit) {
+        throw new IllegalStateException(
+            "initialLimit(" + initialLimit + ") should be between minLimit and maxLimit");
+      }
+      if (backoffRatio <= 0 || backoffRatio >= 1) {
+        throw new IllegalStateException("backoffRatio should be in (0, 1): " + backoffRatio);
+      }
+      return new ConcurrencyLimitOptions(initialLimit, minLimit, maxLimit, backoffRatio);
+    }
+  }
+
+  private final int initialLimit;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final double backoffRatio;
+
+  private ConcurrencyLimitOptions(
+      int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public double getBackoffRatio() {
+    return backoffRatio;
+  }
+
+  @Override
+  public String toString() {
+    return "ConcurrencyLimitOptions{"
+        + "initialLimit="
+        + initialLimit
+        + ", minLimit="
+        + minLimit
+        + ", maxLimit="
+        + maxLimit
+        + ", backoffRatio="
+        + backoffRatio
+        + '}';
+  }
+}
@@ -20,6 +20,8 @@
 package io.temporal.serviceclient;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.uber.m3.tally.NoopScope;
 import com.uber.m3.tally.Scope;
 import io.grpc.ManagedChannel;
@@ -27,8 +29,12 @@ import io.grpc.ManagedChannelBuilder;
 import io.grpc.NameResolver;
 import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
 import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 public class WorkflowServiceStubsOptions {
@@ -42,6 +48,10 @@ public class WorkflowServiceStubsOptions {
   /** Default RPC timeout for QueryWorkflow */
   private static final long DEFAULT_QUERY_RPC_TIMEOUT_MILLIS = 10000;
 
+  private static final int DEFAULT_RETRY_BUDGET_MAX_TOKENS = 100;
+
+  private static final double DEFAULT_RETRY_BUDGET_TOKEN_RATIO = 0.1;
+
   private static final WorkflowServiceStubsOptions DEFAULT_INSTANCE;
 
   static {
@@ -84,6 +94,42 @@ public class WorkflowServiceStubsOptions {
 
   private final Scope metricsScope;
 
+  /** Adaptive concurrency limits per method group */
+  private final Map<MethodGroup, ConcurrencyLimitOptions> concurrencyLimits;
+
+  /** Number of channels used for calls that are not long polls */
+  private final int channelPoolSize;
+
+  /** Number of channels dedicated to long polls, 0 to share the general channels */
+  private final int longPollChannelPoolSize;
+
+  /** Method groups whose requests are gzip compressed */
+  private final Set<MethodGroup> compressionGroups;
+
+  /** Maximum size of a response message in bytes, 0 for the gRPC default */
+  private final int maxInboundMessageSize;
+
+  /** Maximum size of a request message in bytes, 0 for the gRPC default */
+  private final int maxOutboundMessageSize;
+
+  /** Use the native epoll transport when available */
+  private final boolean enableNativeTransport;
+
+  /** Number of Netty event loop threads, 0 for the Netty default */
+  private final int eventLoopThreads;
+
+  /** Number of threads of a dedicated callback executor, 0 for the gRPC shared executor */
+  private final int callbackExecutorThreads;
+
+  /** Run callbacks directly on the event loop threads */
+  private final boolean directExecutor;
+
+  /** Number of retries allowed without successful calls, 0 to not limit retries */
+  private final int retryBudgetMaxTokens;
+
+  /** Fraction of a retry returned to the budget by each successful call */
+  private final double retryBudgetTokenRatio;
+
   private final Function<
           WorkflowServiceGrpc.WorkflowServiceBlockingStub,
           WorkflowServiceGrpc.WorkflowServiceBlockingStub>
@@ -106,6 +152,18 @@ public class WorkflowServiceStubsOptions {
     this.futureStubInterceptor = builder.futureStubInterceptor;
     this.headers = builder.headers;
     this.metricsScope = builder.metricsScope;
+    this.channelPoolSize = builder.channelPoolSize;
+    this.longPollChannelPoolSize = builder.longPollChannelPoolSize;
+    this.concurrencyLimits = builder.concurrencyLimits;
+    this.compressionGroups = builder.compressionGroups;
+    this.maxInboundMessageSize = builder.maxInboundMessageSize;
+    this.maxOutboundMessageSize = builder.maxOutboundMessageSize;
+    this.enableNativeTransport = builder.enableNativeTransport;
+    this.eventLoopThreads = builder.eventLoopThreads;
+    this.callbackExecutorThreads = builder.callbackExecutorThreads;
+    this.directExecutor = builder.directExecutor;
+    this.retryBudgetMaxTokens = builder.retryBudgetMaxTokens;
+    this.retryBudgetTokenRatio = builder.retryBudgetTokenRatio;
   }
 
   private WorkflowServiceStubsOptions(Builder builder, boolean ignore) {
@@ -124,6 +182,66 @@ public class WorkflowServiceStubsOptions {
           "Only one of the enableHttps and channel options can be set at a time");
     }
 
+    if (builder.channelPoolSize < 1) {
+      throw new IllegalStateException(
+          "channelPoolSize should be positive: " + builder.channelPoolSize);
+    }
+
+    if (builder.longPollChannelPoolSize < 0) {
+      throw new IllegalStateException(
+          "longPollChannelPoolSize should not be negative: " + builder.longPollChannelPoolSize);
+    }
+
+    if ((builder.channelPoolSize > 1 || builder.longPollChannelPoolSize > 0)
+        && builder.channel != null) {
+      throw new IllegalStateException(
+          "Only one of the channel pool and channel options can be set at a time");
+    }
+
+    if (builder.maxInboundMessageSize < 0) {
+      throw new IllegalStateException(
+          "maxInboundMessageSize should not be negative: " + builder.maxInboundMessageSize);
+    }
+
+    if (builder.maxOutboundMessageSize < 0) {
+      throw new IllegalStateException(
+          "maxOutboundMessageSize should not be negative: " + builder.maxOutboundMessageSize);
+    }
+
+    if (builder.eventLoopThreads < 0) {
+      throw new IllegalStateException(
+          "eventLoopThreads should not be negative: " + builder.eventLoopThreads);
+    }
+
+    if (builder.callbackExecutorThreads < 0) {
+      throw new IllegalStateException(
+          "callbackExecutorThreads should not be negative: " + builder.callbackExecutorThreads);
+    }
+
+    if (builder.directExecutor && builder.callbackExecutorThreads > 0) {
+      throw new IllegalStateException(
+          "Only one of the directExecutor and callbackExecutorThreads options can be set at a time");
+    }
+
+    if (builder.retryBudgetMaxTokens < 0) {
+      throw new IllegalStateException(
+          "retryBudgetMaxTokens should not be negative: " + builder.retryBudgetMaxTokens);
+    }
+
+    if (builder.retryBudgetTokenRatio <= 0) {
+      throw new IllegalStateException(
+          "retryBudgetTokenRatio should be positive: " + builder.retryBudgetTokenRatio);
+    }
+
+    if ((builder.enableNativeTransport
+            || builder.eventLoopThreads > 0
+            || builder.callbackExecutorThreads > 0
+            || builder.directExecutor)
+        && builder.channel != null) {
+      throw new IllegalStateException(
+          "Transport options and channel option cannot be set at the same time");
+    }
+
     this.target =
         builder.target == null && builder.channel == null ? LOCAL_DOCKER_TARGET : builder.target;
     this.sslContext = builder.sslContext;
@@ -137,6 +255,24 @@ public class WorkflowServiceStubsOptions {
     this.headers =
         builder.headers == null ? ImmutableMap.of() : ImmutableMap.copyOf(builder.headers);
     this.metricsScope = builder.metricsScope == null ? new NoopScope() : builder.metricsScope;
+    this.channelPoolSize = builder.channelPoolSize;
+    this.longPollChannelPoolSize = builder.longPollChannelPoolSize;
+    this.concurrencyLimits =
+        builder.concurrencyLimits == null
+            ? ImmutableMap.of()
+            : ImmutableMap.copyOf(builder.concurrencyLimits);
+    this.compressionGroups =
+        builder.compressionGroups == null
+            ? ImmutableSet.of()
+            : Sets.immutableEnumSet(builder.compressionGroups);
+    this.maxInboundMessageSize = builder.maxInboundMessageSize;
+    this.maxOutboundMessageSize = builder.maxOutboundMessageSize;
+    this.enableNativeTransport = builder.enableNativeTransport;
+    this.eventLoopThreads = builder.eventLoopThreads;
+    this.callbackExecutorThreads = builder.callbackExecutorThreads;
+    this.directExecutor = builder.directExecutor;
+    this.retryBudgetMaxTokens = builder.retryBudgetMaxTokens;
+    this.retryBudgetTokenRatio = builder.retryBudgetTokenRatio;
   }
 
   public ManagedChannel getChannel() {
@@ -196,6 +332,66 @@ public class WorkflowServiceStubsOptions {
     return metricsScope;
   }
 
+  /** @return adaptive concurrency limits keyed by the method group they apply to. */
+  public Map<MethodGroup, ConcurrencyLimitOptions> getConcurrencyLimits() {
+    return concurrencyLimits;
+  }
+
+  /** @return number of channels used for calls that are not long polls. */
+  public int getChannelPoolSize() {
+    return channelPoolSize;
+  }
+
+  /** @return number of channels dedicated to long polls, 0 if they share the general channels. */
+  public int getLongPollChannelPoolSize() {
+    return longPollChannelPoolSize;
+  }
+
+  /** @return method groups whose requests are gzip compressed. */
+  public Set<MethodGroup> getCompressionGroups() {
+    return compressionGroups;
+  }
+
+  /** @return maximum size of a response message in bytes, 0 for the gRPC default. */
+  public int getMaxInboundMessageSize() {
+    return maxInboundMessageSize;
+  }
+
+  /** @return maximum size of a request message in bytes, 0 for the gRPC default. */
+  public int getMaxOutboundMessageSize() {
+    return maxOutboundMessageSize;
+  }
+
+  /** @return true if the native epoll transport is used when available. */
+  public boolean getEnableNativeTransport() {
+    return enableNativeTransport;
+  }
+
+  /** @return number of Netty event loop threads, 0 for the Netty default. */
+  public int getEventLoopThreads() {
+    return eventLoopThreads;
+  }
+
+  /** @return number of dedicated callback threads, 0 for the gRPC shared executor. */
+  public int getCallbackExecutorThreads() {
+    return callbackExecutorThreads;
+  }
+
+  /** @return true if callbacks run directly on the event loop threads. */
+  public boolean getDirectExecutor() {
+    return directExecutor;
+  }
+
+  /** @return number of retries allowed without successful calls, 0 if retries are not limited. */
+  public int getRetryBudgetMaxTokens() {
+    return retryBudgetMaxTokens;
+  }
+
+  /** @return fraction of a retry returned to the budget by each successful call. */
+  public double getRetryBudgetTokenRatio() {
+    return retryBudgetTokenRatio;
+  }
+
   /**
    * Builder is the builder for ClientOptions.
    *
@@ -219,6 +415,18 @@ public class WorkflowServiceStubsOptions {
             WorkflowServiceGrpc.WorkflowServiceFutureStub>
         futureStubInterceptor;
     private Scope metricsScope;
+    private int channelPoolSize = 1;
+    private int longPollChannelPoolSize;
+    private Map<MethodGroup, ConcurrencyLimitOptions> concurrencyLimits;
+    private Set<MethodGroup> compressionGroups;
+    private int maxInboundMessageSize;
+    private int maxOutboundMessageSize;
+    private boolean enableNativeTransport;
+    private int eventLoopThreads;
+    private int callbackExecutorThreads;
+    private boolean directExecutor;
+    private int retryBudgetMaxTokens = DEFAULT_RETRY_BUDGET_MAX_TOKENS;
+    private double retryBudgetTokenRatio = DEFAULT_RETRY_BUDGET_TOKEN_RATIO;
 
     private Builder() {}
 
@@ -234,6 +442,18 @@ public class WorkflowServiceStubsOptions {
       this.futureStubInterceptor = options.futureStubInterceptor;
       this.headers = options.headers;
       this.metricsScope = options.metricsScope;
+      this.channelPoolSize = options.channelPoolSize;
+      this.longPollChannelPoolSize = options.longPollChannelPoolSize;
+      this.concurrencyLimits = options.concurrencyLimits;
+      this.compressionGroups = options.compressionGroups;
+      this.maxInboundMessageSize = options.maxInboundMessageSize;
+      this.maxOutboundMessageSize = options.maxOutboundMessageSize;
+      this.enableNativeTransport = options.enableNativeTransport;
+      this.eventLoopThreads = options.eventLoopThreads;
+      this.callbackExecutorThreads = options.callbackExecutorThreads;
+      this.directExecutor = options.directExecutor;
+      this.retryBudgetMaxTokens = options.retryBudgetMaxTokens;
+      this.retryBudgetTokenRatio = options.retryBudgetTokenRatio;
     }
 
     /** Sets gRPC channel to use. Exclusive with target and sslContext. */
@@ -335,6 +555,132 @@ public class WorkflowServiceStubsOptions {
       return this;
     }
 
+    /**
+     * Sets the number of channels, each with its own connection, that calls other than long polls
+     * are spread over. Every call goes to the channel with the fewest outstanding calls. Use more
+     * than one channel when a single connection hits the server's concurrent streams limit. Default
+     * is 1. Exclusive with channel.
+     */
+    public Builder setChannelPoolSize(int channelPoolSize) {
+      this.channelPoolSize = channelPoolSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of channels dedicated to PollForDecisionTask and PollForActivityTask long
+     * polls, so that pollers never take streams from latency sensitive calls. Default is 0, which
+     * sends long polls over the channels configured by {@link #setChannelPoolSize(int)}. Exclusive
+     * with channel.
+     */
+    public Builder setLongPollChannelPoolSize(int longPollChannelPoolSize) {
+      this.longPollChannelPoolSize = longPollChannelPoolSize;
+      return this;
+    }
+
+    /**
+     * Enables adaptive client side limiting of concurrent calls of the given method group. The
+     * limit shrinks when the service responds with RESOURCE_EXHAUSTED and grows back while calls
+     * succeed. Calls above the limit fail locally with RESOURCE_EXHAUSTED. Disabled by default.
+     */
+    public Builder setConcurrencyLimit(MethodGroup group, ConcurrencyLimitOptions options) {
+      if (concurrencyLimits == null) {
+        concurrencyLimits = new EnumMap<>(MethodGroup.class);
+      } else {
+        concurrencyLimits = new EnumMap<>(concurrencyLimits);
+      }
+      concurrencyLimits.put(group, options);
+      return this;
+    }
+
+    /**
+     * Enables gzip compression of requests of the given method groups. Use it for large payloads
+     * that compress well, like activity results and workflow arguments. Poll and query requests are
+     * small and rarely worth compressing. Compression of responses, including history pages, is
+     * decided by the service; the client always accepts gzip. Disabled by default.
+     */
+    public Builder setCompressionGroups(MethodGroup... groups) {
+      this.compressionGroups = groups.length == 0 ? null : EnumSet.copyOf(Arrays.asList(groups));
+      return this;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a response message. Raise it when large history pages or
+     * query results fail with RESOURCE_EXHAUSTED. Default is 0, which keeps the gRPC default of
+     * 4MB.
+     */
+    public Builder setMaxInboundMessageSize(int maxInboundMessageSize) {
+      this.maxInboundMessageSize = maxInboundMessageSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a request message. Requests above it fail locally without
+     * reaching the service. Default is 0, which keeps the gRPC default of no limit.
+     */
+    public Builder setMaxOutboundMessageSize(int maxOutboundMessageSize) {
+      this.maxOutboundMessageSize = maxOutboundMessageSize;
+      return this;
+    }
+
+    /**
+     * Uses the native epoll transport bundled with grpc-netty-shaded when it is available, which is
+     * on Linux x86_64. Falls back to NIO everywhere else. Default is false. Exclusive with channel.
+     */
+    public Builder setEnableNativeTransport(boolean enableNativeTransport) {
+      this.enableNativeTransport = enableNativeTransport;
+      return this;
+    }
+
+    /**
+     * Sets the number of Netty event loop threads shared by all channels of these stubs. Default is
+     * 0, which uses the Netty default of twice the number of cores shared by all gRPC clients of
+     * the process. Exclusive with channel.
+     */
+    public Builder setEventLoopThreads(int eventLoopThreads) {
+      this.eventLoopThreads = eventLoopThreads;
+      return this;
+    }
+
+    /**
+     * Runs gRPC callbacks on a dedicated executor with this number of threads instead of the
+     * unbounded cached pool shared by all gRPC clients of the process. Default is 0, which uses the
+     * shared pool. Exclusive with channel and directExecutor.
+     */
+    public Builder setCallbackExecutorThreads(int callbackExecutorThreads) {
+      this.callbackExecutorThreads = callbackExecutorThreads;
+      return this;
+    }
+
+    /**
+     * Runs gRPC callbacks directly on the event loop threads, saving a thread hop per call. Only
+     * safe when interceptors and future listeners never block. Default is false. Exclusive with
+     * channel and callbackExecutorThreads.
+     */
+    public Builder setDirectExecutor(boolean directExecutor) {
+      this.directExecutor = directExecutor;
+      return this;
+    }
+
+    /**
+     * Sets the number of retries that calls made through these stubs may take without any
+     * successful call in between. Once the budget is exhausted failed calls are not retried until
+     * successful calls refill it. Calls that complete decision, activity and query tasks are never
+     * limited. Default is 100. 0 doesn't limit retries.
+     */
+    public Builder setRetryBudgetMaxTokens(int retryBudgetMaxTokens) {
+      this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of a retry that each successful call returns to the retry budget. Default
+     * is 0.1, which allows one retry per ten successful calls in steady state.
+     */
+    public Builder setRetryBudgetTokenRatio(double retryBudgetTokenRatio) {
+      this.retryBudgetTokenRatio = retryBudgetTokenRatio;
+      return this;
+    }
+
     /**
      * Builds and returns a ClientOptions object.
      *
@@ -0,0 +1,164 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.testing;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated outcome of {@link WorkflowBulkReplayer} run. Contains counters and results of failed
+ * replays only, as results of successful ones are delivered to the listener passed to the replayer.
+ * Use {@link #toJson()} to produce a machine readable report.
+ */
+public final class WorkflowBulkReplaySummary {
+
+  private final int total;
+  private final int nonDeterministic;
+  private final Duration wallTime;
+  private final Duration replayTime;
+  private final Duration maxReplayTime;
+  private final List<WorkflowReplayResult> failures;
+
+  WorkflowBulkReplaySummary(
+      int total,
+      int nonDeterministic,
+      Duration wallTime,
+      Duration replayTime,
+      Duration maxReplayTime,
+      List<WorkflowReplayResult> failures) {
+    this.total = total;
+    this.nonDeterministic = nonDeterministic;
+    this.wallTime = wallTime;
+    this.replayTime = replayTime;
+    this.maxReplayTime = maxReplayTime;
+    this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+  }
+
+  /** Number of replayed histories. */
+  public int getTotal() {
+    return total;
+  }
+
+  public int getPassed() {
+    return total - failures.size();
+  }
+
+  public int getFailed() {
+    return failures.size();
+  }
+
+  /** Number of failures caused by the workflow code not being compatible with the history. */
+  public int getNonDeterministic() {
+    return nonDeterministic;
+  }
+
+  public boolean isSuccess() {
+    return failures.isEmpty();
+  }
+
+  /** Time from the replay start until the last history was replayed. */
+  public Duration getWallTime() {
+    return wallTime;
+  }
+
+  /** Sum of replay times of all histories. */
+  public Duration getReplayTime() {
+    return replayTime;
+  }
+
+  public Duration getMaxReplayTime() {
+    return maxReplayTime;
+  }
+
+  /** Results of failed replays in the order of their completion. */
+  public List<WorkflowReplayResult> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Report in the following format:
+   *
+   * <pre>
+   * {
+   *   "total": 3,
+   *   "passed": 2,
+   *   "failed": 1,
+   *   "nonDeterministic": 1,
+   *   "wallTimeMillis": 1200,
+   *   "replayTimeMillis": 3100,
+   *   "maxReplayTimeMillis": 1100,
+   *   "failures": [
+   *     {
+   *       "history": "workflow1.json",
+   *       "nonDeterministic": true,
+   *       "replayTimeMillis": 1100,
+   *       "error": "..."
+   *     }
+   *   ]
+   * }
+   * </pre>
+   */
+  public String toJson() {
+    JsonObject report = new JsonObject();
+    report.addProperty("total", total);
+    report.addProperty("passed", getPassed());
+    report.addProperty("failed", getFailed());
+    report.addProperty("nonDeterministic", nonDeterministic);
+    report.addProperty("wallTimeMillis", wallTime.toMillis());
+    report.addProperty("replayTimeMillis", replayTime.toMillis());
+    report.addProperty("maxReplayTimeMillis", maxReplayTime.toMillis());
+    JsonArray failuresJson = new JsonArray();
+    for (WorkflowReplayResult failure : failures) {
+      JsonObject failureJson = new JsonObject();
+      failureJson.addProperty("history", failure.getHistoryName());
+      failureJson.addProperty("nonDeterministic", failure.isNonDeterministic());
+      failureJson.addProperty("replayTimeMillis", failure.getReplayTime().toMillis());
+      failureJson.addProperty("error", String.valueOf(failure.getFailure().orElse(null)));
+      failuresJson.add(failureJson);
+    }
+    report.add("failures", failuresJson);
+    Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    return gson.toJson(report);
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowBulkReplaySummary{"
+        + "total="
+        + total
+        + ", failed="
+        + failures.size()
+        + ", nonDeterministic="
+        + nonDeterministic
+        + ", wallTime="
+        + wallTime
+        + ", replayTime="
+        + replayTime
+        + ", maxReplayTime="
+        + maxReplayTime
+        + '}';
+  }
+}
@@ -0,0 +1,385 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.testing;
+
+import com.google.common.base.Preconditions;
+import io.temporal.internal.common.HistoryEventReader;
+import io.temporal.internal.common.WorkflowExecutionHistory;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.worker.Worker;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Replays a large number of histories in parallel. Useful for checking that a new version of
+ * workflow code is compatible with the histories of already running or archived workflows.
+ *
+ * <p>Each replay thread uses its own in-memory test environment with all the workflow
+ * implementation types registered, so histories never share a workflow cache. Histories are
+ * consumed lazily, so a directory or an iterator of any size can be replayed without loading all of
+ * them into memory.
+ *
+ * <pre><code>
+ * WorkflowBulkReplayer replayer =
+ *     WorkflowBulkReplayer.newBuilder()
+ *         .setWorkflowImplementationTypes(MyWorkflowImpl.class)
+ *         .setParallelism(8)
+ *         .build();
+ * WorkflowBulkReplaySummary summary =
+ *     replayer.replayDirectory(new File("histories"), r -&gt; System.out.println(r));
+ * Files.write(Paths.get("replay-report.json"), summary.toJson().getBytes(UTF_8));
+ * </code></pre>
+ */
+public final class WorkflowBulkReplayer {
+
+  /** Task queue of histories that don't record one. */
+  private static final String DEFAULT_TASK_QUEUE = "bulk-replay";
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static final class Builder {
+
+    private Class<?>[] workflowImplementationTypes;
+    private int parallelism;
+    private TestEnvironmentOptions testEnvironmentOptions;
+
+    private Builder() {}
+
+    /** Workflow implementation classes to register with each replay worker. Required. */
+    public Builder setWorkflowImplementationTypes(Class<?>... workflowImplementationTypes) {
+      this.workflowImplementationTypes = workflowImplementationTypes;
+      return this;
+    }
+
+    /** Number of histories replayed concurrently. Default is the number of available processors. */
+    public Builder setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /** Options of the test environments used for replay. */
+    public Builder setTestEnvironmentOptions(TestEnvironmentOptions testEnvironmentOptions) {
+      this.testEnvironmentOptions = testEnvironmentOptions;
+      return this;
+    }
+
+    public WorkflowBulkReplayer build() {
+      Preconditions.checkState(
+          workflowImplementationTypes != null && workflowImplementationTypes.length > 0,
+          "workflowImplementationTypes are required");
+      Preconditions.checkState(parallelism >= 0, "negative parallelism");
+      return new WorkflowBulkReplayer(
+          workflowImplementationTypes.clone(),
+          parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+          testEnvironmentOptions == null
+              ? TestEnvironmentOptions.getDefaultInstance()
+              : testEnvironmentOptions);
+    }
+  }
+
+  private interface HistorySource {
+
+    String getName();
+
+    WorkflowExecutionHistory load() throws Exception;
+  }
+
+  /**
+   * Test environment of a replay thread with a worker per replayed task queue. Workers are created
+   * when a history of their task queue is replayed for the first time.
+   */
+  private final class ReplayEnvironment {
+
+    private final TestWorkflowEnvironment environment =
+        TestWorkflowEnvironment.newInstance(testEnvironmentOptions);
+    private final Map<String, Worker> workers = new HashMap<>();
+
+    Worker getWorker(WorkflowExecutionHistory history) {
+      String taskQueue =
+          history
+              .getEvents()
+              .get(0)
+              .getWorkflowExecutionStartedEventAttributes()
+              .getTaskQueue()
+              .getName();
+      if (taskQueue.isEmpty()) {
+        taskQueue = DEFAULT_TASK_QUEUE;
+      }
+      return workers.computeIfAbsent(
+          taskQueue,
+          (name) -> {
+            Worker worker = environment.newWorker(name);
+            worker.registerWorkflowImplementationTypes(workflowImplementationTypes);
+            return worker;
+          });
+    }
+
+    void close() {
+      environment.close();
+    }
+  }
+
+  private final Class<?>[] workflowImplementationTypes;
+  private final int parallelism;
+  private final TestEnvironmentOptions testEnvironmentOptions;
+
+  private WorkflowBulkReplayer(
+      Class<?>[] workflowImplementationTypes,
+      int parallelism,
+      TestEnvironmentOptions testEnvironmentOptions) {
+    this.workflowImplementationTypes = workflowImplementationTypes;
+    this.parallelism = parallelism;
+    this.testEnvironmentOptions = testEnvironmentOptions;
+  }
+
+  /**
+   * Replays all json serialized histories (files with .json extension) and all histories in the
+   * binary format written by {@link WorkflowExecutionHistory#toBinary(java.io.OutputStream)} from a
+   * directory in the alphabetical order of their names. Binary histories are detected by their
+   * header, whatever their extension.
+   *
+   * @param directory directory that contains histories.
+   * @param listener receives a result of each replay. Never called concurrently.
+   */
+  public WorkflowBulkReplaySummary replayDirectory(
+      File directory, Consumer<WorkflowReplayResult> listener) throws InterruptedException {
+    File[] files = directory.listFiles(WorkflowBulkReplayer::isHistoryFile);
+    if (files == null) {
+      throw new IllegalArgumentException("Not a directory: " + directory);
+    }
+    Arrays.sort(files);
+    return replayFiles(Arrays.asList(files).iterator(), listener);
+  }
+
+  /**
+   * Replays histories from files. Files are read by the replay threads.
+   *
+   * @param historyFiles files that contain json serialized or binary histories.
+   * @param listener receives a result of each replay. Never called concurrently.
+   */
+  public WorkflowBulkReplaySummary replayFiles(
+      Iterator<File> historyFiles, Consumer<WorkflowReplayResult> listener)
+      throws InterruptedException {
+    Iterator<HistorySource> sources =
+        new Iterator<HistorySource>() {
+          @Override
+          public boolean hasNext() {
+            return historyFiles.hasNext();
+          }
+
+          @Override
+          public HistorySource next() {
+            File file = historyFiles.next();
+            return new HistorySource() {
+              @Override
+              public String getName() {
+                return file.getName();
+              }
+
+              @Override
+              public WorkflowExecutionHistory load() throws Exception {
+                return WorkflowExecutionUtils.readHistory(file);
+              }
+            };
+          }
+        };
+    return replay(sources, listener);
+  }
+
+  /**
+   * Replays histories. Results are named by the position of the history in the iterator starting
+   * from 0.
+   *
+   * @param histories histories to replay. Consumed lazily as replay threads become available.
+   * @param listener receives a result of each replay. Never called concurrently.
+   */
+  public WorkflowBulkReplaySummary replayHistories(
+      Iterator<WorkflowExecutionHistory> histories, Consumer<WorkflowReplayResult> listener)
+      throws InterruptedException {
+    Iterator<HistorySource> sources =
+        new Iterator<HistorySource>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return histories.hasNext();
+          }
+
+          @Override
+          public HistorySource next() {
+            WorkflowExecutionHistory history = histories.next();
+            String name = String.valueOf(index++);
+            return new HistorySource() {
+              @Override
+              public String getName() {
+                return name;
+              }
+
+              @Override
+              public WorkflowExecutionHistory load() {
+                return history;
+              }
+            };
+          }
+        };
+    return replay(sources, listener);
+  }
+
+  private WorkflowBulkReplaySummary replay(
+      Iterator<HistorySource> sources, Consumer<WorkflowReplayResult> listener)
+      throws InterruptedException {
+    Objects.requireNonNull(listener);
+    long start = System.nanoTime();
+    List<ReplayEnvironment> environments = new ArrayList<>(parallelism);
+    BlockingQueue<ReplayEnvironment> idle = new ArrayBlockingQueue<>(parallelism);
+    AtomicInteger threadCounter = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            r -> {
+              Thread thread = new Thread(r, "bulk-replayer-" + threadCounter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    // Limits the number of histories that were taken from the iterator, but not replayed yet.
+    Semaphore pending = new Semaphore(parallelism * 2);
+    SummaryBuilder summary = new SummaryBuilder(listener);
+    try {
+      for (int i = 0; i < parallelism; i++) {
+        ReplayEnvironment environment = new ReplayEnvironment();
+        environments.add(environment);
+        idle.add(environment);
+      }
+      while (sources.hasNext()) {
+        pending.acquire();
+        HistorySource source = sources.next();
+        executor.execute(
+            () -> {
+              try {
+                summary.add(replay(source, idle));
+              } finally {
+                pending.release();
+              }
+            });
+      }
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } finally {
+      executor.shutdownNow();
+      for (ReplayEnvironment environment : environments) {
+        environment.close();
+      }
+    }
+    return summary.build(Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private static WorkflowReplayResult replay(
+      HistorySource source, BlockingQueue<ReplayEnvironment> idle) {
+    WorkflowExecutionHistory history;
+    try {
+      history = source.load();
+    } catch (Throwable e) {
+      return new WorkflowReplayResult(source.getName(), Duration.ZERO, e);
+    }
+    ReplayEnvironment environment;
+    try {
+      environment = idle.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new WorkflowReplayResult(source.getName(), Duration.ZERO, e);
+    }
+    long start = System.nanoTime();
+    Throwable failure = null;
+    try {
+      environment.getWorker(history).replayWorkflowExecution(history);
+    } catch (Throwable e) {
+      failure = e;
+    } finally {
+      idle.add(environment);
+    }
+    Duration replayTime = Duration.ofNanos(System.nanoTime() - start);
+    return new WorkflowReplayResult(source.getName(), replayTime, failure);
+  }
+
+  private static boolean isHistoryFile(File directory, String name) {
+    if (name.endsWith(".json")) {
+      return true;
+    }
+    File file = new File(directory, name);
+    try {
+      return file.isFile() && HistoryEventReader.isBinaryHistory(file);
+    } catch (IOException e) {
+      // Reported as a failure of the history when replay reads it.
+      return true;
+    }
+  }
+
+  private static final class SummaryBuilder {
+
+    private final Consumer<WorkflowReplayResult> listener;
+    private final List<WorkflowReplayResult> failures = new ArrayList<>();
+    private int total;
+    private int nonDeterministic;
+    private Duration replayTime = Duration.ZERO;
+    private Duration maxReplayTime = Duration.ZERO;
+
+    SummaryBuilder(Consumer<WorkflowReplayResult> listener) {
+      this.listener = listener;
+    }
+
+    synchronized void add(WorkflowReplayResult result) {
+      total++;
+      replayTime = replayTime.plus(result.getReplayTime());
+      if (result.getReplayTime().compareTo(maxReplayTime) > 0) {
+        maxReplayTime = result.getReplayTime();
+      }
+      if (!result.isSuccess()) {
+        failures.add(result);
+        if (result.isNonDeterministic()) {
+          nonDeterministic++;
+        }
+      }
+      listener.accept(result);
+    }
+
+    synchronized WorkflowBulkReplaySummary build(Duration wallTime) {
+      return new WorkflowBulkReplaySummary(
+          total, nonDeterministic, wallTime, replayTime, maxReplayTime, failures);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.testing;
+
+import io.temporal.internal.replay.NonDeterminisicWorkflowError;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/** Outcome of replaying a single history by {@link WorkflowBulkReplayer}. */
+public final class WorkflowReplayResult {
+
+  private final String historyName;
+  private final Duration replayTime;
+  private final Throwable failure;
+
+  WorkflowReplayResult(String historyName, Duration replayTime, Throwable failure) {
+    this.historyName = Objects.requireNonNull(historyName);
+    this.replayTime = Objects.requireNonNull(replayTime);
+    this.failure = failure;
+  }
+
+  /** File name of the replayed history or its position in the replayed sequence. */
+  public String getHistoryName() {
+    return historyName;
+  }
+
+  /** Time spent replaying the history. Doesn't include reading and parsing it. */
+  public Duration getReplayTime() {
+    return replayTime;
+  }
+
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /** Failure of the replay or of reading the history. Empty if replay succeeded. */
+  public Optional<Throwable> getFailure() {
+    return Optional.ofNullable(failure);
+  }
+
+  /**
+   * True if the replay failed because workflow code is not compatible with the history. False for
+   * successful replays and other failures like unregistered workflow types or corrupted history.
+   */
+  public boolean isNonDeterministic() {
+    for (Throwable e = failure; e != null; e = e.getCause()) {
+      if (e instanceof NonDeterminisicWorkflowError) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowReplayResult{"
+        + "historyName='"
+        + historyName
+        + '\''
+        + ", replayTime="
+        + replayTime
+        + ", failure="
+        + failure
+        + '}';
+  }
+}
@@ -27,7 +27,10 @@ import io.temporal.taskqueue.v1.TaskQueue;
 import io.temporal.worker.Worker;
 import java.io.File;
 
-/** Replays a workflow given its history. Useful for backwards compatibility testing. */
+/**
+ * Replays a workflow given its history. Useful for backwards compatibility testing. Use {@link
+ * WorkflowBulkReplayer} to replay a large number of histories in parallel.
+ */
 public final class WorkflowReplayer {
 
   /**
@@ -48,7 +51,8 @@ public final class WorkflowReplayer {
   /**
    * Replays workflow from a file
    *
-   * @param historyFile file that contains a json serialized history.
+   * @param historyFile file that contains a json serialized history or a history in the binary
+   *     format produced by {@link WorkflowExecutionUtils#convertJsonHistoryToBinary(File, File)}.
    * @param workflowClass s workflow implementation class to replay
    * @param moreWorkflowClasses optional additional workflow implementation classes
    * @throws Exception if replay failed for any reason.
@@ -170,6 +170,7 @@ public final class Worker implements Suspendable {
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentActivityExecutionSize())
         .setMetricsScope(metricsScope.tagged(tags))
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setEnablePayloadMetrics(factoryOptions.isEnablePayloadMetrics())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -196,6 +197,7 @@ public final class Worker implements Suspendable {
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentWorkflowTaskExecutionSize())
         .setMetricsScope(metricsScope.tagged(tags))
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setEnablePayloadMetrics(factoryOptions.isEnablePayloadMetrics())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -219,6 +221,8 @@ public final class Worker implements Suspendable {
         .setTaskExecutorThreadPoolSize(options.getMaxConcurrentLocalActivityExecutionSize())
         .setMetricsScope(metricsScope.tagged(tags))
         .setEnableLoggingInReplay(factoryOptions.isEnableLoggingInReplay())
+        .setEnablePayloadMetrics(factoryOptions.isEnablePayloadMetrics())
+        .setEnableBinaryLocalActivityMarkers(factoryOptions.isEnableBinaryLocalActivityMarkers())
         .setContextPropagators(contextPropagators)
         .build();
   }
@@ -371,16 +375,12 @@ public final class Worker implements Suspendable {
    * @throws Exception if replay failed for any reason
    */
   public void replayWorkflowExecution(WorkflowExecutionHistory history) throws Exception {
-    try {
-      workflowWorker.queryWorkflowExecution(
-          history,
-          WorkflowClient.QUERY_TYPE_REPLAY_ONLY,
-          String.class,
-          String.class,
-          new Object[] {});
-    } catch (Exception e) {
-
-    }
+    workflowWorker.queryWorkflowExecution(
+        history,
+        WorkflowClient.QUERY_TYPE_REPLAY_ONLY,
+        String.class,
+        String.class,
+        new Object[] {});
   }
 
   /**
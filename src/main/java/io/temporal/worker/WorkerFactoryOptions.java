@@ -57,6 +57,8 @@ public class WorkerFactoryOptions {
     private ActivityInterceptor[] activityInterceptors;
     private boolean enableLoggingInReplay;
     private int workflowHostLocalPollThreadCount;
+    private boolean enablePayloadMetrics;
+    private boolean enableBinaryLocalActivityMarkers;
 
     private Builder() {}
 
@@ -72,6 +74,8 @@ public class WorkerFactoryOptions {
       this.activityInterceptors = options.activityInterceptors;
       this.enableLoggingInReplay = options.enableLoggingInReplay;
       this.workflowHostLocalPollThreadCount = options.workflowHostLocalPollThreadCount;
+      this.enablePayloadMetrics = options.enablePayloadMetrics;
+      this.enableBinaryLocalActivityMarkers = options.enableBinaryLocalActivityMarkers;
     }
 
     /**
@@ -131,6 +135,32 @@ public class WorkerFactoryOptions {
       return this;
     }
 
+    /**
+     * When enabled workers report histograms of encoded payload sizes and of the time spent
+     * encoding and decoding workflow and activity arguments and results. The metrics are tagged
+     * with the workflow and activity types.
+     *
+     * <p>Default is false.
+     */
+    public Builder setEnablePayloadMetrics(boolean enablePayloadMetrics) {
+      this.enablePayloadMetrics = enablePayloadMetrics;
+      return this;
+    }
+
+    /**
+     * When enabled local activity markers are recorded with a compact binary header instead of
+     * encoding the header through the {@link io.temporal.common.converter.DataConverter}. Workers
+     * of earlier releases cannot replay histories that contain such markers, so enable it only once
+     * every worker that may replay the affected workflows can read the binary header. Both formats
+     * are always read regardless of this setting.
+     *
+     * <p>Default is false.
+     */
+    public Builder setEnableBinaryLocalActivityMarkers(boolean enableBinaryLocalActivityMarkers) {
+      this.enableBinaryLocalActivityMarkers = enableBinaryLocalActivityMarkers;
+      return this;
+    }
+
     public WorkerFactoryOptions build() {
       return new WorkerFactoryOptions(
           workflowCacheSize,
@@ -140,6 +170,8 @@ public class WorkerFactoryOptions {
           activityInterceptors,
           enableLoggingInReplay,
           workflowHostLocalPollThreadCount,
+          enablePayloadMetrics,
+          enableBinaryLocalActivityMarkers,
           false);
     }
 
@@ -152,6 +184,8 @@ public class WorkerFactoryOptions {
           activityInterceptors == null ? new ActivityInterceptor[0] : activityInterceptors,
           enableLoggingInReplay,
           workflowHostLocalPollThreadCount,
+          enablePayloadMetrics,
+          enableBinaryLocalActivityMarkers,
           true);
     }
   }
@@ -163,6 +197,8 @@ public class WorkerFactoryOptions {
   private final ActivityInterceptor[] activityInterceptors;
   private final boolean enableLoggingInReplay;
   private final int workflowHostLocalPollThreadCount;
+  private final boolean enablePayloadMetrics;
+  private final boolean enableBinaryLocalActivityMarkers;
 
   private WorkerFactoryOptions(
       int workflowCacheSize,
@@ -172,6 +208,8 @@ public class WorkerFactoryOptions {
       ActivityInterceptor[] activityInterceptors,
       boolean enableLoggingInReplay,
       int workflowHostLocalPollThreadCount,
+      boolean enablePayloadMetrics,
+      boolean enableBinaryLocalActivityMarkers,
       boolean validate) {
     if (validate) {
       Preconditions.checkState(workflowCacheSize >= 0, "negative workflowCacheSize");
@@ -205,6 +243,8 @@ public class WorkerFactoryOptions {
     this.activityInterceptors = activityInterceptors;
     this.enableLoggingInReplay = enableLoggingInReplay;
     this.workflowHostLocalPollThreadCount = workflowHostLocalPollThreadCount;
+    this.enablePayloadMetrics = enablePayloadMetrics;
+    this.enableBinaryLocalActivityMarkers = enableBinaryLocalActivityMarkers;
   }
 
   public int getWorkflowCacheSize() {
@@ -235,6 +275,14 @@ public class WorkerFactoryOptions {
     return workflowHostLocalPollThreadCount;
   }
 
+  public boolean isEnablePayloadMetrics() {
+    return enablePayloadMetrics;
+  }
+
+  public boolean isEnableBinaryLocalActivityMarkers() {
+    return enableBinaryLocalActivityMarkers;
+  }
+
   public Builder toBuilder() {
     return new Builder(this);
   }
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.workflow;
+
+import org.slf4j.Logger;
+
+/**
+ * Workflow logger that also accepts lazily built messages. The message function is invoked only
+ * when the statement is actually going to be logged, so during replay (with logging in replay
+ * disabled) neither the message nor its arguments are ever formatted.
+ *
+ * @see Workflow#getLazyLogger(Class)
+ */
+public interface LazyLogger extends Logger {
+
+  void trace(Functions.Func<String> message);
+
+  void trace(Functions.Func<String> message, Throwable t);
+
+  void debug(Functions.Func<String> message);
+
+  void debug(Functions.Func<String> message, Throwable t);
+
+  void info(Functions.Func<String> message);
+
+  void info(Functions.Func<String> message, Throwable t);
+
+  void warn(Functions.Func<String> message);
+
+  void warn(Functions.Func<String> message, Throwable t);
+
+  void error(Functions.Func<String> message);
+
+  void error(Functions.Func<String> message, Throwable t);
+}
@@ -27,6 +27,10 @@ import java.lang.annotation.Target;
 /**
  * Indicates that the method is a signal handler method. Signal method is executed when workflow
  * receives signal. This annotation applies only to workflow interface methods.
+ *
+ * <p>Parameters declared as {@link io.temporal.common.converter.Value} receive the signal payload
+ * without decoding it. The payload is decoded only when the handler calls {@code get}, which avoids
+ * deserializing large signals the workflow does not read during replay.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
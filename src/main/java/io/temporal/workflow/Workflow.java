@@ -1150,6 +1150,21 @@ public final class Workflow {
     return WorkflowInternal.getMetricsScope();
   }
 
+  /**
+   * Get scope tagged with lazily computed tags for reporting business metrics in workflow logic.
+   * During replay the tags function is not invoked and the returned scope drops all emissions
+   * without starting stopwatches, which makes instrumentation free on replay.
+   *
+   * <p>As replay can end at any blocking call the returned scope should be used right away and not
+   * kept across blocking calls.
+   *
+   * @param tags function that computes tags to apply to the scope.
+   * @return tagged scope to use in workflow logic.
+   */
+  public static Scope getMetricsScope(Func<Map<String, String>> tags) {
+    return WorkflowInternal.getMetricsScope(tags);
+  }
+
   /**
    * Get logger to use inside workflow. Logs in replay mode are omitted unless enableLoggingInReplay
    * is set to true in {@link WorkerOptions} when a worker starts up.
@@ -1172,6 +1187,32 @@ public final class Workflow {
     return WorkflowInternal.getLogger(name);
   }
 
+  /**
+   * Get logger to use inside workflow that also accepts lazily built messages. The message
+   * functions are not invoked when the statement is omitted in replay mode or the level is
+   * disabled.
+   *
+   * @param clazz class name to appear in logging.
+   * @return logger to use in workflow logic.
+   * @see #getLogger(Class)
+   */
+  public static LazyLogger getLazyLogger(Class<?> clazz) {
+    return WorkflowInternal.getLazyLogger(clazz);
+  }
+
+  /**
+   * Get logger to use inside workflow that also accepts lazily built messages. The message
+   * functions are not invoked when the statement is omitted in replay mode or the level is
+   * disabled.
+   *
+   * @param name name to appear in logging.
+   * @return logger to use in workflow logic.
+   * @see #getLogger(String)
+   */
+  public static LazyLogger getLazyLogger(String name) {
+    return WorkflowInternal.getLazyLogger(name);
+  }
+
   /**
    * GetLastCompletionResult extract last completion result from previous run for this cron
    * workflow. This is used in combination with cron schedule. A workflow can be started with an
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkExecuteTest {
+
+  private static final String TASK_QUEUE = "BulkExecuteTest";
+
+  private TestWorkflowEnvironment testEnvironment;
+  private WorkflowClient client;
+
+  @Before
+  public void setUp() {
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    Worker worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(WorkflowStubAsyncTest.GreetingWorkflowImpl.class);
+    testEnvironment.start();
+    client = testEnvironment.getWorkflowClient();
+  }
+
+  @After
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  private WorkflowStub newStub(String workflowId) {
+    WorkflowOptions options =
+        WorkflowOptions.newBuilder()
+            .setTaskQueue(TASK_QUEUE)
+            .setWorkflowId(workflowId)
+            .setWorkflowRunTimeout(Duration.ofMinutes(1))
+            .build();
+    return client.newUntypedWorkflowStub("GreetingWorkflow", options);
+  }
+
+  @Test
+  public void testBulkStartAndSignal() {
+    BulkOperationOptions options = BulkOperationOptions.newBuilder().setMaxConcurrency(3).build();
+    List<BulkOperationResult> started =
+        client
+            .bulkExecute(
+                IntStream.range(0, 10).mapToObj(i -> BulkOperation.start(newStub("w" + i), "Hi")),
+                options)
+            .collect(Collectors.toList());
+    assertEquals(10, started.size());
+    Set<String> ids = new HashSet<>();
+    for (BulkOperationResult result : started) {
+      assertTrue(result.toString(), result.isSuccess());
+      ids.add(result.getExecution().getWorkflowId());
+    }
+    assertEquals(10, ids.size());
+
+    List<BulkOperationResult> signaled =
+        client
+            .bulkExecute(
+                IntStream.range(0, 10)
+                    .mapToObj(
+                        i ->
+                            BulkOperation.signal(
+                                client.newUntypedWorkflowStub(
+                                    "w" + i, Optional.empty(), Optional.empty()),
+                                "setName",
+                                "n" + i)),
+                options)
+            .collect(Collectors.toList());
+    assertEquals(10, signaled.size());
+    for (BulkOperationResult result : signaled) {
+      assertTrue(result.toString(), result.isSuccess());
+    }
+    for (int i = 0; i < 10; i++) {
+      assertEquals(
+          "Hi n" + i,
+          client
+              .newUntypedWorkflowStub("w" + i, Optional.empty(), Optional.empty())
+              .getResult(String.class));
+    }
+  }
+
+  @Test
+  public void testAlreadyStartedIsReportedPerItem() {
+    newStub("dup").start("Hi");
+    List<BulkOperationResult> results =
+        client
+            .bulkExecute(
+                Stream.of(
+                    BulkOperation.start(newStub("dup"), "Hi"),
+                    BulkOperation.signalWithStart(
+                        newStub("new"), "setName", new Object[] {"You"}, new Object[] {"Hey"})))
+            .collect(Collectors.toList());
+    assertEquals(2, results.size());
+    for (BulkOperationResult result : results) {
+      if (result.getOperation().getType() == BulkOperation.Type.START) {
+        assertNull(result.getExecution());
+        assertTrue(result.getFailure() instanceof WorkflowExecutionAlreadyStarted);
+      } else {
+        assertTrue(result.toString(), result.isSuccess());
+        assertEquals("new", result.getExecution().getWorkflowId());
+      }
+    }
+    assertEquals(
+        "Hey You",
+        client
+            .newUntypedWorkflowStub("new", Optional.empty(), Optional.empty())
+            .getResult(String.class));
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.QueryMethod;
+import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkflowStubAsyncTest {
+
+  private static final String TASK_QUEUE = "WorkflowStubAsyncTest";
+
+  @WorkflowInterface
+  public interface GreetingWorkflow {
+    @WorkflowMethod
+    String greet(String greeting);
+
+    @SignalMethod
+    void setName(String name);
+
+    @QueryMethod
+    String getGreeting();
+  }
+
+  public static class GreetingWorkflowImpl implements GreetingWorkflow {
+
+    private String greeting;
+    private String name;
+
+    @Override
+    public String greet(String greeting) {
+      this.greeting = greeting;
+      Workflow.await(() -> name != null);
+      return getGreeting();
+    }
+
+    @Override
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getGreeting() {
+      return greeting + " " + name;
+    }
+  }
+
+  private TestWorkflowEnvironment testEnvironment;
+  private WorkflowClient client;
+
+  @Before
+  public void setUp() {
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    Worker worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(GreetingWorkflowImpl.class);
+    testEnvironment.start();
+    client = testEnvironment.getWorkflowClient();
+  }
+
+  @After
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  private WorkflowOptions newOptions(String workflowId) {
+    return WorkflowOptions.newBuilder()
+        .setTaskQueue(TASK_QUEUE)
+        .setWorkflowId(workflowId)
+        .setWorkflowRunTimeout(Duration.ofMinutes(1))
+        .build();
+  }
+
+  @Test
+  public void testUntypedAsync() throws ExecutionException, InterruptedException {
+    WorkflowStub stub =
+        client.newUntypedWorkflowStub("GreetingWorkflow", newOptions("untyped-async"));
+    WorkflowExecution execution = stub.startAsync("Hello").get();
+    assertEquals("untyped-async", execution.getWorkflowId());
+    assertEquals("Hello null", stub.queryAsync("getGreeting", String.class).get());
+    stub.signalAsync("setName", "World").get();
+    assertEquals("Hello World", stub.getResult(String.class));
+  }
+
+  @Test
+  public void testTypedAsync() throws ExecutionException, InterruptedException {
+    GreetingWorkflow workflow =
+        client.newWorkflowStub(GreetingWorkflow.class, newOptions("typed-async"));
+    WorkflowExecution execution = WorkflowClient.startAsync(workflow::greet, "Hi").get();
+    assertEquals("typed-async", execution.getWorkflowId());
+    WorkflowStub.fromTyped(workflow).signalAsync("setName", "There").get();
+    assertEquals("Hi There", WorkflowStub.fromTyped(workflow).getResult(String.class));
+  }
+
+  @Test
+  public void testSignalWithStartAsync() throws ExecutionException, InterruptedException {
+    GreetingWorkflow workflow =
+        client.newWorkflowStub(GreetingWorkflow.class, newOptions("signal-with-start-async"));
+    BatchRequest batch = client.newSignalWithStartRequest();
+    batch.add(workflow::greet, "Hey");
+    batch.add(workflow::setName, "You");
+    WorkflowExecution execution = client.signalWithStartAsync(batch).get();
+    assertEquals("signal-with-start-async", execution.getWorkflowId());
+    assertEquals("Hey You", WorkflowStub.fromTyped(workflow).getResult(String.class));
+  }
+
+  @Test
+  public void testAlreadyStartedAsync() throws ExecutionException, InterruptedException {
+    client
+        .newUntypedWorkflowStub("GreetingWorkflow", newOptions("duplicate-async"))
+        .startAsync("Hello")
+        .get();
+    try {
+      client
+          .newUntypedWorkflowStub("GreetingWorkflow", newOptions("duplicate-async"))
+          .startAsync("Hello")
+          .get();
+      fail("unreachable");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof WorkflowExecutionAlreadyStarted);
+    }
+  }
+
+  @Test
+  public void testRequestFailureCompletesFuture() throws InterruptedException {
+    WorkflowStub stub =
+        client.newUntypedWorkflowStub("GreetingWorkflow", newOptions("not-started-async"));
+    CompletableFuture<String> query = stub.queryAsync("getGreeting", String.class);
+    try {
+      query.get();
+      fail("unreachable");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.ByteString;
+import io.temporal.common.v1.Payload;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class ByteArrayPayloadConverterTest {
+
+  private final byte[] bytes = {1, 2, 3, 4};
+  private final ByteArrayPayloadConverter converter = new ByteArrayPayloadConverter();
+
+  @Test
+  public void testByteArrayIsCopied() {
+    Payload payload = converter.toData(bytes).get();
+    bytes[0] = 0;
+    byte[] result = converter.fromData(payload, byte[].class, byte[].class);
+    assertArrayEquals(new byte[] {1, 2, 3, 4}, result);
+    assertNotSame(bytes, result);
+  }
+
+  @Test
+  public void testByteArrayUnsafeWrap() {
+    Payload payload = new ByteArrayPayloadConverter(true).toData(bytes).get();
+    bytes[0] = 0;
+    assertEquals(0, payload.getData().byteAt(0));
+  }
+
+  @Test
+  public void testByteString() {
+    ByteString value = ByteString.copyFrom(bytes);
+    Payload payload = converter.toData(value).get();
+    assertSame(value, payload.getData());
+    assertSame(value, converter.fromData(payload, ByteString.class, ByteString.class));
+  }
+
+  @Test
+  public void testByteBuffer() {
+    ByteBuffer value = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    value.position(1);
+    Payload payload = converter.toData(value).get();
+    assertEquals(1, value.position());
+    ByteBuffer result = converter.fromData(payload, ByteBuffer.class, ByteBuffer.class);
+    assertTrue(result.isReadOnly());
+    assertEquals(ByteBuffer.wrap(new byte[] {2, 3, 4}), result);
+  }
+
+  @Test
+  public void testInputStream() throws IOException {
+    Payload payload = converter.toData(new ByteArrayInputStream(bytes)).get();
+    InputStream result = converter.fromData(payload, InputStream.class, InputStream.class);
+    assertArrayEquals(bytes, ByteStreams.toByteArray(result));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import com.google.protobuf.ByteString;
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.Payloads;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClaimCheckDataConverterTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private BlobStore blobStore;
+
+  @Before
+  public void setUp() throws IOException {
+    blobStore = new FileSystemBlobStore(folder.newFolder().toPath());
+  }
+
+  private DataConverter newConverter() {
+    return ClaimCheckDataConverter.newBuilder(DataConverter.getDefaultInstance(), blobStore)
+        .setThreshold(100)
+        .build();
+  }
+
+  @Test
+  public void testLargePayloadIsOffloaded() {
+    String large = Strings.repeat("x", 1000);
+    Optional<Payloads> payloads = newConverter().toPayloads("small", large);
+
+    Payload inline = payloads.get().getPayloads(0);
+    assertFalse(inline.containsMetadata(EncodingKeys.METADATA_CLAIM_CHECK_KEY));
+    Payload reference = payloads.get().getPayloads(1);
+    assertTrue(reference.containsMetadata(EncodingKeys.METADATA_CLAIM_CHECK_KEY));
+    assertTrue(reference.getData().isEmpty());
+
+    // A fresh converter has an empty cache and fetches from the store.
+    Object[] result =
+        newConverter()
+            .arrayFromPayloads(
+                payloads,
+                new Class<?>[] {String.class, String.class},
+                new Type[] {String.class, String.class});
+    assertEquals("small", result[0]);
+    assertEquals(large, result[1]);
+  }
+
+  @Test(expected = DataConverterException.class)
+  public void testMissingBlob() throws IOException {
+    String large = Strings.repeat("x", 1000);
+    Payload reference = newConverter().toPayload(large).get();
+    blobStore = new FileSystemBlobStore(folder.newFolder().toPath());
+    newConverter().fromPayload(reference, String.class, String.class);
+  }
+
+  @Test(expected = DataConverterException.class)
+  public void testCorruptedBlob() throws IOException {
+    String large = Strings.repeat("x", 1000);
+    Payload reference = newConverter().toPayload(large).get();
+    String key = reference.getMetadataOrThrow(EncodingKeys.METADATA_CLAIM_CHECK_KEY).toStringUtf8();
+    blobStore = new FileSystemBlobStore(folder.newFolder().toPath());
+    blobStore.put(key, ByteString.copyFromUtf8(Strings.repeat("y", 1000)));
+    newConverter().fromPayload(reference, String.class, String.class);
+  }
+
+  @Test(expected = DataConverterException.class)
+  public void testBlobSizeMismatch() {
+    String large = Strings.repeat("x", 1000);
+    Payload reference =
+        newConverter()
+            .toPayload(large)
+            .get()
+            .toBuilder()
+            .putMetadata(EncodingKeys.METADATA_CLAIM_CHECK_SIZE_KEY, ByteString.copyFromUtf8("10"))
+            .build();
+    newConverter().fromPayload(reference, String.class, String.class);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Strings;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.StatsReporter;
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.Payloads;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.HashMap;
+import java.util.Optional;
+import org.junit.Test;
+
+public class CompressingDataConverterTest {
+
+  private final DataConverter converter =
+      CompressingDataConverter.newBuilder(DataConverter.getDefaultInstance())
+          .setThreshold(100)
+          .build();
+
+  @Test
+  public void testLargePayloadIsCompressed() {
+    String value = Strings.repeat("compressible ", 1000);
+    Payload payload = converter.toPayload(value).get();
+    assertEquals(
+        EncodingKeys.METADATA_COMPRESSION_DEFLATE_NAME,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_COMPRESSION_KEY).toStringUtf8());
+    assertTrue(payload.getData().size() < value.length());
+    assertEquals(value, converter.fromPayload(payload, String.class, String.class));
+  }
+
+  @Test
+  public void testSmallPayloadIsNotCompressed() {
+    Payload payload = converter.toPayload("small").get();
+    assertFalse(payload.containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY));
+    assertEquals("small", converter.fromPayload(payload, String.class, String.class));
+  }
+
+  @Test
+  public void testPayloads() {
+    String large = Strings.repeat("a", 1000);
+    Optional<Payloads> payloads = converter.toPayloads("small", large);
+    assertFalse(
+        payloads.get().getPayloads(0).containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY));
+    assertTrue(
+        payloads.get().getPayloads(1).containsMetadata(EncodingKeys.METADATA_COMPRESSION_KEY));
+    Object[] result =
+        converter.arrayFromPayloads(
+            payloads,
+            new Class<?>[] {String.class, String.class},
+            new Class<?>[] {String.class, String.class});
+    assertEquals("small", result[0]);
+    assertEquals(large, result[1]);
+
+    // Payloads written without compression remain readable.
+    Optional<Payloads> uncompressed = DataConverter.getDefaultInstance().toPayloads(large);
+    assertEquals(large, converter.fromPayloads(uncompressed, String.class, String.class));
+  }
+
+  @Test
+  public void testFastDeflateHasOwnName() {
+    DataConverter fastConverter =
+        CompressingDataConverter.newBuilder(DataConverter.getDefaultInstance())
+            .setThreshold(100)
+            .setCompressor(DeflatePayloadCompressor.fast())
+            .build();
+    String value = Strings.repeat("compressible ", 1000);
+    Payload payload = fastConverter.toPayload(value).get();
+    assertEquals(
+        EncodingKeys.METADATA_COMPRESSION_DEFLATE_FAST_NAME,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_COMPRESSION_KEY).toStringUtf8());
+    // Readable by a converter configured with the default compressor.
+    assertEquals(value, converter.fromPayload(payload, String.class, String.class));
+  }
+
+  @Test
+  public void testCompressionRatioHistogram() throws Exception {
+    StatsReporter reporter = mock(StatsReporter.class);
+    Scope scope =
+        new RootScopeBuilder()
+            .reporter(reporter)
+            .reportEvery(com.uber.m3.util.Duration.ofSeconds(1000));
+    DataConverter reportingConverter =
+        CompressingDataConverter.newBuilder(DataConverter.getDefaultInstance())
+            .setThreshold(100)
+            .setMetricsScope(scope)
+            .build();
+    reportingConverter.toPayload(Strings.repeat("a", 1000));
+    reportingConverter.toPayload(Strings.repeat("b", 1000));
+    scope.close();
+
+    // Both payloads compress to well under a tenth of their size.
+    verify(reporter, times(1))
+        .reportHistogramValueSamples(
+            eq(MetricsType.PAYLOAD_COMPRESSION_RATIO),
+            eq(new HashMap<>()),
+            any(),
+            anyDouble(),
+            eq(0.1),
+            eq(2L));
+  }
+}
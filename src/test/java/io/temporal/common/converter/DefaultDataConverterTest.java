@@ -0,0 +1,128 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.protobuf.ByteString;
+import io.temporal.common.v1.Payload;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DefaultDataConverterTest {
+
+  /** Converts only non empty strings, counting the values it is offered. */
+  private static class NonEmptyStringConverter implements PayloadConverter {
+    final AtomicInteger offered = new AtomicInteger();
+
+    @Override
+    public String getEncodingType() {
+      return "test/non-empty-string";
+    }
+
+    @Override
+    public Optional<Payload> toData(Object value) throws DataConverterException {
+      offered.incrementAndGet();
+      if (value instanceof String && !((String) value).isEmpty()) {
+        return Optional.of(
+            Payload.newBuilder()
+                .putMetadata(
+                    EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFromUtf8(getEncodingType()))
+                .build());
+      }
+      return Optional.empty();
+    }
+
+    @Override
+    public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
+        throws DataConverterException {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Test
+  public void testConverterIsRememberedPerClass() {
+    NonEmptyStringConverter custom = new NonEmptyStringConverter();
+    DataConverter converter =
+        new DefaultDataConverter(
+            true, custom, new NullPayloadConverter(), new JacksonJsonPayloadConverter());
+
+    converter.toPayloads(1, 2, 3, null, null);
+    // Integer and null are offered to the custom converter only once.
+    assertEquals(2, custom.offered.get());
+
+    // Declined value of a cached class falls back to the whole chain.
+    converter.toPayload("value");
+    Payload empty = converter.toPayload("").get();
+    assertEquals("", converter.fromPayload(empty, String.class, String.class));
+    assertEquals(4, custom.offered.get());
+
+    // The fallback does not replace the remembered converter.
+    assertEquals(
+        "test/non-empty-string",
+        converter
+            .toPayload("value")
+            .get()
+            .getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY)
+            .toStringUtf8());
+    assertEquals(5, custom.offered.get());
+  }
+
+  @Test
+  public void testConvertersAreNotRememberedByDefault() {
+    NonEmptyStringConverter custom = new NonEmptyStringConverter();
+    DataConverter converter =
+        new DefaultDataConverter(
+            custom, new NullPayloadConverter(), new JacksonJsonPayloadConverter());
+    // Every value goes through the whole chain, so "value" still picks the custom converter
+    // after "" was converted by Jackson.
+    converter.toPayload("");
+    assertEquals(
+        "test/non-empty-string",
+        converter
+            .toPayload("value")
+            .get()
+            .getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY)
+            .toStringUtf8());
+    converter.toPayloads(1, 2);
+    assertEquals(4, custom.offered.get());
+  }
+
+  @Test
+  public void testNullAndByteArrayShortCircuit() {
+    DataConverter converter = DataConverter.getDefaultInstance();
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_NULL,
+        converter.toPayload(null).get().getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    Payload bytes = converter.toPayload(new byte[] {1, 2}).get();
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_RAW,
+        bytes.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertArrayEquals(new byte[] {1, 2}, converter.fromPayload(bytes, byte[].class, byte[].class));
+
+    // A custom converter ahead of the built-in ones still sees null values.
+    NonEmptyStringConverter custom = new NonEmptyStringConverter();
+    new DefaultDataConverter(custom, new NullPayloadConverter()).toPayload(null);
+    assertEquals(1, custom.offered.get());
+  }
+}
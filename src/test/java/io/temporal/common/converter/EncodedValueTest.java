@@ -20,12 +20,14 @@
 package io.temporal.common.converter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import com.google.common.base.Objects;
 import com.google.common.reflect.TypeToken;
 import io.temporal.common.v1.Payloads;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.Test;
 
@@ -79,4 +81,26 @@ public class EncodedValueTest {
     List<Pair> result = v2.get(List.class, typeToken.getType());
     assertEquals(list, result);
   }
+
+  @Test
+  public void testDecodedValueIsMemoized() {
+    DataConverter converter = DefaultDataConverter.getDefaultInstance();
+    Optional<Payloads> payloads = converter.toPayloads(new Pair(1, "foo"));
+    Value v = new EncodedValue(payloads, converter);
+    Pair first = v.get(Pair.class);
+    assertEquals(new Pair(1, "foo"), first);
+    assertSame(first, v.get(Pair.class));
+    // A different type is decoded again.
+    assertEquals("foo", v.get(Map.class).get("s"));
+  }
+
+  @Test
+  public void testMemoizedValueWithoutGenericType() {
+    DataConverter converter = DefaultDataConverter.getDefaultInstance();
+    Value v = new EncodedValue(converter.toPayloads("foo"), converter);
+    String first = v.get(String.class, null);
+    assertEquals("foo", first);
+    assertSame(first, v.get(String.class, null));
+    assertEquals("foo", v.get(String.class, String.class));
+  }
 }
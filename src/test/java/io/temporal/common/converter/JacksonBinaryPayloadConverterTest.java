@@ -0,0 +1,102 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.temporal.common.v1.Payload;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class JacksonBinaryPayloadConverterTest {
+
+  public static class Struct {
+    private String name;
+    private Instant time;
+
+    public Struct() {}
+
+    Struct(String name, Instant time) {
+      this.name = name;
+      this.time = time;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Struct struct = (Struct) o;
+      return Objects.equals(name, struct.name) && Objects.equals(time, struct.time);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, time);
+    }
+  }
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> converters() {
+    return Arrays.asList(
+        new Object[][] {{new JacksonCborPayloadConverter()}, {new JacksonSmilePayloadConverter()}});
+  }
+
+  private final PayloadConverter binaryConverter;
+  private final Struct value = new Struct("foo", Instant.ofEpochSecond(1000));
+
+  public JacksonBinaryPayloadConverterTest(PayloadConverter binaryConverter) {
+    this.binaryConverter = binaryConverter;
+  }
+
+  @Test
+  public void testRoundTripAndSize() {
+    Payload binary = binaryConverter.toData(value).get();
+    Payload json = new JacksonJsonPayloadConverter().toData(value).get();
+    assertEquals(
+        binaryConverter.getEncodingType(),
+        binary.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+    assertTrue(binary.getData().size() < json.getData().size());
+    assertEquals(value, binaryConverter.fromData(binary, Struct.class, Struct.class));
+  }
+
+  @Test
+  public void testReadsJsonWrittenBefore() {
+    DataConverter previous = DataConverter.getDefaultInstance();
+    DataConverter preferBinary =
+        new DefaultDataConverter(
+            new NullPayloadConverter(),
+            new ByteArrayPayloadConverter(),
+            binaryConverter,
+            new JacksonJsonPayloadConverter());
+    Payload json = previous.toPayload(value).get();
+    assertEquals(value, preferBinary.fromPayload(json, Struct.class, Struct.class));
+    Payload binary = preferBinary.toPayload(value).get();
+    assertEquals(
+        binaryConverter.getEncodingType(),
+        binary.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+  }
+}
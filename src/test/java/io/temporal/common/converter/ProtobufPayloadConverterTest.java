@@ -0,0 +1,119 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.common.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.google.protobuf.Message;
+import io.temporal.common.v1.Payload;
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.common.v1.WorkflowType;
+import org.junit.Test;
+
+public class ProtobufPayloadConverterTest {
+
+  private final WorkflowExecution execution =
+      WorkflowExecution.newBuilder().setWorkflowId("workflow1").setRunId("run1").build();
+
+  @Test
+  public void testDefaultConverterUsesBinaryEncoding() {
+    DataConverter converter = DataConverter.getDefaultInstance();
+    Payload payload = converter.toPayload(execution).get();
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_PROTOBUF,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertEquals(
+        WorkflowExecution.getDescriptor().getFullName(),
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_MESSAGE_TYPE_KEY).toString(UTF_8));
+    assertEquals(execution.toByteString(), payload.getData());
+    assertEquals(
+        execution,
+        converter.fromPayload(payload, WorkflowExecution.class, WorkflowExecution.class));
+  }
+
+  @Test
+  public void testJsonEncoding() {
+    DataConverter converter =
+        new DefaultDataConverter(
+            new NullPayloadConverter(),
+            new ProtobufJsonPayloadConverter(),
+            new JacksonJsonPayloadConverter());
+    Payload payload = converter.toPayload(execution).get();
+    assertEquals(
+        EncodingKeys.METADATA_ENCODING_PROTOBUF_JSON,
+        payload.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY));
+    assertEquals(
+        execution,
+        converter.fromPayload(payload, WorkflowExecution.class, WorkflowExecution.class));
+  }
+
+  @Test
+  public void testMessageTypeMismatch() {
+    DataConverter converter = DataConverter.getDefaultInstance();
+    Payload payload = converter.toPayload(execution).get();
+    try {
+      converter.fromPayload(payload, WorkflowType.class, WorkflowType.class);
+      fail("unreachable");
+    } catch (DataConverterException e) {
+      assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+  }
+
+  @Test
+  public void testMessageTypeMismatchInConverter() {
+    Payload payload = DataConverter.getDefaultInstance().toPayload(execution).get();
+    try {
+      new ProtobufPayloadConverter().fromData(payload, WorkflowType.class, WorkflowType.class);
+      fail("unreachable");
+    } catch (DataConverterException e) {
+      assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+  }
+
+  @Test
+  public void testAbstractTypeResolvedFromMessageType() {
+    ProtobufPayloadConverter converter = new ProtobufPayloadConverter();
+    Payload payload = converter.toData(execution).get();
+    assertEquals(execution, converter.fromData(payload, Message.class, Message.class));
+    assertEquals(
+        execution, converter.fromData(payload, GeneratedMessageV3.class, GeneratedMessageV3.class));
+
+    // Known to the converter after being deserialized to its concrete class.
+    ProtobufJsonPayloadConverter jsonConverter = new ProtobufJsonPayloadConverter();
+    Payload json = jsonConverter.toData(execution).get();
+    ProtobufJsonPayloadConverter otherJsonConverter = new ProtobufJsonPayloadConverter();
+    otherJsonConverter.fromData(json, WorkflowExecution.class, WorkflowExecution.class);
+    assertEquals(execution, otherJsonConverter.fromData(json, Message.class, Message.class));
+  }
+
+  @Test
+  public void testAbstractTypeOfUnknownMessageType() {
+    Payload payload = new ProtobufPayloadConverter().toData(execution).get();
+    try {
+      new ProtobufPayloadConverter().fromData(payload, Message.class, Message.class);
+      fail("unreachable");
+    } catch (DataConverterException e) {
+      assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+    }
+  }
+}
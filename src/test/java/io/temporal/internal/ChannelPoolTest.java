@@ -0,0 +1,145 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.StatsReporter;
+import com.uber.m3.util.Duration;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.temporal.internal.metrics.MetricsTag;
+import io.temporal.internal.metrics.MetricsType;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ChannelPoolTest {
+
+  private final List<ManagedChannel> created = new ArrayList<>();
+  private final List<ClientCall<?, ?>> delegateCalls = new ArrayList<>();
+  private ManagedChannel lastChannel;
+
+  @SuppressWarnings("unchecked")
+  private ManagedChannel newChannel() {
+    ManagedChannel channel = mock(ManagedChannel.class);
+    when(channel.newCall(any(MethodDescriptor.class), any(CallOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              lastChannel = channel;
+              ClientCall<?, ?> call = mock(ClientCall.class);
+              delegateCalls.add(call);
+              return call;
+            });
+    created.add(channel);
+    return channel;
+  }
+
+  private ManagedChannel start(ChannelPool pool, MethodDescriptor<?, ?> method) {
+    ClientCall<?, ?> call = pool.newCall(method, CallOptions.DEFAULT);
+    call.start(new ClientCall.Listener() {}, new Metadata());
+    return lastChannel;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void close(int callIndex) {
+    ClientCall<Object, Object> delegate = (ClientCall<Object, Object>) delegateCalls.get(callIndex);
+    ArgumentCaptor<ClientCall.Listener> listener =
+        ArgumentCaptor.forClass(ClientCall.Listener.class);
+    verify(delegate).start(listener.capture(), any(Metadata.class));
+    listener.getValue().onClose(Status.OK, new Metadata());
+  }
+
+  @Test
+  public void testLeastOutstandingCalls() {
+    ChannelPool pool = new ChannelPool(this::newChannel, 2, 0, new NoopScope());
+    MethodDescriptor<?, ?> method = WorkflowServiceGrpc.getDescribeNamespaceMethod();
+    ManagedChannel first = start(pool, method);
+    ManagedChannel second = start(pool, method);
+    assertNotSame(first, second);
+    close(0);
+    assertSame(first, start(pool, method));
+    close(1);
+    assertSame(second, start(pool, method));
+  }
+
+  @Test
+  public void testLongPollChannels() {
+    ChannelPool pool = new ChannelPool(this::newChannel, 1, 1, new NoopScope());
+    ManagedChannel general = created.get(0);
+    ManagedChannel longPoll = created.get(1);
+    assertSame(longPoll, start(pool, WorkflowServiceGrpc.getPollForDecisionTaskMethod()));
+    assertSame(longPoll, start(pool, WorkflowServiceGrpc.getPollForActivityTaskMethod()));
+    assertSame(general, start(pool, WorkflowServiceGrpc.getDescribeNamespaceMethod()));
+    assertSame(general, start(pool, WorkflowServiceGrpc.getRespondDecisionTaskCompletedMethod()));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPoolsSharingScopeReportSeparateGauges() {
+    StatsReporter reporter = mock(StatsReporter.class);
+    // Metrics are flushed by closing the scope.
+    Scope scope = new RootScopeBuilder().reporter(reporter).reportEvery(Duration.ofSeconds(1000));
+    MethodDescriptor<?, ?> method = WorkflowServiceGrpc.getDescribeNamespaceMethod();
+    start(new ChannelPool(this::newChannel, 1, 0, scope), method);
+    start(new ChannelPool(this::newChannel, 1, 0, scope), method);
+    scope.close();
+
+    ArgumentCaptor<Map> tags = ArgumentCaptor.forClass(Map.class);
+    verify(reporter, times(2))
+        .reportGauge(eq(MetricsType.GRPC_CHANNEL_IN_FLIGHT_CALLS), tags.capture(), anyDouble());
+    Set<Object> pools = new HashSet<>();
+    for (Map<String, String> channelTags : tags.getAllValues()) {
+      assertEquals("default-0", channelTags.get(MetricsTag.CHANNEL));
+      pools.add(channelTags.get(MetricsTag.CHANNEL_POOL));
+    }
+    assertEquals(2, pools.size());
+  }
+
+  @Test
+  public void testShutdownAllChannels() {
+    ChannelPool pool = new ChannelPool(this::newChannel, 2, 1, new NoopScope());
+    pool.shutdown();
+    for (ManagedChannel channel : created) {
+      verify(channel).shutdown();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.temporal.serviceclient.MethodGroup;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class GrpcCallOptionsInterceptorTest {
+
+  private static CallOptions intercept(
+      WorkflowServiceStubsOptions options, MethodDescriptor<?, ?> method) {
+    Channel next = mock(Channel.class);
+    new GrpcCallOptionsInterceptor(options).interceptCall(method, CallOptions.DEFAULT, next);
+    ArgumentCaptor<CallOptions> captor = ArgumentCaptor.forClass(CallOptions.class);
+    verify(next).newCall(eq(method), captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  public void testCompressesOnlySelectedGroups() {
+    WorkflowServiceStubsOptions options =
+        WorkflowServiceStubsOptions.newBuilder()
+            .setCompressionGroups(MethodGroup.RESPOND, MethodGroup.START_SIGNAL)
+            .validateAndBuildWithDefaults();
+    assertTrue(GrpcCallOptionsInterceptor.isNeeded(options));
+    assertEquals(
+        "gzip",
+        intercept(options, WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod())
+            .getCompressor());
+    assertEquals(
+        "gzip",
+        intercept(options, WorkflowServiceGrpc.getStartWorkflowExecutionMethod()).getCompressor());
+    assertNull(
+        intercept(options, WorkflowServiceGrpc.getGetWorkflowExecutionHistoryMethod())
+            .getCompressor());
+    assertNull(intercept(options, WorkflowServiceGrpc.getQueryWorkflowMethod()).getCompressor());
+  }
+
+  @Test
+  public void testMessageSizeLimits() {
+    WorkflowServiceStubsOptions options =
+        WorkflowServiceStubsOptions.newBuilder()
+            .setMaxInboundMessageSize(64 * 1024 * 1024)
+            .setMaxOutboundMessageSize(8 * 1024 * 1024)
+            .validateAndBuildWithDefaults();
+    CallOptions callOptions =
+        intercept(options, WorkflowServiceGrpc.getPollForDecisionTaskMethod());
+    assertEquals(Integer.valueOf(64 * 1024 * 1024), callOptions.getMaxInboundMessageSize());
+    assertEquals(Integer.valueOf(8 * 1024 * 1024), callOptions.getMaxOutboundMessageSize());
+    assertNull(callOptions.getCompressor());
+  }
+
+  @Test
+  public void testNotNeededByDefault() {
+    assertFalse(
+        GrpcCallOptionsInterceptor.isNeeded(
+            WorkflowServiceStubsOptions.newBuilder().validateAndBuildWithDefaults()));
+  }
+}
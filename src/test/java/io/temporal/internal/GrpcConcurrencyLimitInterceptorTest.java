@@ -0,0 +1,187 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.uber.m3.tally.NoopScope;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.temporal.internal.GrpcConcurrencyLimitInterceptor.AimdLimiter;
+import io.temporal.internal.common.StatusUtils;
+import io.temporal.serviceclient.ConcurrencyLimitOptions;
+import io.temporal.serviceclient.MethodGroup;
+import io.temporal.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.workflowservice.v1.StartWorkflowExecutionResponse;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class GrpcConcurrencyLimitInterceptorTest {
+
+  private final ConcurrencyLimitOptions options =
+      ConcurrencyLimitOptions.newBuilder()
+          .setInitialLimit(4)
+          .setMinLimit(1)
+          .setMaxLimit(6)
+          .setBackoffRatio(0.5)
+          .build();
+
+  @Test
+  public void testRejectsAboveLimit() {
+    AimdLimiter limiter = new AimdLimiter(options, new NoopScope());
+    for (int i = 0; i < 4; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+    assertFalse(limiter.tryAcquire());
+    limiter.release(Status.DEADLINE_EXCEEDED);
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void testResourceExhaustedCutsLimit() {
+    AimdLimiter limiter = new AimdLimiter(options, new NoopScope());
+    assertTrue(limiter.tryAcquire());
+    limiter.release(Status.RESOURCE_EXHAUSTED);
+    assertEquals(2, limiter.getLimit());
+    assertTrue(limiter.tryAcquire());
+    limiter.release(Status.RESOURCE_EXHAUSTED);
+    assertTrue(limiter.tryAcquire());
+    limiter.release(Status.RESOURCE_EXHAUSTED);
+    assertEquals(1, limiter.getLimit());
+  }
+
+  @Test
+  public void testLocalRejectionDoesNotCutLimit() {
+    AimdLimiter limiter = new AimdLimiter(options, new NoopScope());
+    assertTrue(limiter.tryAcquire());
+    limiter.release(StatusUtils.newLocalRejection("test"));
+    assertEquals(4, limiter.getLimit());
+  }
+
+  @Test
+  public void testRejectionClosesOnCallExecutor() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    MethodDescriptor<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> method =
+        WorkflowServiceGrpc.getStartWorkflowExecutionMethod();
+    // Never responds, so the first call holds the only permit.
+    ServerServiceDefinition service =
+        ServerServiceDefinition.builder(WorkflowServiceGrpc.SERVICE_NAME)
+            .addMethod(method, ServerCalls.asyncUnaryCall((request, responseObserver) -> {}))
+            .build();
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(service)
+            .build()
+            .start();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).executor(executor).build();
+    try {
+      ConcurrencyLimitOptions limit =
+          ConcurrencyLimitOptions.newBuilder()
+              .setInitialLimit(1)
+              .setMinLimit(1)
+              .setMaxLimit(1)
+              .build();
+      GrpcConcurrencyLimitInterceptor interceptor =
+          new GrpcConcurrencyLimitInterceptor(
+              ImmutableMap.of(MethodGroup.START_SIGNAL, limit), new NoopScope());
+      Channel limited = ClientInterceptors.intercept(channel, interceptor);
+      ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> first =
+          limited.newCall(method, CallOptions.DEFAULT);
+      ClientCalls.futureUnaryCall(first, StartWorkflowExecutionRequest.getDefaultInstance());
+
+      CompletableFuture<Status> closed = new CompletableFuture<>();
+      CompletableFuture<Thread> closeThread = new CompletableFuture<>();
+      ClientCall<StartWorkflowExecutionRequest, StartWorkflowExecutionResponse> rejected =
+          limited.newCall(method, CallOptions.DEFAULT);
+      rejected.start(
+          new ClientCall.Listener<StartWorkflowExecutionResponse>() {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              closeThread.complete(Thread.currentThread());
+              closed.complete(status);
+            }
+          },
+          new Metadata());
+      rejected.request(1);
+      rejected.sendMessage(StartWorkflowExecutionRequest.getDefaultInstance());
+      rejected.halfClose();
+
+      Status status = closed.get(10, TimeUnit.SECONDS);
+      assertTrue(StatusUtils.isLocalRejection(status));
+      assertNotSame(Thread.currentThread(), closeThread.get());
+      first.cancel("done", null);
+    } finally {
+      channel.shutdownNow();
+      server.shutdownNow();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSuccessProbesUp() {
+    AimdLimiter limiter = new AimdLimiter(options, new NoopScope());
+    // Underused limit is not raised
+    assertTrue(limiter.tryAcquire());
+    limiter.release(Status.OK);
+    assertEquals(4, limiter.getLimit());
+    for (int i = 0; i < 10; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertTrue(limiter.tryAcquire());
+      }
+      for (int j = 0; j < 3; j++) {
+        limiter.release(Status.OK);
+      }
+    }
+    assertEquals(6, limiter.getLimit());
+  }
+
+  @Test
+  public void testMethodGroups() {
+    assertEquals(
+        MethodGroup.POLL, GrpcMethodGroups.get(WorkflowServiceGrpc.getPollForActivityTaskMethod()));
+    assertEquals(
+        MethodGroup.START_SIGNAL,
+        GrpcMethodGroups.get(WorkflowServiceGrpc.getStartWorkflowExecutionMethod()));
+    assertNull(GrpcMethodGroups.get(WorkflowServiceGrpc.getDescribeNamespaceMethod()));
+  }
+}
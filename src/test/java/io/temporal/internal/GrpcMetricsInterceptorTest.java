@@ -0,0 +1,291 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal;
+
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_ERROR;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_LONG_POLL_EMPTY_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_LONG_POLL_TASK_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_METRICS_PREFIX;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_REQUEST;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_REQUEST_LATENCY;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_REQUEST_SIZE;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_REQUEST_UNCOMPRESSED_BYTES;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_REQUEST_WIRE_BYTES;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_RESPONSE_SIZE;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_RESPONSE_WIRE_BYTES;
+import static io.temporal.internal.metrics.MetricsType.TEMPORAL_TIME_TO_FIRST_BYTE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.StatsReporter;
+import com.uber.m3.util.Duration;
+import io.grpc.ClientInterceptors;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCalls;
+import io.temporal.internal.GrpcMetricsInterceptor.MessageSizeTracerFactory;
+import io.temporal.internal.common.StatusUtils;
+import io.temporal.internal.metrics.MetricsTag;
+import io.temporal.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.workflowservice.v1.PollForDecisionTaskRequest;
+import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
+import io.temporal.workflowservice.v1.SignalWorkflowExecutionRequest;
+import io.temporal.workflowservice.v1.StartWorkflowExecutionRequest;
+import io.temporal.workflowservice.v1.StartWorkflowExecutionResponse;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class GrpcMetricsInterceptorTest {
+
+  private static final String START = TEMPORAL_METRICS_PREFIX + "StartWorkflowExecution.";
+  private static final String SIGNAL = TEMPORAL_METRICS_PREFIX + "SignalWorkflowExecution.";
+  private static final String POLL = TEMPORAL_METRICS_PREFIX + "PollForDecisionTask.";
+  private static final String HISTORY = TEMPORAL_METRICS_PREFIX + "GetWorkflowExecutionHistory.";
+
+  private StatsReporter reporter;
+  private Scope scope;
+  private Server server;
+  private ManagedChannel channel;
+  private WorkflowServiceGrpc.WorkflowServiceBlockingStub stub;
+
+  @Before
+  public void setUp() throws Exception {
+    // Polls with the "task" identity get a task, the others return empty.
+    ServerServiceDefinition service =
+        ServerServiceDefinition.builder(WorkflowServiceGrpc.SERVICE_NAME)
+            .addMethod(
+                WorkflowServiceGrpc.getStartWorkflowExecutionMethod(),
+                ServerCalls.asyncUnaryCall(
+                    (request, responseObserver) -> {
+                      responseObserver.onNext(
+                          StartWorkflowExecutionResponse.newBuilder().setRunId("run").build());
+                      responseObserver.onCompleted();
+                    }))
+            .addMethod(
+                WorkflowServiceGrpc.getSignalWorkflowExecutionMethod(),
+                ServerCalls.asyncUnaryCall(
+                    (request, responseObserver) ->
+                        responseObserver.onError(Status.NOT_FOUND.asRuntimeException())))
+            .addMethod(
+                WorkflowServiceGrpc.getPollForDecisionTaskMethod(),
+                ServerCalls.<PollForDecisionTaskRequest, PollForDecisionTaskResponse>asyncUnaryCall(
+                    (request, responseObserver) -> {
+                      PollForDecisionTaskResponse.Builder response =
+                          PollForDecisionTaskResponse.newBuilder();
+                      if (request.getIdentity().equals("task")) {
+                        response.setTaskToken(ByteString.copyFromUtf8("token"));
+                      }
+                      responseObserver.onNext(response.build());
+                      responseObserver.onCompleted();
+                    }))
+            .addMethod(
+                WorkflowServiceGrpc.getGetWorkflowExecutionHistoryMethod(),
+                ServerCalls.asyncUnaryCall(
+                    (request, responseObserver) -> {
+                      // Never responds, calls end by their deadline.
+                    }))
+            .build();
+    String serverName = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(service)
+            .build()
+            .start();
+    channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    reporter = mock(StatsReporter.class);
+    // Metrics are flushed by closing the scope.
+    scope = new RootScopeBuilder().reporter(reporter).reportEvery(Duration.ofSeconds(1000));
+    stub =
+        WorkflowServiceGrpc.newBlockingStub(
+            ClientInterceptors.intercept(channel, new GrpcMetricsInterceptor(scope)));
+  }
+
+  @After
+  public void tearDown() {
+    channel.shutdownNow();
+    server.shutdownNow();
+  }
+
+  @Test
+  public void testStatusCodeTags() throws Exception {
+    stub.startWorkflowExecution(StartWorkflowExecutionRequest.getDefaultInstance());
+    try {
+      stub.signalWorkflowExecution(SignalWorkflowExecutionRequest.getDefaultInstance());
+      fail("unreachable");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+    scope.close();
+
+    verify(reporter, times(1)).reportCounter(START + TEMPORAL_REQUEST, new HashMap<>(), 1);
+    verify(reporter, never()).reportCounter(eq(START + TEMPORAL_ERROR), any(), anyLong());
+    verify(reporter, times(1)).reportCounter(SIGNAL + TEMPORAL_ERROR, new HashMap<>(), 1);
+    assertEquals(1, durationSamples(START + TEMPORAL_REQUEST_LATENCY, statusTags(Status.Code.OK)));
+    assertEquals(
+        1, durationSamples(SIGNAL + TEMPORAL_REQUEST_LATENCY, statusTags(Status.Code.NOT_FOUND)));
+    assertEquals(0, durationSamples(SIGNAL + TEMPORAL_REQUEST_LATENCY, statusTags(Status.Code.OK)));
+    verify(reporter, times(1))
+        .reportTimer(eq(START + TEMPORAL_LATENCY), eq(new HashMap<>()), any());
+  }
+
+  @Test
+  public void testTimeToFirstByte() throws Exception {
+    stub.startWorkflowExecution(StartWorkflowExecutionRequest.getDefaultInstance());
+    stub.startWorkflowExecution(StartWorkflowExecutionRequest.getDefaultInstance());
+    scope.close();
+
+    // Reported once per call, even though both headers and a message were received.
+    assertEquals(2, durationSamples(START + TEMPORAL_TIME_TO_FIRST_BYTE, new HashMap<>()));
+  }
+
+  @Test
+  public void testLongPollTaskAndEmptySplit() throws Exception {
+    stub.pollForDecisionTask(PollForDecisionTaskRequest.newBuilder().setIdentity("task").build());
+    stub.pollForDecisionTask(PollForDecisionTaskRequest.newBuilder().setIdentity("task").build());
+    stub.pollForDecisionTask(PollForDecisionTaskRequest.getDefaultInstance());
+    scope.close();
+
+    assertEquals(2, durationSamples(POLL + TEMPORAL_LONG_POLL_TASK_LATENCY, new HashMap<>()));
+    assertEquals(1, durationSamples(POLL + TEMPORAL_LONG_POLL_EMPTY_LATENCY, new HashMap<>()));
+    // Long polls still feed the latency timer.
+    verify(reporter, times(3)).reportTimer(eq(POLL + TEMPORAL_LATENCY), eq(new HashMap<>()), any());
+  }
+
+  @Test
+  public void testExpectedDeadlineExceededIsNotAnError() throws Exception {
+    try {
+      stub.withDeadlineAfter(10, TimeUnit.MILLISECONDS)
+          .withOption(StatusUtils.EXPECTED_DEADLINE_EXCEEDED, true)
+          .getWorkflowExecutionHistory(GetWorkflowExecutionHistoryRequest.getDefaultInstance());
+      fail("unreachable");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+    }
+    scope.close();
+
+    verify(reporter, times(1)).reportCounter(HISTORY + TEMPORAL_REQUEST, new HashMap<>(), 1);
+    verify(reporter, never()).reportCounter(eq(HISTORY + TEMPORAL_ERROR), any(), anyLong());
+    assertEquals(
+        0,
+        durationSamples(
+            HISTORY + TEMPORAL_REQUEST_LATENCY, statusTags(Status.Code.DEADLINE_EXCEEDED)));
+  }
+
+  @Test
+  public void testUnexpectedDeadlineExceededIsAnError() throws Exception {
+    try {
+      stub.withDeadlineAfter(10, TimeUnit.MILLISECONDS)
+          .getWorkflowExecutionHistory(GetWorkflowExecutionHistoryRequest.getDefaultInstance());
+      fail("unreachable");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+    }
+    scope.close();
+
+    verify(reporter, times(1)).reportCounter(HISTORY + TEMPORAL_ERROR, new HashMap<>(), 1);
+    assertEquals(
+        1,
+        durationSamples(
+            HISTORY + TEMPORAL_REQUEST_LATENCY, statusTags(Status.Code.DEADLINE_EXCEEDED)));
+  }
+
+  @Test
+  public void testMessageSizes() throws Exception {
+    // The in-process transport doesn't report wire sizes, so the tracer is driven directly.
+    Scope methodScope = scope.subScope(TEMPORAL_METRICS_PREFIX + "StartWorkflowExecution");
+    ClientStreamTracer tracer =
+        new MessageSizeTracerFactory(methodScope)
+            .newClientStreamTracer(
+                ClientStreamTracer.StreamInfo.newBuilder().build(), new Metadata());
+    tracer.outboundUncompressedSize(1000);
+    tracer.outboundWireSize(100);
+    tracer.inboundUncompressedSize(300);
+    tracer.inboundWireSize(300);
+    tracer.inboundUncompressedSize(5000);
+    tracer.inboundWireSize(5000);
+    scope.close();
+
+    verify(reporter, times(1))
+        .reportCounter(START + TEMPORAL_REQUEST_UNCOMPRESSED_BYTES, new HashMap<>(), 1000);
+    verify(reporter, times(1))
+        .reportCounter(START + TEMPORAL_REQUEST_WIRE_BYTES, new HashMap<>(), 100);
+    verify(reporter, times(1))
+        .reportCounter(START + TEMPORAL_RESPONSE_WIRE_BYTES, new HashMap<>(), 5300);
+    assertEquals(1, valueSamples(START + TEMPORAL_REQUEST_SIZE));
+    assertEquals(2, valueSamples(START + TEMPORAL_RESPONSE_SIZE));
+  }
+
+  /** @return the number of samples recorded by a duration histogram over all its buckets. */
+  private long durationSamples(String name, Map<String, String> tags) {
+    ArgumentCaptor<Long> samples = ArgumentCaptor.forClass(Long.class);
+    verify(reporter, atLeast(0))
+        .reportHistogramDurationSamples(eq(name), eq(tags), any(), any(), any(), samples.capture());
+    long result = 0;
+    for (long value : samples.getAllValues()) {
+      result += value;
+    }
+    return result;
+  }
+
+  /** @return the number of samples recorded by an untagged value histogram. */
+  private long valueSamples(String name) {
+    ArgumentCaptor<Long> samples = ArgumentCaptor.forClass(Long.class);
+    verify(reporter, atLeast(0))
+        .reportHistogramValueSamples(
+            eq(name), eq(new HashMap<>()), any(), anyDouble(), anyDouble(), samples.capture());
+    long result = 0;
+    for (long value : samples.getAllValues()) {
+      result += value;
+    }
+    return result;
+  }
+
+  private static Map<String, String> statusTags(Status.Code code) {
+    return ImmutableMap.of(MetricsTag.STATUS_CODE, code.name());
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.workflowservice.v1.WorkflowServiceGrpc;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class GrpcRetryerTest {
+
+  private static final RpcRetryOptions OPTIONS =
+      RpcRetryOptions.newBuilder()
+          .setInitialInterval(Duration.ofMillis(1))
+          .setMaximumInterval(Duration.ofMillis(10))
+          .setExpiration(Duration.ofSeconds(10))
+          .validateBuildWithDefaults();
+
+  private static RpcRetryOptions withBudget(RetryBudget budget) {
+    return RpcRetryOptions.newBuilder(OPTIONS).setRetryBudget(budget).validateBuildWithDefaults();
+  }
+
+  private static WorkflowServiceStubs newService(int retryBudgetMaxTokens) {
+    WorkflowServiceStubs service = mock(WorkflowServiceStubs.class);
+    when(service.getOptions())
+        .thenReturn(
+            WorkflowServiceStubsOptions.newBuilder()
+                .setRetryBudgetMaxTokens(retryBudgetMaxTokens)
+                .setRetryBudgetTokenRatio(0.1)
+                .validateAndBuildWithDefaults());
+    return service;
+  }
+
+  @Test
+  public void testRetryBudgetRefill() {
+    RetryBudget budget = new RetryBudget(2, 0.5);
+    assertTrue(budget.tryAcquire());
+    assertTrue(budget.tryAcquire());
+    assertFalse(budget.tryAcquire());
+    budget.onSuccess();
+    assertFalse(budget.tryAcquire());
+    budget.onSuccess();
+    assertTrue(budget.tryAcquire());
+    for (int i = 0; i < 10; i++) {
+      budget.onSuccess();
+    }
+    assertEquals(2.0, budget.getAvailableTokens(), 0.0);
+  }
+
+  @Test
+  public void testRetryBudgetExhausted() {
+    RetryBudget budget = new RetryBudget(3, 0.1);
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      GrpcRetryer.retryWithResult(
+          withBudget(budget),
+          () -> {
+            attempts.incrementAndGet();
+            throw new StatusRuntimeException(Status.UNAVAILABLE);
+          });
+      fail("unreachable");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+    }
+    assertEquals(4, attempts.get());
+  }
+
+  @Test
+  public void testRetryBudgetExhaustedAsync() throws InterruptedException {
+    RetryBudget budget = new RetryBudget(3, 0.1);
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      GrpcRetryer.retryWithResultAsync(
+              withBudget(budget),
+              () -> {
+                attempts.incrementAndGet();
+                CompletableFuture<Void> result = new CompletableFuture<>();
+                result.completeExceptionally(new StatusRuntimeException(Status.UNAVAILABLE));
+                return result;
+              })
+          .get();
+      fail("unreachable");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof StatusRuntimeException);
+    }
+    assertEquals(4, attempts.get());
+  }
+
+  @Test
+  public void testSuccessAfterRetry() {
+    RetryBudget budget = new RetryBudget(10, 0.1);
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        GrpcRetryer.retryWithResult(
+            withBudget(budget),
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new StatusRuntimeException(Status.UNAVAILABLE);
+              }
+              return "done";
+            });
+    assertEquals("done", result);
+    assertEquals(8.1, budget.getAvailableTokens(), 0.001);
+  }
+
+  @Test
+  public void testRetriesNotLimitedWithoutBudget() {
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        GrpcRetryer.retryWithResult(
+            OPTIONS,
+            () -> {
+              if (attempts.incrementAndGet() < 5) {
+                throw new StatusRuntimeException(Status.UNAVAILABLE);
+              }
+              return "done";
+            });
+    assertEquals("done", result);
+  }
+
+  @Test
+  public void testForMethodUsesServiceBudget() {
+    WorkflowServiceStubs service = newService(1);
+    RpcRetryOptions options =
+        GrpcRetryer.forMethod(
+            OPTIONS, service, WorkflowServiceGrpc.getSignalWorkflowExecutionMethod());
+    assertNotNull(options.getRetryBudget());
+    assertEquals(1.0, options.getRetryBudget().getAvailableTokens(), 0.0);
+    // One budget per service stubs.
+    assertSame(
+        options.getRetryBudget(),
+        GrpcRetryer.forMethod(
+                OPTIONS, service, WorkflowServiceGrpc.getStartWorkflowExecutionMethod())
+            .getRetryBudget());
+    assertNotNull(options.getMetricsScope());
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      GrpcRetryer.retry(
+          options,
+          () -> {
+            attempts.incrementAndGet();
+            throw new StatusRuntimeException(Status.UNAVAILABLE);
+          });
+      fail("unreachable");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+    }
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void testTaskCompletionIsExemptFromBudget() {
+    WorkflowServiceStubs service = newService(1);
+    assertTrue(GrpcRetryer.getRetryBudget(service).tryAcquire());
+    RpcRetryOptions options =
+        GrpcRetryer.forMethod(
+            OPTIONS, service, WorkflowServiceGrpc.getRespondActivityTaskCompletedMethod());
+    assertNull(options.getRetryBudget());
+    AtomicInteger attempts = new AtomicInteger();
+    GrpcRetryer.retry(
+        options,
+        () -> {
+          if (attempts.incrementAndGet() < 3) {
+            throw new StatusRuntimeException(Status.UNAVAILABLE);
+          }
+        });
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void testLocalRejectionDoesNotSpendBudget() {
+    RetryBudget budget = new RetryBudget(1, 0.1);
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        GrpcRetryer.retryWithResult(
+            withBudget(budget),
+            () -> {
+              if (attempts.incrementAndGet() < 4) {
+                throw StatusUtils.newLocalRejection("test").asRuntimeException();
+              }
+              return "done";
+            });
+    assertEquals("done", result);
+    assertEquals(1.0, budget.getAvailableTokens(), 0.0);
+  }
+}
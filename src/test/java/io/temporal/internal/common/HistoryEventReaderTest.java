@@ -0,0 +1,68 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.temporal.history.v1.HistoryEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class HistoryEventReaderTest {
+
+  @Test
+  public void testStreamRoundTrip() throws Exception {
+    WorkflowExecutionHistory history =
+        WorkflowExecutionUtils.readHistoryFromResource("testAsyncActivityRetryHistory.json");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    history.toBinary(out);
+    List<HistoryEvent> events = new ArrayList<>();
+    try (HistoryEventReader reader =
+        HistoryEventReader.of(new ByteArrayInputStream(out.toByteArray()))) {
+      reader.forEachRemaining(events::add);
+    }
+    assertEquals(history.getEvents(), events);
+  }
+
+  @Test
+  public void testConvertJsonFile() throws Exception {
+    ClassLoader classLoader = HistoryEventReaderTest.class.getClassLoader();
+    File jsonFile =
+        new File(classLoader.getResource("testChildWorkflowRetryHistory.json").getFile());
+    File binaryFile = File.createTempFile("testChildWorkflowRetryHistory", ".bin");
+    try {
+      WorkflowExecutionUtils.convertJsonHistoryToBinary(jsonFile, binaryFile);
+      assertFalse(HistoryEventReader.isBinaryHistory(jsonFile));
+      assertTrue(HistoryEventReader.isBinaryHistory(binaryFile));
+      assertTrue(binaryFile.length() < jsonFile.length());
+      WorkflowExecutionHistory expected = WorkflowExecutionUtils.readHistory(jsonFile);
+      WorkflowExecutionHistory actual = WorkflowExecutionUtils.readHistory(binaryFile);
+      assertEquals(expected.getEvents(), actual.getEvents());
+    } finally {
+      binaryFile.delete();
+    }
+  }
+}
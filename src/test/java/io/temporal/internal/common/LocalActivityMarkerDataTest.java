@@ -0,0 +1,117 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.v1.ActivityType;
+import io.temporal.common.v1.Payloads;
+import io.temporal.failure.v1.Failure;
+import io.temporal.history.v1.HistoryEvent;
+import io.temporal.history.v1.MarkerRecordedEventAttributes;
+import java.time.Duration;
+import org.junit.Test;
+
+public class LocalActivityMarkerDataTest {
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+
+  private LocalActivityMarkerData newMarker(boolean binary) {
+    return new LocalActivityMarkerData.Builder()
+        .setActivityId("activity-1")
+        .setActivityType(ActivityType.newBuilder().setName("Activity").build())
+        .setReplayTimeMillis(1234567L)
+        .setAttempt(3)
+        .setBackoff(Duration.ofSeconds(5))
+        .setResult(converter.toPayloads("result").get())
+        .setFailure(Failure.newBuilder().setMessage("failed").build())
+        .setBinaryHeader(binary)
+        .build();
+  }
+
+  private void assertMarker(LocalActivityMarkerData expected, LocalActivityMarkerData actual) {
+    assertEquals(expected.getActivityId(), actual.getActivityId());
+    assertEquals(expected.getActivityType(), actual.getActivityType());
+    assertEquals(expected.getReplayTimeMillis(), actual.getReplayTimeMillis());
+    assertEquals(expected.getAttempt(), actual.getAttempt());
+    assertEquals(expected.getBackoff(), actual.getBackoff());
+    assertEquals(expected.getResult(), actual.getResult());
+    assertEquals(expected.getFailure(), actual.getFailure());
+    assertEquals(expected.isBinaryHeader(), actual.isBinaryHeader());
+  }
+
+  private static Payloads header(LocalActivityMarkerData marker, DataConverter converter) {
+    return marker
+        .toEvent(converter)
+        .getMarkerRecordedEventAttributes()
+        .getDetailsOrThrow(LocalActivityMarkerData.MARKER_DATA_KEY);
+  }
+
+  @Test
+  public void testConverterHeaderByDefault() {
+    LocalActivityMarkerData marker = newMarker(false);
+    MarkerRecordedEventAttributes attributes =
+        marker.toEvent(converter).getMarkerRecordedEventAttributes();
+    Payloads data = attributes.getDetailsOrThrow(LocalActivityMarkerData.MARKER_DATA_KEY);
+    assertFalse(
+        LocalActivityMarkerData.MARKER_ENCODING.equals(
+            data.getPayloads(0).getMetadataOrThrow(LocalActivityMarkerData.METADATA_ENCODING_KEY)));
+    assertMarker(marker, LocalActivityMarkerData.fromEventAttributes(attributes, converter));
+  }
+
+  @Test
+  public void testBinaryRoundTrip() {
+    LocalActivityMarkerData marker = newMarker(true);
+    HistoryEvent event = marker.toEvent(converter);
+    MarkerRecordedEventAttributes attributes = event.getMarkerRecordedEventAttributes();
+    Payloads data = attributes.getDetailsOrThrow(LocalActivityMarkerData.MARKER_DATA_KEY);
+    assertEquals(
+        LocalActivityMarkerData.MARKER_ENCODING,
+        data.getPayloads(0).getMetadataOrThrow(LocalActivityMarkerData.METADATA_ENCODING_KEY));
+    assertMarker(marker, LocalActivityMarkerData.fromEventAttributes(attributes, converter));
+  }
+
+  @Test
+  public void testBinaryRoundTripKeepsAbsentValues() {
+    LocalActivityMarkerData marker =
+        new LocalActivityMarkerData.Builder()
+            .setReplayTimeMillis(1234567L)
+            .setBinaryHeader(true)
+            .build();
+    MarkerRecordedEventAttributes attributes =
+        marker.toEvent(converter).getMarkerRecordedEventAttributes();
+    LocalActivityMarkerData decoded =
+        LocalActivityMarkerData.fromEventAttributes(attributes, converter);
+    assertNull(decoded.getActivityId());
+    assertNull(decoded.getActivityType());
+    assertMarker(marker, decoded);
+  }
+
+  @Test
+  public void testBinaryMarkerIsSmaller() {
+    Payloads binary = header(newMarker(true), converter);
+    Payloads legacy = header(newMarker(false), converter);
+    assertTrue(binary.getSerializedSize() < legacy.getSerializedSize());
+  }
+}
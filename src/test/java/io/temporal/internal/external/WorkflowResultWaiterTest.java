@@ -0,0 +1,181 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.uber.m3.tally.NoopScope;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.v1.WorkflowExecution;
+import io.temporal.enums.v1.EventType;
+import io.temporal.history.v1.HistoryEvent;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkflowResultWaiterTest {
+
+  private static final String TASK_QUEUE = "WorkflowResultWaiterTest";
+
+  @WorkflowInterface
+  public interface SignaledWorkflow {
+    @WorkflowMethod
+    String execute(int continueAsNewCount);
+
+    @SignalMethod
+    void complete();
+  }
+
+  public static class SignaledWorkflowImpl implements SignaledWorkflow {
+
+    private boolean completed;
+
+    @Override
+    public String execute(int continueAsNewCount) {
+      if (continueAsNewCount > 0) {
+        Workflow.continueAsNew(continueAsNewCount - 1);
+      }
+      Workflow.await(() -> completed);
+      return "done";
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+
+  private TestWorkflowEnvironment testEnvironment;
+  private WorkflowClient client;
+  private WorkflowResultWaiter waiter;
+
+  @Before
+  public void setUp() {
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    Worker worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(SignaledWorkflowImpl.class);
+    testEnvironment.start();
+    client = testEnvironment.getWorkflowClient();
+    waiter =
+        new WorkflowResultWaiter(
+            testEnvironment.getWorkflowService(),
+            testEnvironment.getNamespace(),
+            1,
+            100,
+            new NoopScope());
+  }
+
+  @After
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  private WorkflowStub start(String workflowId, int continueAsNewCount) {
+    WorkflowOptions options =
+        WorkflowOptions.newBuilder()
+            .setTaskQueue(TASK_QUEUE)
+            .setWorkflowId(workflowId)
+            .setWorkflowRunTimeout(Duration.ofMinutes(1))
+            .build();
+    WorkflowStub stub = client.newUntypedWorkflowStub("SignaledWorkflow", options);
+    stub.start(continueAsNewCount);
+    return stub;
+  }
+
+  @Test
+  public void testWaitersShareSinglePoll() throws Exception {
+    List<WorkflowStub> stubs = new ArrayList<>();
+    List<CompletableFuture<HistoryEvent>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      WorkflowStub stub = start("shared-" + i, i);
+      stubs.add(stub);
+      results.add(waiter.waitForCloseEvent(stub.getExecution(), 1, TimeUnit.MINUTES));
+    }
+    assertTrue(waiter.getActivePolls() <= 1);
+    assertTrue(waiter.getQueueDepth() >= 2);
+    // Signal the last one first: it only gets a turn if the others rotate out of the slot.
+    for (int i = stubs.size() - 1; i >= 0; i--) {
+      WorkflowExecution execution = stubs.get(i).getExecution();
+      client
+          .newUntypedWorkflowStub(execution.getWorkflowId(), Optional.empty(), Optional.empty())
+          .signal("complete");
+      HistoryEvent event = results.get(i).get(10, TimeUnit.SECONDS);
+      assertEquals(EventType.EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED, event.getEventType());
+    }
+    assertEquals(0, waiter.getQueueDepth());
+  }
+
+  @Test
+  public void testTimeoutReleasesPoll() throws Exception {
+    WorkflowStub stub = start("timeout", 0);
+    CompletableFuture<HistoryEvent> result =
+        waiter.waitForCloseEvent(stub.getExecution(), 300, TimeUnit.MILLISECONDS);
+    try {
+      result.get();
+      fail("unreachable");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    assertEquals(0, waiter.getQueueDepth());
+    long deadline = System.currentTimeMillis() + 5000;
+    while (waiter.getActivePolls() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, waiter.getActivePolls());
+  }
+
+  @Test
+  public void testCancelRemovesWaiter() {
+    WorkflowStub first = start("cancel-0", 0);
+    WorkflowStub second = start("cancel-1", 0);
+    // Slice long enough for the first waiter to keep the only slot for the whole test.
+    WorkflowResultWaiter longSliceWaiter =
+        new WorkflowResultWaiter(
+            testEnvironment.getWorkflowService(),
+            testEnvironment.getNamespace(),
+            1,
+            TimeUnit.MINUTES.toMillis(1),
+            new NoopScope());
+    longSliceWaiter.waitForCloseEvent(first.getExecution(), 1, TimeUnit.MINUTES);
+    CompletableFuture<HistoryEvent> queued =
+        longSliceWaiter.waitForCloseEvent(second.getExecution(), 1, TimeUnit.MINUTES);
+    assertEquals(1, longSliceWaiter.getQueueDepth());
+    queued.cancel(false);
+    assertEquals(0, longSliceWaiter.getQueueDepth());
+  }
+}
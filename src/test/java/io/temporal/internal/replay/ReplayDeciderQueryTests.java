@@ -0,0 +1,247 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.replay;
+
+import static org.junit.Assert.*;
+
+import io.temporal.common.v1.Payloads;
+import io.temporal.enums.v1.QueryResultType;
+import io.temporal.history.v1.HistoryEvent;
+import io.temporal.internal.metrics.NoopScope;
+import io.temporal.internal.worker.SingleWorkerOptions;
+import io.temporal.internal.worker.WorkflowExecutionException;
+import io.temporal.query.v1.WorkflowQuery;
+import io.temporal.query.v1.WorkflowQueryResult;
+import io.temporal.testUtils.HistoryUtils;
+import io.temporal.worker.WorkflowImplementationOptions;
+import io.temporal.workflowservice.v1.PollForDecisionTaskResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReplayDeciderQueryTests {
+
+  private PollForDecisionTaskResponse decisionTask;
+  private PollForDecisionTaskResponse queryTask;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    decisionTask = HistoryUtils.generateDecisionTaskWithInitialHistory();
+    queryTask =
+        PollForDecisionTaskResponse.newBuilder()
+            .setWorkflowExecution(decisionTask.getWorkflowExecution())
+            .setQuery(WorkflowQuery.newBuilder().setQueryType("query"))
+            .build();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test(timeout = 5000)
+  public void testConcurrentQueriesRunInParallel() throws Throwable {
+    int queryCount = 4;
+    CountDownLatch allRunning = new CountDownLatch(queryCount);
+    FakeWorkflow workflow =
+        new FakeWorkflow() {
+          @Override
+          public Optional<Payloads> query(WorkflowQuery query) {
+            allRunning.countDown();
+            try {
+              allRunning.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return Optional.empty();
+          }
+        };
+    ReplayDecider decider = newDecider(workflow);
+    decider.decide(decisionTask);
+
+    List<Future<WorkflowQueryResult>> results = new ArrayList<>();
+    for (int i = 0; i < queryCount; i++) {
+      results.add(
+          executor.submit(() -> decider.queryCurrentState(queryTask, queryTask.getQuery())));
+    }
+    for (Future<WorkflowQueryResult> result : results) {
+      assertEquals(QueryResultType.QUERY_RESULT_TYPE_ANSWERED, result.get().getResultType());
+    }
+  }
+
+  @Test
+  public void testClosedDeciderDoesNotAnswerQueries() throws Throwable {
+    AtomicInteger queries = new AtomicInteger();
+    FakeWorkflow workflow =
+        new FakeWorkflow() {
+          @Override
+          public Optional<Payloads> query(WorkflowQuery query) {
+            queries.incrementAndGet();
+            return Optional.empty();
+          }
+        };
+    ReplayDecider decider = newDecider(workflow);
+    decider.decide(decisionTask);
+    assertNotNull(decider.queryCurrentState(queryTask, queryTask.getQuery()));
+
+    decider.close();
+    assertNull(decider.queryCurrentState(queryTask, queryTask.getQuery()));
+    assertEquals(1, queries.get());
+  }
+
+  @Test(timeout = 5000)
+  public void testQueryWaitsForDecision() throws Exception {
+    CountDownLatch inEventLoop = new CountDownLatch(1);
+    CountDownLatch releaseEventLoop = new CountDownLatch(1);
+    AtomicInteger queries = new AtomicInteger();
+    FakeWorkflow workflow =
+        new FakeWorkflow() {
+          @Override
+          public boolean eventLoop() throws Throwable {
+            inEventLoop.countDown();
+            releaseEventLoop.await();
+            return false;
+          }
+
+          @Override
+          public Optional<Payloads> query(WorkflowQuery query) {
+            queries.incrementAndGet();
+            return Optional.empty();
+          }
+        };
+    ReplayDecider decider = newDecider(workflow);
+    Future<?> decision =
+        executor.submit(
+            () -> {
+              try {
+                decider.decide(decisionTask);
+              } catch (Throwable e) {
+                throw new RuntimeException(e);
+              }
+            });
+    inEventLoop.await();
+
+    Future<WorkflowQueryResult> result =
+        executor.submit(() -> decider.queryCurrentState(queryTask, queryTask.getQuery()));
+    try {
+      result.get(200, TimeUnit.MILLISECONDS);
+      fail("query completed during a decision");
+    } catch (TimeoutException e) {
+      // expected
+    }
+    assertEquals(0, queries.get());
+
+    releaseEventLoop.countDown();
+    decision.get();
+    assertEquals(QueryResultType.QUERY_RESULT_TYPE_ANSWERED, result.get().getResultType());
+    assertEquals(1, queries.get());
+  }
+
+  @Test
+  public void testDeciderInQueryIsNotEvicted() throws Exception {
+    DeciderCache cache = new DeciderCache(10, NoopScope.getInstance());
+    Decider decider = cache.getOrCreate(decisionTask, () -> newDecider(new FakeWorkflow()));
+    cache.addToCache(decisionTask, decider);
+
+    assertSame(decider, cache.getForQuery(queryTask));
+    assertSame(decider, cache.getForQuery(queryTask));
+    assertFalse(cache.evictAnyNotInProcessing("other-run"));
+
+    cache.markQueryDone(queryTask);
+    assertFalse(cache.evictAnyNotInProcessing("other-run"));
+    assertEquals(1, cache.size());
+
+    cache.markQueryDone(queryTask);
+    assertTrue(cache.evictAnyNotInProcessing("other-run"));
+    assertEquals(0, cache.size());
+  }
+
+  private ReplayDecider newDecider(ReplayWorkflow workflow) {
+    return new ReplayDecider(
+        null,
+        "namespace",
+        workflow,
+        decisionTask.toBuilder(),
+        SingleWorkerOptions.newBuilder().build(),
+        (a, d) -> true);
+  }
+
+  private static class FakeWorkflow implements ReplayWorkflow {
+
+    @Override
+    public void start(HistoryEvent event, DecisionContext context) {}
+
+    @Override
+    public void handleSignal(String signalName, Optional<Payloads> input, long eventId) {}
+
+    @Override
+    public boolean eventLoop() throws Throwable {
+      return false;
+    }
+
+    @Override
+    public Optional<Payloads> getOutput() {
+      return Optional.empty();
+    }
+
+    @Override
+    public void cancel(String reason) {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public long getNextWakeUpTime() {
+      return 0;
+    }
+
+    @Override
+    public Optional<Payloads> query(WorkflowQuery query) {
+      return Optional.empty();
+    }
+
+    @Override
+    public WorkflowExecutionException mapUnexpectedException(Throwable failure) {
+      return null;
+    }
+
+    @Override
+    public WorkflowExecutionException mapError(Error failure) {
+      return null;
+    }
+
+    @Override
+    public WorkflowImplementationOptions getWorkflowImplementationOptions() {
+      return WorkflowImplementationOptions.newBuilder().build();
+    }
+  }
+}
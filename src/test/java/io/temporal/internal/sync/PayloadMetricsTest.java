@@ -0,0 +1,135 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.StatsReporter;
+import com.uber.m3.util.Duration;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.v1.Payloads;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.HashMap;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PayloadMetricsTest {
+
+  private final DataConverter converter = DataConverter.getDefaultInstance();
+  private StatsReporter reporter;
+  private Scope scope;
+
+  @Before
+  public void setUp() {
+    reporter = mock(StatsReporter.class);
+    // Metrics are flushed by closing the scope.
+    scope = new RootScopeBuilder().reporter(reporter).reportEvery(Duration.ofSeconds(1000));
+  }
+
+  @Test
+  public void testEncode() throws Exception {
+    PayloadMetrics metrics = new PayloadMetrics(true);
+    Optional<Payloads> result = metrics.encode(scope, () -> converter.toPayloads("value"));
+    assertEquals("value", converter.fromPayloads(result, String.class, String.class));
+    scope.close();
+
+    assertSizeRecorded(MetricsType.PAYLOAD_ENCODED_BYTES, result.get().getSerializedSize());
+    verify(reporter, times(1))
+        .reportHistogramDurationSamples(
+            eq(MetricsType.PAYLOAD_ENCODE_LATENCY),
+            eq(new HashMap<>()),
+            any(),
+            any(),
+            any(),
+            eq(1L));
+  }
+
+  @Test
+  public void testDecode() throws Exception {
+    PayloadMetrics metrics = new PayloadMetrics(true);
+    Optional<Payloads> input = converter.toPayloads("value", 42);
+    Class<?>[] types = {String.class, Integer.class};
+    Object[] result =
+        metrics.decode(scope, input, () -> converter.arrayFromPayloads(input, types, types));
+    assertEquals(42, result[1]);
+    scope.close();
+
+    assertSizeRecorded(MetricsType.PAYLOAD_DECODED_BYTES, input.get().getSerializedSize());
+    verify(reporter, times(1))
+        .reportHistogramDurationSamples(
+            eq(MetricsType.PAYLOAD_DECODE_LATENCY),
+            eq(new HashMap<>()),
+            any(),
+            any(),
+            any(),
+            eq(1L));
+  }
+
+  @Test
+  public void testEmptyPayloads() throws Exception {
+    PayloadMetrics metrics = new PayloadMetrics(true);
+    metrics.encode(scope, Optional::empty);
+    scope.close();
+
+    assertSizeRecorded(MetricsType.PAYLOAD_ENCODED_BYTES, 0);
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    PayloadMetrics metrics = new PayloadMetrics(false);
+    Optional<Payloads> input = metrics.encode(scope, () -> converter.toPayloads("value"));
+    metrics.decode(scope, input, () -> converter.fromPayloads(input, String.class, String.class));
+    scope.close();
+
+    verify(reporter, never())
+        .reportHistogramValueSamples(any(), any(), any(), anyDouble(), anyDouble(), anyLong());
+    verify(reporter, never())
+        .reportHistogramDurationSamples(any(), any(), any(), any(), any(), anyLong());
+  }
+
+  /** Verifies that a single sample was recorded in the bucket that holds the size. */
+  private void assertSizeRecorded(String name, int size) {
+    ArgumentCaptor<Double> lowerBound = ArgumentCaptor.forClass(Double.class);
+    ArgumentCaptor<Double> upperBound = ArgumentCaptor.forClass(Double.class);
+    verify(reporter, times(1))
+        .reportHistogramValueSamples(
+            eq(name),
+            eq(new HashMap<>()),
+            any(),
+            lowerBound.capture(),
+            upperBound.capture(),
+            eq(1L));
+    assertTrue(lowerBound.getValue() <= size);
+    assertTrue(size <= upperBound.getValue());
+  }
+}
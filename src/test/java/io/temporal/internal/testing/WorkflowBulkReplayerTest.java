@@ -0,0 +1,110 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.testing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.temporal.internal.common.WorkflowExecutionHistory;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.testing.WorkflowBulkReplaySummary;
+import io.temporal.testing.WorkflowBulkReplayer;
+import io.temporal.testing.WorkflowReplayResult;
+import io.temporal.workflow.WorkflowTest;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkflowBulkReplayerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testReplayHistories() throws Exception {
+    WorkflowExecutionHistory history =
+        WorkflowExecutionUtils.readHistoryFromResource("testAsyncActivityRetryHistory.json");
+    WorkflowBulkReplayer replayer =
+        WorkflowBulkReplayer.newBuilder()
+            .setWorkflowImplementationTypes(WorkflowTest.TestAsyncActivityRetry.class)
+            .setParallelism(2)
+            .build();
+    List<WorkflowReplayResult> results = new ArrayList<>();
+    WorkflowBulkReplaySummary summary =
+        replayer.replayHistories(
+            Arrays.asList(history, history, history, history, history).iterator(), results::add);
+    assertEquals(5, results.size());
+    assertEquals(5, summary.getTotal());
+    assertEquals(5, summary.getPassed());
+    assertTrue(summary.toJson(), summary.isSuccess());
+  }
+
+  @Test
+  public void testNonDeterministicHistory() throws Exception {
+    WorkflowExecutionHistory compatible =
+        WorkflowExecutionUtils.readHistoryFromResource("testChildWorkflowRetryHistory.json");
+    WorkflowExecutionHistory incompatible =
+        WorkflowExecutionUtils.readHistoryFromResource("testAsyncActivityRetryHistory.json");
+    WorkflowBulkReplayer replayer =
+        WorkflowBulkReplayer.newBuilder()
+            .setWorkflowImplementationTypes(WorkflowTest.TestChildWorkflowRetryWorkflow.class)
+            .build();
+    WorkflowBulkReplaySummary summary =
+        replayer.replayHistories(Arrays.asList(compatible, incompatible).iterator(), r -> {});
+    assertEquals(2, summary.getTotal());
+    assertEquals(1, summary.getFailed());
+    assertEquals(1, summary.getNonDeterministic());
+    WorkflowReplayResult failure = summary.getFailures().get(0);
+    assertEquals("1", failure.getHistoryName());
+    assertFalse(failure.isSuccess());
+    assertTrue(failure.isNonDeterministic());
+    assertTrue(summary.toJson(), summary.toJson().contains("\"nonDeterministic\": 1"));
+  }
+
+  @Test
+  public void testReplayDirectoryWithJsonAndBinaryHistories() throws Exception {
+    File directory = folder.newFolder();
+    WorkflowExecutionHistory history =
+        WorkflowExecutionUtils.readHistoryFromResource("testAsyncActivityRetryHistory.json");
+    File json = new File(directory, "a.json");
+    Files.write(json.toPath(), history.toJson().getBytes(StandardCharsets.UTF_8));
+    WorkflowExecutionUtils.convertJsonHistoryToBinary(json, new File(directory, "b.history"));
+    Files.write(
+        new File(directory, "notes.txt").toPath(),
+        "not a history".getBytes(StandardCharsets.UTF_8));
+
+    WorkflowBulkReplayer replayer =
+        WorkflowBulkReplayer.newBuilder()
+            .setWorkflowImplementationTypes(WorkflowTest.TestAsyncActivityRetry.class)
+            .setParallelism(1)
+            .build();
+    List<String> names = new ArrayList<>();
+    WorkflowBulkReplaySummary summary =
+        replayer.replayDirectory(directory, r -> names.add(r.getHistoryName()));
+    assertEquals(Arrays.asList("a.json", "b.history"), names);
+    assertTrue(summary.toJson(), summary.isSuccess());
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright (C) 2020 Temporal Technologies, Inc. All Rights Reserved.
+ *
+ *  Copyright 2012-2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *  Modifications copyright (C) 2017 Uber Technologies, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"). You may not
+ *  use this file except in compliance with the License. A copy of the License is
+ *  located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ *  or in the "license" file accompanying this file. This file is distributed on
+ *  an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *  express or implied. See the License for the specific language governing
+ *  permissions and limitations under the License.
+ */
+
+package io.temporal.internal.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.uber.m3.tally.Counter;
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import com.uber.m3.util.Duration;
+import io.grpc.Context;
+import io.temporal.internal.metrics.MetricsType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class PollerTest {
+
+  private static final int POLL_THREADS = 2;
+
+  /**
+   * Blocks like a long poll until its context is cancelled or its thread is interrupted. Like the
+   * real poll tasks, a cancelled poll returns no task unless its response had already arrived.
+   */
+  private static class BlockingPollTask implements Poller.PollTask<String> {
+    final Semaphore started = new Semaphore(0);
+    final AtomicInteger ended = new AtomicInteger();
+    final AtomicBoolean responseArrived = new AtomicBoolean();
+
+    @Override
+    public String poll() {
+      CountDownLatch done = new CountDownLatch(1);
+      Context.current().addListener((context) -> done.countDown(), Runnable::run);
+      started.release();
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      ended.incrementAndGet();
+      return responseArrived.get() ? "task" : null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private final ShutdownableTaskExecutor<String> taskExecutor =
+      mock(ShutdownableTaskExecutor.class);
+
+  private Poller<String> newPoller(Poller.PollTask<String> pollTask, Scope metricsScope) {
+    PollerOptions options =
+        PollerOptions.newBuilder()
+            .setPollThreadCount(POLL_THREADS)
+            .setPollThreadNamePrefix("PollerTest")
+            .build();
+    return new Poller<>("test", pollTask, taskExecutor, options, metricsScope);
+  }
+
+  private static void awaitEnded(BlockingPollTask pollTask, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (pollTask.ended.get() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, pollTask.ended.get());
+  }
+
+  @Test
+  public void testSuspendCancelsPollsInFlight() throws InterruptedException {
+    Scope metricsScope = mock(Scope.class);
+    Timer quiesceLatency = mock(Timer.class);
+    when(metricsScope.counter(anyString())).thenReturn(mock(Counter.class));
+    when(metricsScope.timer(MetricsType.POLLER_QUIESCE_LATENCY)).thenReturn(quiesceLatency);
+    BlockingPollTask pollTask = new BlockingPollTask();
+    Poller<String> poller = newPoller(pollTask, metricsScope);
+    poller.start();
+    assertTrue(pollTask.started.tryAcquire(POLL_THREADS, 5, TimeUnit.SECONDS));
+
+    poller.suspendPolling();
+    awaitEnded(pollTask, POLL_THREADS);
+    verify(quiesceLatency, timeout(5000)).record(any(Duration.class));
+    // Suspended pollers don't start new polls.
+    assertFalse(pollTask.started.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+    poller.resumePolling();
+    assertTrue(pollTask.started.tryAcquire(POLL_THREADS, 5, TimeUnit.SECONDS));
+
+    poller.shutdown();
+    poller.awaitTermination(5, TimeUnit.SECONDS);
+    verify(taskExecutor, never()).process(any());
+  }
+
+  @Test
+  public void testSuspendDeliversTasksAlreadyReceived() throws InterruptedException {
+    BlockingPollTask pollTask = new BlockingPollTask();
+    Poller<String> poller = newPoller(pollTask, new NoopScope());
+    poller.start();
+    assertTrue(pollTask.started.tryAcquire(POLL_THREADS, 5, TimeUnit.SECONDS));
+
+    // The service already dispatched tasks to the polls in flight.
+    pollTask.responseArrived.set(true);
+    poller.suspendPolling();
+    awaitEnded(pollTask, POLL_THREADS);
+    verify(taskExecutor, timeout(5000).times(POLL_THREADS)).process("task");
+
+    poller.shutdown();
+    poller.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testShutdownCancelsPollsInFlight() throws InterruptedException {
+    BlockingPollTask pollTask = new BlockingPollTask();
+    Poller<String> poller = newPoller(pollTask, new NoopScope());
+    poller.start();
+    assertTrue(pollTask.started.tryAcquire(POLL_THREADS, 5, TimeUnit.SECONDS));
+    poller.shutdown();
+    awaitEnded(pollTask, POLL_THREADS);
+    poller.awaitTermination(5, TimeUnit.SECONDS);
+    verify(taskExecutor, never()).process(any());
+  }
+}
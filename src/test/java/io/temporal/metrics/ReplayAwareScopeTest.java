@@ -19,6 +19,7 @@
 
 package io.temporal.metrics;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -34,8 +35,13 @@ import com.uber.m3.tally.Stopwatch;
 import com.uber.m3.tally.Timer;
 import com.uber.m3.tally.ValueBuckets;
 import com.uber.m3.util.Duration;
+import io.temporal.internal.metrics.MetricsType;
 import io.temporal.internal.metrics.ReplayAwareScope;
 import io.temporal.internal.replay.ReplayAware;
+import io.temporal.workflow.Functions;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.junit.Test;
 
@@ -62,6 +68,10 @@ public class ReplayAwareScopeTest {
     Timer timer = mock(Timer.class);
     Histogram histogram = mock(Histogram.class);
 
+    Counter suppressed = mock(Counter.class);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_METRICS_COUNTER)).thenReturn(suppressed);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_LOGS_COUNTER)).thenReturn(suppressed);
+
     Buckets buckets = ValueBuckets.linear(0, 10, 10);
     when(scope.counter("test-counter")).thenReturn(counter);
     when(scope.gauge("test-gauge")).thenReturn(gauge);
@@ -82,6 +92,7 @@ public class ReplayAwareScopeTest {
     verify(timer, never()).record(Duration.ofMillis(100));
     verify(histogram, never()).recordValue(10);
     verify(histogram, never()).recordDuration(Duration.ofHours(1));
+    verify(suppressed, times(5)).inc(1);
   }
 
   @Test
@@ -92,6 +103,10 @@ public class ReplayAwareScopeTest {
     Timer timer = mock(Timer.class);
     Histogram histogram = mock(Histogram.class);
 
+    Counter suppressed = mock(Counter.class);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_METRICS_COUNTER)).thenReturn(suppressed);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_LOGS_COUNTER)).thenReturn(suppressed);
+
     Buckets buckets = ValueBuckets.linear(0, 10, 10);
     when(scope.counter("test-counter")).thenReturn(counter);
     when(scope.gauge("test-gauge")).thenReturn(gauge);
@@ -112,6 +127,46 @@ public class ReplayAwareScopeTest {
     verify(timer, times(1)).record(Duration.ofMillis(100));
     verify(histogram, times(1)).recordValue(10);
     verify(histogram, times(1)).recordDuration(Duration.ofHours(1));
+    verify(suppressed, never()).inc(1);
+  }
+
+  @Test
+  public void testLazilyTaggedScope() {
+    Scope scope = mock(Scope.class);
+    Scope taggedScope = mock(Scope.class);
+    Counter suppressed = mock(Counter.class);
+    Counter counter = mock(Counter.class);
+    Timer timer = mock(Timer.class);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_METRICS_COUNTER)).thenReturn(suppressed);
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_LOGS_COUNTER)).thenReturn(suppressed);
+    Map<String, String> tags = Collections.singletonMap("key", "value");
+    when(scope.tagged(tags)).thenReturn(taggedScope);
+    when(taggedScope.counter("test-counter")).thenReturn(counter);
+    when(taggedScope.timer("test-timer")).thenReturn(timer);
+
+    TestContext context = new TestContext(true);
+    ReplayAwareScope replayAwareScope =
+        new ReplayAwareScope(scope, context, System::currentTimeMillis);
+
+    AtomicInteger tagsCalls = new AtomicInteger();
+    Functions.Func<Map<String, String>> lazyTags =
+        () -> {
+          tagsCalls.incrementAndGet();
+          return tags;
+        };
+    Scope replayScope = replayAwareScope.lazilyTagged(lazyTags);
+    replayScope.counter("test-counter").inc(1);
+    replayScope.timer("test-timer").start().stop();
+    assertEquals(0, tagsCalls.get());
+    verify(scope, never()).tagged(tags);
+    verify(suppressed, times(2)).inc(1);
+
+    context.isReplaying = false;
+    Scope liveScope = replayAwareScope.lazilyTagged(lazyTags);
+    liveScope.counter("test-counter").inc(1);
+    assertEquals(1, tagsCalls.get());
+    verify(counter, times(1)).inc(1);
+    verify(suppressed, times(2)).inc(1);
   }
 
   static class TestClock implements Supplier<Long> {
@@ -133,6 +188,10 @@ public class ReplayAwareScopeTest {
     Timer timer = mock(Timer.class);
     Histogram histogram = mock(Histogram.class);
 
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_METRICS_COUNTER))
+        .thenReturn(mock(Counter.class));
+    when(scope.counter(MetricsType.REPLAY_SUPPRESSED_LOGS_COUNTER)).thenReturn(mock(Counter.class));
+
     Buckets buckets = ValueBuckets.linear(0, 10, 10);
     when(scope.timer("test-timer")).thenReturn(timer);
     when(scope.histogram("test-histogram", buckets)).thenReturn(histogram);